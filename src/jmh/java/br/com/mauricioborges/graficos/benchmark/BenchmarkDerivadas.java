@@ -0,0 +1,189 @@
+package br.com.mauricioborges.graficos.benchmark;
+
+import br.com.mauricioborges.graficos.math.simbolico.Diferenciador;
+import br.com.mauricioborges.graficos.math.simbolico.ErroDeSintaxe;
+import br.com.mauricioborges.graficos.math.simbolico.Expressao;
+import br.com.mauricioborges.graficos.math.simbolico.ParserSimbolico;
+import br.com.mauricioborges.graficos.math.simbolico.Simplificador;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.lsmp.djep.djep.DJep;
+import org.nfunk.jep.Node;
+import org.nfunk.jep.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Comparação entre o backend DJep e o backend nativo (math.simbolico) nas
+ * etapas de análise, derivação e simplificação. Cada operação do benchmark
+ * processa o corpus inteiro.
+ * <p>
+ * Os nós nativos são internados e guardam a própria forma simplificada, então
+ * repetir o mesmo corpus mediria só leituras de campo. Antes de cada operação,
+ * o lado nativo recebe um corpus novo, com a variável renomeada (x1, x2, ...),
+ * e todos os nós que dependem da variável são criados e simplificados de
+ * novo. Textos, árvores e derivadas usam variáveis diferentes entre si, para
+ * que o preparo de uma etapa não adiante o trabalho da outra. O DJep não
+ * guarda resultados e usa sempre o corpus original.
+ * <p>
+ * Execução: {@code mvn -Pjmh test-compile exec:exec}
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkDerivadas {
+
+    // expressões digitadas na aplicação e linhas de tendência exportadas
+    private static final String[] CORPUS = {
+        "x^2+3*x-5",
+        "x^3*sin(x)",
+        "exp(2*x)/x",
+        "ln(x)+cos(x)^2",
+        "sqrt(x^2+1)",
+        "tan(x)",
+        "atan(x/2)",
+        "sinh(x)*cosh(x)",
+        "1/(1+x^2)",
+        "x*exp(-x^2/2)",
+        "(x^2+1)^3",
+        "x/(x+1)^2",
+        "3*x^(-2)+x^0.5",
+        "2^x",
+        "sin(x)^2+cos(x)^2",
+        "0.5*x^4-1.25*x^3+2*x^2-7.5*x+3",
+        "2.71*exp(0.35*x)",
+        "1.8*x^1.42",
+        "4.1*ln(x)+0.7",
+        "(sin(x)+cos(2*x))/(1+x^2)",
+        "x^x",
+        "sqrt(1-x^2)*asin(x)",
+        "exp(-x)*sin(3*x)*cos(x/2)",
+        "log(x^2+1)/x"
+    };
+
+    private static final Pattern X = Pattern.compile("\\bx\\b");
+
+    private DJep djep;
+    private Node[] arvoresDJep;
+    private Node[] derivadasDJep;
+    private int geracao = 0;
+    private String variavelDoTexto;
+    private String variavelDasArvores;
+    private String[] corpusNativo;
+    private Expressao[] arvoresNativas;
+    private Expressao[] derivadasNativas;
+
+    @Setup
+    public void preparar() throws ParseException, ErroDeSintaxe {
+        djep = new DJep();
+        djep.addStandardFunctions();
+        djep.addStandardConstants();
+        djep.addComplex();
+        djep.setAllowUndeclared(true);
+        djep.setAllowAssignment(true);
+        djep.setImplicitMul(true);
+        djep.addStandardDiffRules();
+
+        int n = CORPUS.length;
+        arvoresDJep = new Node[n];
+        derivadasDJep = new Node[n];
+        for (int i = 0; i < n; i++) {
+            arvoresDJep[i] = djep.parse(CORPUS[i]);
+            derivadasDJep[i] = djep.differentiate(arvoresDJep[i], "x");
+        }
+        corpusNativo = new String[n];
+        arvoresNativas = new Expressao[n];
+        derivadasNativas = new Expressao[n];
+    }
+
+    /**
+     * Corpus nativo novo, para que nenhum nó dependente da variável já tenha
+     * sido simplificado
+     */
+    @Setup(Level.Invocation)
+    public void renovarCorpusNativo() throws ErroDeSintaxe {
+        geracao++;
+        variavelDoTexto = "x" + geracao;
+        variavelDasArvores = "y" + geracao;
+        String variavelDasDerivadas = "z" + geracao;
+        for (int i = 0; i < CORPUS.length; i++) {
+            corpusNativo[i] = X.matcher(CORPUS[i]).replaceAll(variavelDoTexto);
+            arvoresNativas[i] = Simplificador.simplificar(
+                    ParserSimbolico.analisar(X.matcher(CORPUS[i]).replaceAll(variavelDasArvores)));
+            derivadasNativas[i] = Diferenciador.derivarSemSimplificar(Simplificador.simplificar(
+                    ParserSimbolico.analisar(X.matcher(CORPUS[i]).replaceAll(variavelDasDerivadas))), variavelDasDerivadas);
+        }
+    }
+
+    @Benchmark
+    public void analisarDJep(Blackhole bh) throws ParseException {
+        for (String expressao : CORPUS) {
+            bh.consume(djep.parse(expressao));
+        }
+    }
+
+    @Benchmark
+    public void analisarNativo(Blackhole bh) throws ErroDeSintaxe {
+        for (String expressao : corpusNativo) {
+            bh.consume(ParserSimbolico.analisar(expressao));
+        }
+    }
+
+    @Benchmark
+    public void derivarDJep(Blackhole bh) throws ParseException {
+        for (Node arvore : arvoresDJep) {
+            bh.consume(djep.differentiate(arvore, "x"));
+        }
+    }
+
+    @Benchmark
+    public void derivarNativo(Blackhole bh) {
+        for (Expressao arvore : arvoresNativas) {
+            bh.consume(Diferenciador.derivarSemSimplificar(arvore, variavelDasArvores));
+        }
+    }
+
+    @Benchmark
+    public void simplificarDJep(Blackhole bh) throws ParseException {
+        for (Node derivada : derivadasDJep) {
+            bh.consume(djep.simplify(derivada));
+        }
+    }
+
+    @Benchmark
+    public void simplificarNativo(Blackhole bh) {
+        for (Expressao derivada : derivadasNativas) {
+            bh.consume(Simplificador.simplificar(derivada));
+        }
+    }
+
+    @Benchmark
+    public void completoDJep(Blackhole bh) throws ParseException {
+        for (String expressao : CORPUS) {
+            bh.consume(djep.toString(djep.simplify(djep.differentiate(djep.parse(expressao), "x"))));
+        }
+    }
+
+    @Benchmark
+    public void completoNativo(Blackhole bh) throws ErroDeSintaxe {
+        for (String expressao : corpusNativo) {
+            bh.consume(Diferenciador.derivar(ParserSimbolico.analisar(expressao), variavelDoTexto).toString());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import javafx.application.Application;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TextInputDialog;
 import javafx.stage.Stage;
+import org.nfunk.jep.ParseException;
 
 import javax.swing.*;
 import java.util.Optional;
@@ -33,22 +34,28 @@ public class App extends Application {
 
         String value = result.get();
 
-        Derivadas derivadas = new Derivadas();
-        derivadas.setFuncionADerivar(value);
-        derivadas.derivar();
-
-        String derivateResult = derivadas.getFuncionDerivada();
+        String derivateResult;
+        Funcao f;
+        try {
+            derivateResult = Derivadas.derivar(value);
+            f = Derivadas.compilarDerivada(value);
+        } catch (ParseException e) {
+            Alert erro = new Alert(Alert.AlertType.ERROR);
+            erro.setTitle("Erro na expressão");
+            erro.setHeaderText("Não foi possível calcular a derivada");
+            erro.setContentText(e.getErrorInfo() != null ? e.getErrorInfo() : e.getMessage());
+            erro.showAndWait();
+            return;
+        }
 
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Resultado da derivada");
         alert.setHeaderText(derivateResult);
-        alert.setContentText("Resultado da derivada " + " -4 /(x-4)^2 ");
+        alert.setContentText("Resultado da derivada " + derivateResult);
         alert.showAndWait();
 
-
-        Funcao f = x -> -4 / Math.pow((x-4), 2);
         Grafico g = new Grafico();
-        g.plotFuncao(f, 0, 2*Math.PI, "Assintota Vertical n = 4");
+        g.plotFuncao(f, 0, 2*Math.PI, "f'(x) = " + derivateResult);
         g.show(primaryStage);
     }
 
@@ -1,18 +1,30 @@
 package br.com.mauricioborges.graficos;
 
 import javax.swing.*;
+import org.nfunk.jep.ParseException;
 
 public class CalcDerivate {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            // modo em lote, sem interface gráfica
+            try {
+                DerivacaoEmLote.main(args);
+            } catch (Exception e) {
+                System.err.println(e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
         String getFunction = JOptionPane.showInputDialog("Insira a sua derivada");
-        Derivadas derivadas = new Derivadas();
+        if (getFunction == null || getFunction.isBlank()) {
+            return;
+        }
 
-        derivadas.setFuncionADerivar(getFunction);
-        derivadas.derivar();
-
-        JOptionPane.showMessageDialog(null, derivadas.getFuncionDerivada() + " -4 / (x - 4)^2");
-
-
-        double functionResult = Double.parseDouble(derivadas.getFuncionDerivada());
+        try {
+            JOptionPane.showMessageDialog(null, "f'(x) = " + Derivadas.derivar(getFunction));
+        } catch (ParseException e) {
+            JOptionPane.showMessageDialog(null, e.getErrorInfo() != null ? e.getErrorInfo() : e.getMessage(),
+                    "Erro na expressão", JOptionPane.ERROR_MESSAGE);
+        }
     }
 }
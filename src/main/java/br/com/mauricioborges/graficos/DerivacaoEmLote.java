@@ -0,0 +1,316 @@
+package br.com.mauricioborges.graficos;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.nfunk.jep.ParseException;
+import org.nfunk.jep.TokenMgrError;
+
+/**
+ * Derivação em lote, sem interface gráfica.
+ * <p>
+ * Lê uma expressão por linha (da entrada padrão ou de um arquivo), deriva as
+ * expressões em paralelo com um pool de threads e escreve os resultados na
+ * saída padrão na mesma ordem da entrada, em TSV ou em JSON (uma linha por
+ * expressão). Linhas em branco são ignoradas, e linhas com erro (inclusive
+ * caracteres inválidos) viram linhas de erro sem interromper o lote. Ao final,
+ * escreve na saída de erro a vazão e os percentis da latência (aproximados
+ * por um histograma de tamanho fixo, com erro relativo de até ~1,6%).
+ * <p>
+ * As derivadas são calculadas por {@link Derivadas}, com o backend
+ * selecionado e o caminho rápido para polinômios, então o texto é o mesmo de
+ * {@link Derivadas#derivar(String)}. Com o backend DJep, o paralelismo fica
+ * limitado também pelo pool de parsers compartilhado (um por processador).
+ * <p>
+ * Uso:
+ *
+ * <pre><code>
+ * java ... br.com.mauricioborges.graficos.DerivacaoEmLote [opções] [arquivo]
+ *   --formato tsv|json   formato da saída (padrão tsv)
+ *   --threads n          número de threads (padrão: número de processadores)
+ *   --ordem n            ordem da derivada (padrão 1)
+ *   --variavel v         variável de derivação (padrão x)
+ * </code></pre>
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class DerivacaoEmLote {
+
+    private final boolean json;
+    private final int threads;
+    private final int ordem;
+    private final String variavel;
+
+    private DerivacaoEmLote(boolean json, int threads, int ordem, String variavel) {
+        this.json = json;
+        this.threads = threads;
+        this.ordem = ordem;
+        this.variavel = variavel;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean json = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int ordem = 1;
+        String variavel = "x";
+        Path arquivo = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--formato" -> {
+                        String formato = argumento(args, ++i);
+                        if (!formato.equals("tsv") && !formato.equals("json")) {
+                            throw new IllegalArgumentException("Formato desconhecido: " + formato + ".");
+                        }
+                        json = formato.equals("json");
+                    }
+                    case "--threads" ->
+                        threads = Integer.parseInt(argumento(args, ++i));
+                    case "--ordem" ->
+                        ordem = Integer.parseInt(argumento(args, ++i));
+                    case "--variavel" ->
+                        variavel = argumento(args, ++i);
+                    default -> {
+                        if (args[i].startsWith("--") || arquivo != null) {
+                            throw new IllegalArgumentException("Argumento desconhecido: " + args[i] + ".");
+                        }
+                        arquivo = Path.of(args[i]);
+                    }
+                }
+            }
+            if (threads < 1 || ordem < 1) {
+                throw new IllegalArgumentException("O número de threads e a ordem devem ser maiores do que zero.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: DerivacaoEmLote [--formato tsv|json] [--threads n] [--ordem n] [--variavel v] [arquivo]");
+            System.exit(2);
+            return;
+        }
+
+        DerivacaoEmLote lote = new DerivacaoEmLote(json, threads, ordem, variavel);
+        Writer saida = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        try (BufferedReader entrada = arquivo != null
+                ? Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)
+                : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            Estatisticas estatisticas = lote.processar(entrada, saida);
+            saida.flush();
+            System.err.println(estatisticas);
+        }
+    }
+
+    private static String argumento(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Falta o valor de " + args[i - 1] + ".");
+        }
+        return args[i];
+    }
+
+    /**
+     * Derivar todas as linhas da entrada e escrever os resultados em ordem.
+     * No máximo uma janela de tarefas fica pendente e as latências vão para
+     * um histograma de tamanho fixo, de modo que a memória não depende do
+     * tamanho da entrada.
+     */
+    private Estatisticas processar(BufferedReader entrada, Writer saida) throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "derivacao");
+            t.setDaemon(true);
+            return t;
+        });
+        int janela = 64 * threads;
+        ArrayDeque<Future<Resultado>> pendentes = new ArrayDeque<>(janela);
+        Estatisticas estatisticas = new Estatisticas();
+        long inicio = System.nanoTime();
+        try {
+            String linha;
+            long numero = 0;
+            while ((linha = entrada.readLine()) != null) {
+                numero++;
+                String expressao = linha.strip();
+                if (expressao.isEmpty()) {
+                    continue;
+                }
+                long n = numero;
+                pendentes.add(executor.submit(() -> derivar(n, expressao)));
+                if (pendentes.size() >= janela) {
+                    escrever(pendentes.poll(), saida, estatisticas);
+                }
+            }
+            while (!pendentes.isEmpty()) {
+                escrever(pendentes.poll(), saida, estatisticas);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        estatisticas.nanos = System.nanoTime() - inicio;
+        return estatisticas;
+    }
+
+    private Resultado derivar(long linha, String expressao) {
+        long inicio = System.nanoTime();
+        String derivada = null;
+        String erro = null;
+        try {
+            derivada = Derivadas.derivarParcial(expressao, variavel, ordem);
+        } catch (ParseException e) {
+            erro = e.getErrorInfo() != null ? e.getErrorInfo().strip() : String.valueOf(e.getMessage());
+        } catch (RuntimeException | TokenMgrError e) {
+            // o erro léxico do JEP é um Error; fica só nesta linha
+            erro = String.valueOf(e.getMessage());
+        }
+        return new Resultado(linha, expressao, derivada, erro, System.nanoTime() - inicio);
+    }
+
+    private void escrever(Future<Resultado> futuro, Writer saida, Estatisticas estatisticas)
+            throws IOException, InterruptedException {
+        Resultado r;
+        try {
+            r = futuro.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erro inesperado na derivação.", e.getCause());
+        }
+        estatisticas.adicionar(r);
+        if (json) {
+            saida.write("{\"linha\":");
+            saida.write(Long.toString(r.linha));
+            saida.write(",\"expressao\":");
+            saida.write(json(r.expressao));
+            saida.write(r.erro == null ? ",\"derivada\":" : ",\"erro\":");
+            saida.write(json(r.erro == null ? r.derivada : r.erro));
+            saida.write("}\n");
+        } else {
+            saida.write(Long.toString(r.linha));
+            saida.write('\t');
+            saida.write(tsv(r.expressao));
+            saida.write('\t');
+            saida.write(r.erro == null ? tsv(r.derivada) : "");
+            saida.write('\t');
+            saida.write(r.erro == null ? "" : tsv(r.erro));
+            saida.write('\n');
+        }
+    }
+
+    private static String tsv(String s) {
+        return s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static String json(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' ->
+                    sb.append("\\\"");
+                case '\\' ->
+                    sb.append("\\\\");
+                case '\n' ->
+                    sb.append("\\n");
+                case '\r' ->
+                    sb.append("\\r");
+                case '\t' ->
+                    sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Resultado da derivação de uma linha
+     */
+    private record Resultado(long linha, String expressao, String derivada, String erro, long nanos) {
+
+    }
+
+    /**
+     * Vazão e latência (tempo de derivação de cada expressão). As latências
+     * ficam em um histograma log-linear: cada potência de 2 é dividida em
+     * {@value #SUBDIVISOES} faixas, e o percentil é o meio da faixa.
+     */
+    private static final class Estatisticas {
+
+        private static final int BITS = 5;
+        private static final int SUBDIVISOES = 1 << BITS;
+
+        private final long[] contagens = new long[(64 - BITS) * SUBDIVISOES];
+        private long total;
+        private long erros;
+        private long maximo;
+        private long nanos;
+
+        void adicionar(Resultado r) {
+            contagens[faixa(r.nanos)]++;
+            maximo = Math.max(maximo, r.nanos);
+            total++;
+            if (r.erro != null) {
+                erros++;
+            }
+        }
+
+        /**
+         * Índice da faixa: valores menores que SUBDIVISOES têm faixa própria;
+         * os demais usam o expoente e os BITS seguintes ao bit mais alto
+         */
+        private static int faixa(long v) {
+            if (v < SUBDIVISOES) {
+                return (int) Math.max(v, 0);
+            }
+            int e = 63 - Long.numberOfLeadingZeros(v);
+            return (e - BITS + 1) * SUBDIVISOES + (int) ((v >>> (e - BITS)) & (SUBDIVISOES - 1));
+        }
+
+        private static double meioDaFaixa(int i) {
+            if (i < SUBDIVISOES) {
+                return i;
+            }
+            int e = i / SUBDIVISOES + BITS - 1;
+            long inicio = (long) (SUBDIVISOES + i % SUBDIVISOES) << (e - BITS);
+            return inicio + (double) (1L << (e - BITS)) / 2;
+        }
+
+        private double percentil(double p) {
+            long posicao = Math.max(1, (long) Math.ceil(p / 100 * total));
+            long acumulado = 0;
+            for (int i = 0; i < contagens.length; i++) {
+                acumulado += contagens[i];
+                if (acumulado >= posicao) {
+                    return Math.min(meioDaFaixa(i), maximo) / 1e3;
+                }
+            }
+            return maximo / 1e3;
+        }
+
+        @Override
+        public String toString() {
+            double segundos = nanos / 1e9;
+            String resumo = String.format(Locale.ROOT, "%d expressões (%d erros) em %.3f s: %.1f expressões/s",
+                    total, erros, segundos, total / Math.max(segundos, 1e-9));
+            if (total == 0) {
+                return resumo;
+            }
+            return resumo + String.format(Locale.ROOT,
+                    "%nlatência (µs): p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, máx %.1f",
+                    percentil(50), percentil(90), percentil(99), percentil(99.9), maximo / 1e3);
+        }
+    }
+}
@@ -1,48 +1,319 @@
 package br.com.mauricioborges.graficos;
 
-import org.lsmp.djep.djep.DJep;
-import org.nfunk.jep.Node;
+import br.com.mauricioborges.graficos.math.AvaliadorColunar;
+import br.com.mauricioborges.graficos.math.CacheDeDerivadas;
+import br.com.mauricioborges.graficos.math.CompiladorDeExpressoes;
+import br.com.mauricioborges.graficos.math.Funcao;
+import br.com.mauricioborges.graficos.math.GrafoDeDerivadas;
+import br.com.mauricioborges.graficos.math.Polinomio;
+import br.com.mauricioborges.graficos.math.PontosNotaveis;
+import br.com.mauricioborges.graficos.math.PoolDeParsers;
+import br.com.mauricioborges.graficos.math.simbolico.Diferenciador;
+import br.com.mauricioborges.graficos.math.simbolico.ErroDeSintaxe;
+import br.com.mauricioborges.graficos.math.simbolico.Expressao;
+import br.com.mauricioborges.graficos.math.simbolico.ParserSimbolico;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ForkJoinPool;
 import org.nfunk.jep.ParseException;
 
 public class Derivadas {
-    
+
+    /**
+     * Implementação usada para derivar
+     */
+    public static enum Backend {
+        /**
+         * DJep (padrão), com cache de derivadas
+         */
+        DJEP,
+        /**
+         * Derivação e simplificação nativas (pacote math.simbolico), somente
+         * para expressões com as funções elementares
+         */
+        NATIVO
+    }
+
+    private static volatile Backend backend = Backend.DJEP;
+
     private String funcion = "";
-    
-    DJep djep;
-    Node nodoFuncion;
-    Node nodeDerivada;
-    
+
     public Derivadas(){
 
     }
-    
-    public void setFuncionADerivar(String funcion) {
+
+    public synchronized void setFuncionADerivar(String funcion) {
         this.funcion = funcion;
     }
-    
-    public String getFuncionDerivada() {
+
+    public synchronized String getFuncionDerivada() {
         return this.funcion;
     }
-    
-    public void derivar() {
+
+    public synchronized void derivar() {
         try {
-            this.djep = new DJep();
-            this.djep.addStandardFunctions();
-            this.djep.addStandardConstants();
-            this.djep.addComplex();
-            this.djep.setAllowUndeclared(true);
-            this.djep.setAllowAssignment(true);
-            this.djep.setImplicitMul(true);
-            this.djep.addStandardDiffRules();
-            
-            this.nodoFuncion = this.djep.parse(this.funcion);
-            Node diff = this.djep.differentiate(nodoFuncion, "x");
-            this.nodeDerivada = this.djep.simplify(diff);
-            this.funcion = this.djep.toString(this.nodeDerivada);
-        } 
+            this.funcion = derivar(this.funcion);
+        }
         catch(ParseException e) {
             System.out.println("Error" + e.getErrorInfo());
         }
     }
-    
-}
\ No newline at end of file
+
+    /**
+     * Definir a implementação usada pelos métodos de derivação (padrão é
+     * {@link Backend#DJEP})
+     *
+     * @param backend implementação
+     */
+    public static void setBackend(Backend backend) {
+        Derivadas.backend = requireNonNull(backend, "O backend não pode ser nulo.");
+    }
+
+    /**
+     * Obter a implementação usada pelos métodos de derivação
+     *
+     * @return implementação
+     */
+    public static Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Derivar uma expressão em relação a x, usando o cache de derivadas e um
+     * parser do pool compartilhado (pode ser chamado de várias threads ao
+     * mesmo tempo)
+     * <p>
+     * Polinômios em x são derivados diretamente pelos coeficientes, em
+     * qualquer backend, e o texto segue o formato de {@link Polinomio#toString()}
+     * (por exemplo, {@code 3*x^2+2}) em vez do formato do DJep. Essas chamadas
+     * não passam pelo {@link CacheDeDerivadas}, então não entram nos acertos
+     * nem nas falhas dele.
+     *
+     * @param funcion expressão
+     * @return derivada simplificada
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static String derivar(String funcion) throws ParseException {
+        Polinomio p = polinomio(funcion);
+        if (p != null) {
+            return p.derivada().toString();
+        }
+        if (backend == Backend.NATIVO) {
+            return derivarNativo(funcion, "x", 1).toString();
+        }
+        return CacheDeDerivadas.getPadrao().derivar(funcion).getTexto();
+    }
+
+    /**
+     * Classificar a entrada: se for um polinômio em x, devolvê-lo como
+     * coeficientes, para que a derivada e a avaliação não passem pelo DJep
+     *
+     * @param funcion expressão
+     * @return polinômio ou null se a expressão não for um polinômio em x (ou
+     * tiver erro de sintaxe, que fica para o DJep informar)
+     */
+    private static Polinomio polinomio(String funcion) {
+        // descarta logo textos com funções ou outras variáveis
+        for (int i = 0; i < funcion.length(); i++) {
+            char c = funcion.charAt(i);
+            if (Character.isLetter(c) && c != 'x' && c != 'e' && c != 'E') {
+                return null;
+            }
+        }
+        try {
+            return ParserSimbolico.analisar(funcion).paraPolinomio("x");
+        } catch (ErroDeSintaxe e) {
+            return null;
+        }
+    }
+
+    /**
+     * Derivar com o backend nativo, convertendo erros de sintaxe para
+     * ParseException
+     */
+    private static Expressao derivarNativo(String funcion, String variavel, int ordem) throws ParseException {
+        Expressao expressao;
+        try {
+            expressao = ParserSimbolico.analisar(funcion);
+        } catch (ErroDeSintaxe e) {
+            throw new ParseException(e.getMessage());
+        }
+        for (int k = 0; k < ordem; k++) {
+            expressao = Diferenciador.derivar(expressao, variavel);
+        }
+        return expressao;
+    }
+
+    /**
+     * Compilar uma expressão em x para uma {@link Funcao}
+     *
+     * @param funcion expressão
+     * @return função compilada
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static Funcao compilar(String funcion) throws ParseException {
+        Polinomio p = polinomio(funcion);
+        if (p != null) {
+            return p;
+        }
+        return PoolDeParsers.getPadrao().executar(djep -> CompiladorDeExpressoes.compilar(djep.parse(funcion), "x"));
+    }
+
+    /**
+     * Derivar uma expressão em relação a x e compilar a derivada para uma
+     * {@link Funcao}
+     *
+     * @param funcion expressão
+     * @return derivada compilada
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static Funcao compilarDerivada(String funcion) throws ParseException {
+        Polinomio p = polinomio(funcion);
+        if (p != null) {
+            return p.derivada();
+        }
+        if (backend == Backend.NATIVO) {
+            return CompiladorDeExpressoes.compilar(derivarNativo(funcion, "x", 1), "x");
+        }
+        return CacheDeDerivadas.getPadrao().derivar(funcion).getFuncao();
+    }
+
+    /**
+     * Criar um avaliador colunar (sem geração de bytecode) para uma expressão
+     * em x, indicado para avaliar muitos pontos de uma vez com
+     * {@link Funcao#applyBatch(double[], double[])}
+     *
+     * @param funcion expressão
+     * @return avaliador da expressão
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static Funcao interpretar(String funcion) throws ParseException {
+        Polinomio p = polinomio(funcion);
+        if (p != null) {
+            return p;
+        }
+        return PoolDeParsers.getPadrao().executar(djep -> new AvaliadorColunar(djep.parse(funcion), "x"));
+    }
+
+    /**
+     * Derivar uma expressão em relação a x e criar um avaliador colunar para
+     * a derivada
+     *
+     * @param funcion expressão
+     * @return avaliador da derivada
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static Funcao interpretarDerivada(String funcion) throws ParseException {
+        Polinomio p = polinomio(funcion);
+        if (p != null) {
+            return p.derivada();
+        }
+        return CacheDeDerivadas.getPadrao().derivar(funcion).getAvaliadorColunar();
+    }
+
+    /**
+     * Derivada de ordem n de uma expressão em relação a x (para polinômios,
+     * no formato descrito em {@link #derivar(String)})
+     *
+     * @param funcion expressão
+     * @param ordem ordem da derivada
+     * @return derivada simplificada
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static String derivar(String funcion, int ordem) throws ParseException {
+        if (ordem == 1) {
+            return derivar(funcion);
+        }
+        Polinomio p = polinomio(funcion);
+        if (p != null) {
+            return p.derivada(ordem).toString();
+        }
+        if (backend == Backend.NATIVO) {
+            return derivarNativo(funcion, "x", ordem).toString();
+        }
+        return GrafoDeDerivadas.ordens(funcion, "x", ordem).getTexto(ordem);
+    }
+
+    /**
+     * Derivada parcial de uma expressão em relação a uma variável
+     *
+     * @param funcion expressão
+     * @param variavel variável
+     * @return derivada simplificada
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static String derivarParcial(String funcion, String variavel) throws ParseException {
+        if (backend == Backend.NATIVO) {
+            return derivarNativo(funcion, variavel, 1).toString();
+        }
+        return PoolDeParsers.getPadrao().executar(djep
+                -> djep.toString(djep.simplify(djep.differentiate(djep.parse(funcion), variavel))));
+    }
+
+    /**
+     * Derivada parcial de ordem n de uma expressão em relação a uma variável
+     * (em relação a x, o mesmo que {@link #derivar(String, int)})
+     *
+     * @param funcion expressão
+     * @param variavel variável
+     * @param ordem ordem da derivada
+     * @return derivada simplificada
+     * @throws ParseException erro de sintaxe na expressão
+     */
+    public static String derivarParcial(String funcion, String variavel, int ordem) throws ParseException {
+        if (variavel.equals("x")) {
+            return derivar(funcion, ordem);
+        }
+        if (ordem == 1) {
+            return derivarParcial(funcion, variavel);
+        }
+        if (backend == Backend.NATIVO) {
+            return derivarNativo(funcion, variavel, ordem).toString();
+        }
+        return GrafoDeDerivadas.ordens(funcion, variavel, ordem).getTexto(ordem);
+    }
+
+    /**
+     * Gradiente de uma expressão em várias variáveis
+     *
+     * @param funcion expressão
+     * @param variaveis variáveis
+     * @return grafo com a expressão e as derivadas parciais
+     * @throws ParseException erro de sintaxe na expressão
+     * @see GrafoDeDerivadas#gradiente(String, String...)
+     */
+    public static GrafoDeDerivadas gradiente(String funcion, String... variaveis) throws ParseException {
+        return GrafoDeDerivadas.gradiente(funcion, variaveis);
+    }
+
+    /**
+     * Gradiente e matriz hessiana de uma expressão em várias variáveis
+     *
+     * @param funcion expressão
+     * @param variaveis variáveis
+     * @return grafo com a expressão, o gradiente e a hessiana
+     * @throws ParseException erro de sintaxe na expressão
+     * @see GrafoDeDerivadas#hessiana(String, String...)
+     */
+    public static GrafoDeDerivadas hessiana(String funcion, String... variaveis) throws ParseException {
+        return GrafoDeDerivadas.hessiana(funcion, variaveis);
+    }
+
+    /**
+     * Raízes, extremos locais e pontos de inflexão de uma expressão em x no
+     * intervalo [inicio, fim], usando as derivadas simbólicas compiladas
+     * (buscadas em paralelo no pool comum, pois as funções compiladas não têm
+     * estado)
+     *
+     * @param funcion expressão
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @return pontos encontrados
+     * @throws ParseException erro de sintaxe na expressão
+     * @see PontosNotaveis
+     */
+    public static PontosNotaveis.Resultado pontosNotaveis(String funcion, double inicio, double fim) throws ParseException {
+        return new PontosNotaveis.Builder().setPool(ForkJoinPool.commonPool()).build().buscar(compilar(funcion), compilarDerivada(funcion),
+                compilar(derivar(funcion, 2)), inicio, fim);
+    }
+
+}
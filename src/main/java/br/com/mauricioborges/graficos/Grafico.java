@@ -1,11 +1,17 @@
 package br.com.mauricioborges.graficos;
 
 import br.com.mauricioborges.graficos.gui.CenaGraficoController;
+import br.com.mauricioborges.graficos.math.DerivadaNumerica;
 import br.com.mauricioborges.graficos.math.Funcao;
+import br.com.mauricioborges.graficos.math.FuncaoDiferenciavel;
+import br.com.mauricioborges.graficos.math.FuncaoSemEstado;
+import br.com.mauricioborges.graficos.math.PontosNotaveis;
+import br.com.mauricioborges.graficos.utils.ChartUtils.EstiloLinha;
 import static br.com.mauricioborges.graficos.utils.FXUtils.findResource;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import static java.util.Objects.requireNonNull;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -118,6 +124,81 @@ public final class Grafico extends Application {
         this.plotFuncao(funcao, inicio, fim, titulo, Estilo.LINHA);
     }
 
+    /**
+     * Plotar uma função e a sua derivada (calculada por diferenciação
+     * automática) em determinado intervalo. A derivada é plotada com linha
+     * tracejada e legenda titulo + "'".
+     *
+     * @param funcao função diferenciável
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @param titulo legenda da função
+     */
+    public void plotFuncaoEDerivada(FuncaoDiferenciavel funcao, double inicio, double fim, String titulo) {
+        requireNonNull(funcao, "A função não pode ser nula.");
+        this.plotFuncao(funcao, inicio, fim, titulo, Estilo.LINHA);
+        this.plotFuncao(funcao.getDerivada(), inicio, fim, titulo + "'", estiloDerivada());
+    }
+
+    /**
+     * Plotar uma função qualquer e a sua derivada numérica (diferenças
+     * centrais com extrapolação de Richardson) em determinado intervalo. A
+     * derivada é plotada com linha tracejada e legenda titulo + "'".
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @param titulo legenda da função
+     */
+    public void plotFuncaoEDerivadaNumerica(Funcao funcao, double inicio, double fim, String titulo) {
+        requireNonNull(funcao, "A função não pode ser nula.");
+        this.plotFuncao(funcao, inicio, fim, titulo, Estilo.LINHA);
+        this.plotFuncao(DerivadaNumerica.primeira(funcao), inicio, fim, titulo + "'", estiloDerivada());
+    }
+
+    /**
+     * Plotar uma função e marcar as suas raízes, máximos e mínimos locais e
+     * pontos de inflexão no intervalo, cada tipo como um conjunto de pontos
+     * com legenda própria (ex.: "Raízes (titulo)")
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @param titulo legenda da função
+     * @return pontos encontrados
+     * @see PontosNotaveis
+     */
+    public PontosNotaveis.Resultado plotFuncaoEPontosNotaveis(Funcao funcao, double inicio, double fim, String titulo) {
+        requireNonNull(funcao, "A função não pode ser nula.");
+        this.plotFuncao(funcao, inicio, fim, titulo, Estilo.LINHA);
+        // só funções sem estado são avaliadas em várias threads
+        PontosNotaveis.Resultado pontos = new PontosNotaveis.Builder()
+                .setPool(funcao instanceof FuncaoSemEstado ? ForkJoinPool.commonPool() : null)
+                .build().buscar(funcao, inicio, fim);
+        plotPontosNotaveis(funcao, pontos.getRaizes(), "Raízes (" + titulo + ")");
+        plotPontosNotaveis(funcao, pontos.getMaximos(), "Máximos (" + titulo + ")");
+        plotPontosNotaveis(funcao, pontos.getMinimos(), "Mínimos (" + titulo + ")");
+        plotPontosNotaveis(funcao, pontos.getInflexoes(), "Inflexões (" + titulo + ")");
+        return pontos;
+    }
+
+    private void plotPontosNotaveis(Funcao funcao, double[] abscissas, String titulo) {
+        if (abscissas.length == 0) {
+            return;
+        }
+        Double[] xs = new Double[abscissas.length];
+        Double[] ys = new Double[abscissas.length];
+        for (int i = 0; i < abscissas.length; i++) {
+            xs[i] = abscissas[i];
+            ys[i] = funcao.apply(abscissas[i]);
+        }
+        this.plotPontos(xs, ys, titulo, Estilo.MARCADOR);
+    }
+
+    private static Estilo estiloDerivada() {
+        return new Estilo.Builder().setExibirMarcador(false).setEstiloLinha(EstiloLinha.TRACEJADA).build();
+    }
+
     /**
      * Plotar um conjunto de pontos
      *
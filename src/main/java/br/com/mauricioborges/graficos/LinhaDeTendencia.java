@@ -1,5 +1,13 @@
 package br.com.mauricioborges.graficos;
 
+import br.com.mauricioborges.graficos.math.FuncaoDiferenciavel;
+import br.com.mauricioborges.graficos.math.FuncaoExponencial;
+import br.com.mauricioborges.graficos.math.FuncaoLogaritmica;
+import br.com.mauricioborges.graficos.math.FuncaoPotencia;
+import br.com.mauricioborges.graficos.math.Polinomio;
+import br.com.mauricioborges.graficos.math.metodosnumericos.RegressaoPolinomial;
+import static java.lang.Math.exp;
+import static java.lang.Math.log;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -34,11 +42,23 @@ public class LinhaDeTendencia {
      * Média móvel
      */
     public static final LinhaDeTendencia MEDIA_MOVEL = new LinhaDeTendencia.Builder(Tipo.MEDIA_MOVEL).build();
+    /**
+     * Média móvel exponencial
+     */
+    public static final LinhaDeTendencia MEDIA_MOVEL_EXPONENCIAL = new LinhaDeTendencia.Builder(Tipo.MEDIA_MOVEL_EXPONENCIAL).build();
+    /**
+     * Média móvel ponderada linearmente
+     */
+    public static final LinhaDeTendencia MEDIA_MOVEL_PONDERADA = new LinhaDeTendencia.Builder(Tipo.MEDIA_MOVEL_PONDERADA).build();
+    /**
+     * Regressão linear móvel
+     */
+    public static final LinhaDeTendencia REGRESSAO_MOVEL = new LinhaDeTendencia.Builder(Tipo.REGRESSAO_MOVEL).build();
 
     // parâmetros da linha de tendência
     private final Tipo tipo;
-    private int grau = 1; // linhas de tendência polinomiais
-    private int numeroDePontos = 2; // linha de tendência média móvel
+    private int grau = 1; // linhas de tendência polinomiais e regressão móvel
+    private int numeroDePontos = 2; // linhas de tendência média móvel e regressão móvel
     private double inicio = Double.MAX_VALUE;
     private double fim = Double.MAX_VALUE;
     private String titulo = null;
@@ -51,6 +71,7 @@ public class LinhaDeTendencia {
     private boolean exibirEquacao = true;
     private boolean exibirR2 = false;
     private boolean exibirSigma2 = false;
+    private boolean exibirInclinacao = false;
 
     /**
      * Construtor privado para não permitir a criação de instâncias fora da
@@ -86,8 +107,8 @@ public class LinhaDeTendencia {
      * @param grau grau
      */
     public void setGrau(int grau) {
-        if (tipo != Tipo.POLINOMIAL) {
-            throw new UnsupportedOperationException("Só é possível alterar o grau de linhas de tendência polinomiais.");
+        if (tipo != Tipo.POLINOMIAL && tipo != Tipo.REGRESSAO_MOVEL) {
+            throw new UnsupportedOperationException("Só é possível alterar o grau de linhas de tendência polinomiais e de regressão móvel.");
         }
         if (grau < 0) {
             throw new IllegalArgumentException("O grau da linha de tendência não pode ser negativo.");
@@ -96,7 +117,7 @@ public class LinhaDeTendencia {
     }
 
     /**
-     * Obter o número de pontos da média móvel
+     * Obter o número de pontos da média móvel ou da janela da regressão móvel
      *
      * @return número de pontos
      */
@@ -105,16 +126,17 @@ public class LinhaDeTendencia {
     }
 
     /**
-     * Definir o número de pontos da média móvel
+     * Definir o número de pontos da média móvel ou da janela da regressão móvel
      *
      * @param numeroDePontos número de pontos
      */
     public void setNumeroDePontos(int numeroDePontos) {
-        if (tipo != Tipo.MEDIA_MOVEL) {
-            throw new UnsupportedOperationException("Só é possível alterar o número de pontos de linha de tendência média móvel.");
+        if (!tipo.isJanelaMovel()) {
+            throw new UnsupportedOperationException("Só é possível alterar o número de pontos de linha de tendência "
+                    + "média móvel ou regressão móvel.");
         }
         if (numeroDePontos < 2) {
-            throw new IllegalArgumentException("O número de pontos da média móvel não pode ser menor do que 2.");
+            throw new IllegalArgumentException("O número de pontos da " + tipo.toString().toLowerCase() + " não pode ser menor do que 2.");
         }
         this.numeroDePontos = numeroDePontos;
     }
@@ -135,8 +157,9 @@ public class LinhaDeTendencia {
      * @param inicio início
      */
     public void setInicio(double inicio) {
-        if (tipo == Tipo.MEDIA_MOVEL) {
-            throw new UnsupportedOperationException("Não é possível definir o início do intervalo de linha de tendência média móvel");
+        if (tipo.isJanelaMovel()) {
+            throw new UnsupportedOperationException("Não é possível definir o início do intervalo de linha de tendência "
+                    + tipo.toString().toLowerCase());
         }
         this.inicio = inicio;
     }
@@ -157,8 +180,9 @@ public class LinhaDeTendencia {
      * @param fim fim
      */
     public void setFim(double fim) {
-        if (tipo == Tipo.MEDIA_MOVEL) {
-            throw new UnsupportedOperationException("Não é possível definir o fim do intervalo de linha de tendência média móvel");
+        if (tipo.isJanelaMovel()) {
+            throw new UnsupportedOperationException("Não é possível definir o fim do intervalo de linha de tendência "
+                    + tipo.toString().toLowerCase());
         }
         this.fim = fim;
     }
@@ -197,7 +221,7 @@ public class LinhaDeTendencia {
      * @param b0 valor
      */
     public void setB0(double b0) {
-        if (tipo == Tipo.LOGARITMICA || tipo == Tipo.POTENCIA || tipo == Tipo.MEDIA_MOVEL) {
+        if (tipo == Tipo.LOGARITMICA || tipo == Tipo.POTENCIA || tipo.isJanelaMovel()) {
             throw new UnsupportedOperationException("Não é possível alterar o ponto de intersecção "
                     + "com o eixo Y de linha de tendência " + tipo.toString().toLowerCase());
         }
@@ -241,8 +265,9 @@ public class LinhaDeTendencia {
      * @param exibirEquacao true or false
      */
     public void setExibirEquacao(boolean exibirEquacao) {
-        if (tipo == Tipo.MEDIA_MOVEL) {
-            throw new UnsupportedOperationException("Não é possível exibir a equação de linha de tendência média móvel");
+        if (tipo.isJanelaMovel()) {
+            throw new UnsupportedOperationException("Não é possível exibir a equação de linha de tendência "
+                    + tipo.toString().toLowerCase());
         }
         this.exibirEquacao = exibirEquacao;
     }
@@ -262,8 +287,9 @@ public class LinhaDeTendencia {
      * @param exibirR2 true or false
      */
     public void setExibirR2(boolean exibirR2) {
-        if (tipo == Tipo.MEDIA_MOVEL) {
-            throw new UnsupportedOperationException("Não é possível exibir o r² de linha de tendência média móvel");
+        if (tipo.isJanelaMovel()) {
+            throw new UnsupportedOperationException("Não é possível exibir o r² de linha de tendência "
+                    + tipo.toString().toLowerCase());
         }
         this.exibirR2 = exibirR2;
     }
@@ -283,12 +309,94 @@ public class LinhaDeTendencia {
      * @param exibirSigma2 true or false
      */
     public void setExibirSigma2(boolean exibirSigma2) {
-        if (tipo == Tipo.MEDIA_MOVEL) {
-            throw new UnsupportedOperationException("Não é possível exibir o σ² de linha de tendência média móvel");
+        if (tipo.isJanelaMovel()) {
+            throw new UnsupportedOperationException("Não é possível exibir o σ² de linha de tendência "
+                    + tipo.toString().toLowerCase());
         }
         this.exibirSigma2 = exibirSigma2;
     }
 
+    /**
+     * Exibir ou não a série das inclinações da regressão móvel (padrão é
+     * false)
+     *
+     * @return true or false
+     */
+    public boolean exibirInclinacao() {
+        return exibirInclinacao;
+    }
+
+    /**
+     * Exibir ou não a série das inclinações da regressão móvel (padrão é
+     * false)
+     *
+     * @param exibirInclinacao true or false
+     */
+    public void setExibirInclinacao(boolean exibirInclinacao) {
+        if (tipo != Tipo.REGRESSAO_MOVEL) {
+            throw new UnsupportedOperationException("Só é possível exibir as inclinações de linha de tendência regressão móvel");
+        }
+        this.exibirInclinacao = exibirInclinacao;
+    }
+
+    /**
+     * Ajustar a linha de tendência a um conjunto de pontos
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @return função ajustada ({@link Polinomio}, {@link FuncaoExponencial},
+     * {@link FuncaoLogaritmica} ou {@link FuncaoPotencia}), com derivada e
+     * integral exatas no caso do polinômio
+     */
+    public FuncaoDiferenciavel ajustar(double[] x, double[] y) {
+        return getFuncao(getRegressao(x, y).resolver());
+    }
+
+    /**
+     * Obter a regressão polinomial (ainda não resolvida) usada no ajuste, com
+     * ln(x) e/ou ln(y) conforme o tipo da linha de tendência
+     *
+     * @param x array com os valores de X
+     * @param y array com os valores de Y
+     * @return regressão polinomial
+     */
+    public RegressaoPolinomial getRegressao(double[] x, double[] y) {
+        requireNonNull(x, "O array de X não pode ser nulo.");
+        requireNonNull(y, "O array de Y não pode ser nulo.");
+        if (tipo.isJanelaMovel()) {
+            throw new UnsupportedOperationException("Não é possível ajustar uma função à linha de tendência "
+                    + tipo.toString().toLowerCase());
+        }
+        double[] xn = new double[x.length];
+        double[] yn = new double[y.length];
+        for (int i = 0; i < x.length && i < y.length; i++) {
+            xn[i] = tipo == Tipo.LOGARITMICA || tipo == Tipo.POTENCIA ? log(x[i]) : x[i];
+            yn[i] = tipo == Tipo.EXPONENCIAL || tipo == Tipo.POTENCIA ? log(y[i]) : y[i];
+        }
+        return new RegressaoPolinomial(grau + 1, xn, yn, b0);
+    }
+
+    /**
+     * Obter a função da linha de tendência a partir dos coeficientes da
+     * regressão
+     *
+     * @param b coeficientes retornados por {@link RegressaoPolinomial#resolver()}
+     * @return função da linha de tendência
+     */
+    public FuncaoDiferenciavel getFuncao(double[] b) {
+        requireNonNull(b, "Os coeficientes não podem ser nulos.");
+        return switch (tipo) {
+            case EXPONENCIAL ->
+                new FuncaoExponencial(exp(b[0]), b[1]);
+            case LOGARITMICA ->
+                new FuncaoLogaritmica(b[1], b[0]);
+            case POTENCIA ->
+                new FuncaoPotencia(exp(b[0]), b[1]);
+            default ->
+                new Polinomio(b);
+        };
+    }
+
     /**
      * Tipos de linha de tendência
      */
@@ -312,7 +420,21 @@ public class LinhaDeTendencia {
         /**
          * Linha de tendência média móvel
          */
-        MEDIA_MOVEL("Média móvel");
+        MEDIA_MOVEL("Média móvel"),
+        /**
+         * Linha de tendência média móvel exponencial (fator de suavização
+         * 2 / (número de pontos + 1))
+         */
+        MEDIA_MOVEL_EXPONENCIAL("Média móvel exponencial"),
+        /**
+         * Linha de tendência média móvel ponderada linearmente (o ponto mais
+         * recente tem o maior peso)
+         */
+        MEDIA_MOVEL_PONDERADA("Média móvel ponderada"),
+        /**
+         * Linha de tendência de regressão polinomial em janela deslizante
+         */
+        REGRESSAO_MOVEL("Regressão móvel");
 
         private final String titulo;
 
@@ -320,6 +442,25 @@ public class LinhaDeTendencia {
             this.titulo = titulo;
         }
 
+        /**
+         * Indica se a linha de tendência é calculada em uma janela deslizante
+         * de pontos
+         *
+         * @return true or false
+         */
+        public boolean isJanelaMovel() {
+            return isMediaMovel() || this == REGRESSAO_MOVEL;
+        }
+
+        /**
+         * Indica se a linha de tendência é uma das médias móveis
+         *
+         * @return true or false
+         */
+        public boolean isMediaMovel() {
+            return this == MEDIA_MOVEL || this == MEDIA_MOVEL_EXPONENCIAL || this == MEDIA_MOVEL_PONDERADA;
+        }
+
         @Override
         public String toString() {
             return this.titulo;
@@ -355,7 +496,8 @@ public class LinhaDeTendencia {
         }
 
         /**
-         * Definir o número de pontos da média móvel
+         * Definir o número de pontos da média móvel ou da janela da regressão
+         * móvel
          *
          * @param numeroDePontos número de pontos
          * @return a própria instância do Builder
@@ -453,6 +595,18 @@ public class LinhaDeTendencia {
             return this;
         }
 
+        /**
+         * Exibir ou não a série das inclinações da regressão móvel (padrão é
+         * false)
+         *
+         * @param exibirInclinacao true or false
+         * @return a própria instância do Builder
+         */
+        public Builder setExibirInclinacao(boolean exibirInclinacao) {
+            this.linhaDeTendencia.setExibirInclinacao(exibirInclinacao);
+            return this;
+        }
+
         /**
          * Constrói o objeto
          *
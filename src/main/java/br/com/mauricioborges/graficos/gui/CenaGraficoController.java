@@ -2,13 +2,15 @@ package br.com.mauricioborges.graficos.gui;
 
 import br.com.mauricioborges.graficos.LinhaDeTendencia;
 import br.com.mauricioborges.graficos.Estilo;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.EXPONENCIAL;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.LOGARITMICA;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.MEDIA_MOVEL;
 import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.POLINOMIAL;
-import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.POTENCIA;
+import static br.com.mauricioborges.graficos.LinhaDeTendencia.Tipo.REGRESSAO_MOVEL;
+import br.com.mauricioborges.graficos.math.AmostragemAdaptativa;
 import br.com.mauricioborges.graficos.math.Funcao;
-import br.com.mauricioborges.graficos.math.metodosnumericos.RegressaoLinearMultipla;
+import br.com.mauricioborges.graficos.math.FuncaoDiferenciavel;
+import br.com.mauricioborges.graficos.math.FuncaoSemEstado;
+import br.com.mauricioborges.graficos.math.metodosnumericos.MediaMovel;
+import br.com.mauricioborges.graficos.math.metodosnumericos.RegressaoMovel;
+import br.com.mauricioborges.graficos.math.metodosnumericos.RegressaoPolinomial;
 import br.com.mauricioborges.graficos.utils.ChartUtils;
 import br.com.mauricioborges.graficos.utils.FileUtils;
 import br.com.mauricioborges.graficos.utils.FileUtils.Tipo;
@@ -17,13 +19,21 @@ import java.io.File;
 import java.io.IOException;
 import static java.lang.Double.MAX_VALUE;
 import static java.lang.Math.exp;
-import static java.lang.Math.log;
-import static java.lang.Math.pow;
 import java.net.URL;
 import java.text.DecimalFormat;
 import java.text.ParseException;
 import static java.util.Arrays.copyOfRange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import static javafx.embed.swing.SwingFXUtils.fromFXImage;
 import javafx.fxml.FXML;
@@ -36,7 +46,11 @@ import javafx.scene.chart.XYChart;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
 import javafx.util.StringConverter;
 import javax.imageio.ImageIO;
 
@@ -57,6 +71,22 @@ public class CenaGraficoController implements Initializable {
     @FXML
     private StackPane stackPane;
 
+    // funções plotadas, reamostradas quando a área visível muda
+    private final Map<XYChart.Series<Number, Number>, FuncaoPlotada> funcoesPlotadas = new ConcurrentHashMap<>();
+    private final ExecutorService executorReamostragem = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "reamostragem");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong geracao = new AtomicLong();
+    private Future<?> tarefaReamostragem;
+    private final PauseTransition espera = new PauseTransition(Duration.millis(150));
+
+    // início do arraste: posição do mouse e limites dos eixos
+    private double arrasteX;
+    private double arrasteY;
+    private double[] faixaArraste;
+
     /**
      * Definir o título do gráfico
      *
@@ -100,33 +130,24 @@ public class CenaGraficoController implements Initializable {
      * @param estilo opções de estilo
      */
     public void plotFuncao(Funcao funcao, double inicio, double fim, String titulo, Estilo estilo) {
+        if (!Platform.isFxApplicationThread()) {
+            // chamada em segundo plano (linhas de tendência do plotPontos): o
+            // tamanho dos eixos só pode ser lido na thread da interface
+            Platform.runLater(() -> plotFuncao(funcao, inicio, fim, titulo, estilo));
+            return;
+        }
+        double larguraPx = eixoX.getWidth();
+        double alturaPx = eixoY.getHeight();
         new Thread(() -> {
             XYChart.Series<Number, Number> dados = new XYChart.Series<>();
             dados.setName(titulo);
-            double dx = (fim - inicio) / 1400; // número de pontos a ser calculados e adicionados
-            double fxAnt = funcao.apply(inicio - dx);
-            boolean erro;
-            for (double i = inicio; i <= fim; i += dx) {
-                erro = false;
-                double fx;
-                try {
-                    fx = funcao.apply(i);
-                    if (Double.isInfinite(fx) || Double.isNaN(fx) || Math.abs(fx - fxAnt) > .1) {
-                        // assíntota vertical na função
-                        erro = true;
-                    }
-                    fxAnt = fx;
-                } catch (Exception e) {
-                    continue;
-                }
-                if (!erro) {
-                    dados.getData().add(new XYChart.Data<>(i, fx));
-                }
-            }
+            dados.getData().setAll(amostrar(funcao, inicio, fim, larguraPx, alturaPx));
 
             Platform.runLater(() -> {
                 // adicionando a função no gráfico
                 this.graficoLinhas.getData().add(dados);
+                // guarda a função para reamostrar quando a área visível mudar
+                funcoesPlotadas.put(dados, new FuncaoPlotada(funcao, inicio, fim, estilo));
                 // diminui o tamanho das bolinhas do gráfico
                 ChartUtils.setTamanhoMarcador(dados, 1.2);
                 // tira a linha que liga as bolinhas
@@ -145,6 +166,153 @@ public class CenaGraficoController implements Initializable {
         }).start();
     }
 
+    /**
+     * Amostrar uma função na resolução da área de plotagem. Funções sem
+     * estado ({@link FuncaoSemEstado}) são amostradas em paralelo no pool
+     * comum; as demais, na thread atual.
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @param larguraPx largura do intervalo na tela
+     * @param alturaPx altura da área de plotagem
+     * @return pontos do gráfico
+     */
+    private static List<XYChart.Data<Number, Number>> amostrar(Funcao funcao, double inicio, double fim,
+            double larguraPx, double alturaPx) {
+        AmostragemAdaptativa amostragem = new AmostragemAdaptativa.Builder()
+                .setTamanhoPx(larguraPx, alturaPx)
+                .setPool(funcao instanceof FuncaoSemEstado ? ForkJoinPool.commonPool() : null)
+                .build();
+        AmostragemAdaptativa.Amostra amostra = amostragem.amostrar(funcao, inicio, fim);
+        double[] xs = amostra.getX();
+        double[] ys = amostra.getY();
+        List<XYChart.Data<Number, Number>> pontos = new ArrayList<>(amostra.size());
+        for (int i = 0; i < amostra.size(); i++) {
+            pontos.add(new XYChart.Data<>(xs[i], ys[i]));
+        }
+        return pontos;
+    }
+
+    /**
+     * Reamostrar as funções plotadas no intervalo de X visível, em segundo
+     * plano. Uma nova chamada descarta a reamostragem anterior que ainda não
+     * terminou.
+     */
+    private void reamostrar() {
+        long g = geracao.incrementAndGet();
+        if (tarefaReamostragem != null) {
+            tarefaReamostragem.cancel(true);
+        }
+        boolean completo = eixoX.isAutoRanging();
+        double de = eixoX.getLowerBound();
+        double ate = eixoX.getUpperBound();
+        double larguraPx = eixoX.getWidth();
+        double alturaPx = eixoY.getHeight();
+        List<Map.Entry<XYChart.Series<Number, Number>, FuncaoPlotada>> series = new ArrayList<>(funcoesPlotadas.entrySet());
+        tarefaReamostragem = executorReamostragem.submit(() -> {
+            for (Map.Entry<XYChart.Series<Number, Number>, FuncaoPlotada> serie : series) {
+                if (geracao.get() != g) {
+                    return;
+                }
+                FuncaoPlotada f = serie.getValue();
+                // somente a parte visível do intervalo original da função
+                double inicio = completo ? f.inicio : Math.max(de, f.inicio);
+                double fim = completo ? f.fim : Math.min(ate, f.fim);
+                List<XYChart.Data<Number, Number>> pontos = inicio < fim
+                        ? amostrar(f.funcao, inicio, fim, completo ? larguraPx : larguraPx * (fim - inicio) / (ate - de), alturaPx)
+                        : List.of();
+                Platform.runLater(() -> {
+                    if (geracao.get() != g) {
+                        return;
+                    }
+                    serie.getKey().getData().setAll(pontos);
+                    ChartUtils.setTamanhoMarcador(serie.getKey(), 1.2);
+                    if (f.estilo != null) {
+                        ChartUtils.setEstiloLinha(serie.getKey(), f.estilo.getEstiloLinha());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Agendar a reamostragem para quando a área visível parar de mudar
+     */
+    private void agendarReamostragem() {
+        espera.playFromStart();
+    }
+
+    /**
+     * Desligar o ajuste automático dos eixos, mantendo a área visível atual
+     */
+    private void fixarEixos() {
+        if (eixoX.isAutoRanging()) {
+            eixoX.setAutoRanging(false);
+            eixoY.setAutoRanging(false);
+        }
+    }
+
+    /**
+     * Definir os limites de um eixo, com a unidade das marcas proporcional ao
+     * intervalo
+     */
+    private static void definirFaixa(NumberAxis eixo, double inferior, double superior) {
+        if (!(superior > inferior) || !Double.isFinite(superior - inferior)) {
+            return;
+        }
+        eixo.setLowerBound(inferior);
+        eixo.setUpperBound(superior);
+        eixo.setTickUnit((superior - inferior) / 10);
+    }
+
+    /**
+     * Aproximar ou afastar a área visível em torno do cursor
+     *
+     * @param event evento da roda do mouse
+     */
+    private void zoom(ScrollEvent event) {
+        if (event.getDeltaY() == 0) {
+            return;
+        }
+        event.consume();
+        fixarEixos();
+        double fator = Math.pow(0.998, event.getDeltaY());
+        double xc = eixoX.getValueForDisplay(eixoX.sceneToLocal(event.getSceneX(), event.getSceneY()).getX()).doubleValue();
+        double yc = eixoY.getValueForDisplay(eixoY.sceneToLocal(event.getSceneX(), event.getSceneY()).getY()).doubleValue();
+        definirFaixa(eixoX, xc - (xc - eixoX.getLowerBound()) * fator, xc + (eixoX.getUpperBound() - xc) * fator);
+        definirFaixa(eixoY, yc - (yc - eixoY.getLowerBound()) * fator, yc + (eixoY.getUpperBound() - yc) * fator);
+        agendarReamostragem();
+    }
+
+    /**
+     * Deslocar a área visível acompanhando o arraste do mouse
+     *
+     * @param event evento de arraste do mouse
+     */
+    private void arrastar(MouseEvent event) {
+        if (event.getButton() != MouseButton.PRIMARY || faixaArraste == null) {
+            return;
+        }
+        fixarEixos();
+        double dx = (event.getSceneX() - arrasteX) * (faixaArraste[1] - faixaArraste[0]) / eixoX.getWidth();
+        double dy = (event.getSceneY() - arrasteY) * (faixaArraste[3] - faixaArraste[2]) / eixoY.getHeight();
+        definirFaixa(eixoX, faixaArraste[0] - dx, faixaArraste[1] - dx);
+        definirFaixa(eixoY, faixaArraste[2] + dy, faixaArraste[3] + dy);
+        agendarReamostragem();
+    }
+
+    /**
+     * Voltar para o ajuste automático dos eixos, com as funções no intervalo
+     * original
+     */
+    private void restaurarVisualizacao() {
+        espera.stop();
+        eixoX.setAutoRanging(true);
+        eixoY.setAutoRanging(true);
+        reamostrar();
+    }
+
     /**
      * Plotar um conjunto de pontos
      *
@@ -192,12 +360,14 @@ public class CenaGraficoController implements Initializable {
                     if (linhaDeTendencia == null) {
                         continue;
                     }
-                    if ((linhaDeTendencia.getTipo() == MEDIA_MOVEL && y.length < 3)
-                            || (linhaDeTendencia.getTipo() == MEDIA_MOVEL && linhaDeTendencia.getNumeroDePontos() > y.length - 1)) {
+                    if ((linhaDeTendencia.getTipo().isMediaMovel() && y.length < 3)
+                            || (linhaDeTendencia.getTipo().isMediaMovel() && linhaDeTendencia.getNumeroDePontos() > y.length - 1)
+                            || (linhaDeTendencia.getTipo() == REGRESSAO_MOVEL && linhaDeTendencia.getNumeroDePontos() > y.length)
+                            || (linhaDeTendencia.getTipo() == REGRESSAO_MOVEL && linhaDeTendencia.getNumeroDePontos() < linhaDeTendencia.getGrau() + 1)) {
                         // não é possível gerar a linha de tendência
                         continue;
                     }
-                    Funcao f = linhaDeTendencia.getTipo() != MEDIA_MOVEL
+                    Funcao f = !linhaDeTendencia.getTipo().isJanelaMovel()
                             ? gerarLinhaDeTendencia(x, y, linhaDeTendencia) : null;
                     // gerando o título com base no tipo da linha de tendência
                     StringBuilder tituloLinha = new StringBuilder();
@@ -214,10 +384,17 @@ public class CenaGraficoController implements Initializable {
                                         .append(" grau ").append(linhaDeTendencia.getGrau());
                         }
                         tituloLinha.append(" (").append(titulo).append(")");
-                    } else if (linhaDeTendencia.getTitulo() == null && linhaDeTendencia.getTipo() == MEDIA_MOVEL) {
+                    } else if (linhaDeTendencia.getTitulo() == null && linhaDeTendencia.getTipo().isMediaMovel()) {
                         tituloLinha.append(linhaDeTendencia.getTipo().toString()).append(" de ")
                                 .append(linhaDeTendencia.getNumeroDePontos()).append(" pontos (")
                                 .append(titulo).append(")");
+                    } else if (linhaDeTendencia.getTitulo() == null && linhaDeTendencia.getTipo() == REGRESSAO_MOVEL) {
+                        tituloLinha.append(linhaDeTendencia.getTipo().toString());
+                        if (linhaDeTendencia.getGrau() != 1) {
+                            tituloLinha.append(" grau ").append(linhaDeTendencia.getGrau());
+                        }
+                        tituloLinha.append(" de ").append(linhaDeTendencia.getNumeroDePontos())
+                                .append(" pontos (").append(titulo).append(")");
                     } else if (linhaDeTendencia.getTitulo() == null) {
                         tituloLinha.append(linhaDeTendencia.getTipo().toString()).append(" (").append(titulo).append(")");
                     } else {
@@ -230,20 +407,27 @@ public class CenaGraficoController implements Initializable {
                             && linhaDeTendencia.getFim() > x[x.length - 1]) ? linhaDeTendencia.getFim() : x[x.length - 1];
                     // plotando a linha de tendência
                     if ((linhaDeTendencia.getTipo() == POLINOMIAL && linhaDeTendencia.getGrau() <= 1)
-                            || linhaDeTendencia.getTipo() == MEDIA_MOVEL) {
+                            || linhaDeTendencia.getTipo().isJanelaMovel()) {
                         Double[] xn;
                         Double[] yn;
-                        if (linhaDeTendencia.getTipo() == MEDIA_MOVEL) {
+                        if (linhaDeTendencia.getTipo() == REGRESSAO_MOVEL) {
                             int nPontos = linhaDeTendencia.getNumeroDePontos();
                             xn = copyOfRange(x, nPontos - 1, x.length);
-                            yn = new Double[y.length + 1 - nPontos];
-                            for (int i = 0; i < yn.length; i++) {
-                                yn[i] = 0.0;
-                                for (int n = 0; n < nPontos; n++) {
-                                    yn[i] += y[n + i];
-                                }
-                                yn[i] /= nPontos;
+                            RegressaoMovel regressaoMovel = gerarRegressaoMovel(x, y, linhaDeTendencia);
+                            yn = boxed(regressaoMovel.getAjustados());
+                            if (linhaDeTendencia.exibirInclinacao()) {
+                                Estilo estiloInclinacao = new Estilo.Builder()
+                                        .setExibirLinha(true)
+                                        .setExibirMarcador(false)
+                                        .setEstiloLinha(linhaDeTendencia.getEstilo().getEstiloLinha())
+                                        .build();
+                                plotPontos(xn, boxed(regressaoMovel.getInclinacoes()),
+                                        "Inclinação da " + tituloLinha.toString(), estiloInclinacao);
                             }
+                        } else if (linhaDeTendencia.getTipo().isMediaMovel()) {
+                            int nPontos = linhaDeTendencia.getNumeroDePontos();
+                            xn = copyOfRange(x, nPontos - 1, x.length);
+                            yn = boxed(gerarMediaMovel(y, linhaDeTendencia));
                         } else {
                             xn = new Double[]{inicio, fim};
                             yn = new Double[]{f.apply(inicio), f.apply(fim)};
@@ -264,6 +448,62 @@ public class CenaGraficoController implements Initializable {
         }).start();
     }
 
+    /**
+     * Gerar a regressão móvel associada ao gráfico de pontos
+     *
+     * @param x array com os valores de X do gráfico de pontos de origem
+     * @param y array com os valores de Y do gráfico de pontos de origem
+     * @param linhaDeTendencia linha de tendência
+     * @return regressão móvel resolvida
+     */
+    private RegressaoMovel gerarRegressaoMovel(Double[] x, Double[] y, LinhaDeTendencia linhaDeTendencia) {
+        double[] xn = new double[x.length];
+        double[] yn = new double[y.length];
+        for (int i = 0; i < x.length; i++) {
+            xn[i] = x[i];
+            yn[i] = y[i];
+        }
+        try {
+            RegressaoMovel regressaoMovel = new RegressaoMovel(linhaDeTendencia.getGrau() + 1,
+                    linhaDeTendencia.getNumeroDePontos(), xn, yn);
+            regressaoMovel.resolver();
+            return regressaoMovel;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao gerar a linha de tendência.", e);
+        }
+    }
+
+    /**
+     * Gerar a média móvel associada ao gráfico de pontos
+     *
+     * @param y array com os valores de Y do gráfico de pontos de origem
+     * @param linhaDeTendencia linha de tendência
+     * @return médias das janelas, a partir do ponto numeroDePontos - 1
+     */
+    private double[] gerarMediaMovel(Double[] y, LinhaDeTendencia linhaDeTendencia) {
+        double[] yn = new double[y.length];
+        for (int i = 0; i < y.length; i++) {
+            yn[i] = y[i];
+        }
+        int nPontos = linhaDeTendencia.getNumeroDePontos();
+        return switch (linhaDeTendencia.getTipo()) {
+            case MEDIA_MOVEL_EXPONENCIAL ->
+                MediaMovel.exponencial(yn, nPontos);
+            case MEDIA_MOVEL_PONDERADA ->
+                MediaMovel.ponderada(yn, nPontos);
+            default ->
+                MediaMovel.simples(yn, nPontos);
+        };
+    }
+
+    private static Double[] boxed(double[] array) {
+        Double[] r = new Double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            r[i] = array[i];
+        }
+        return r;
+    }
+
     /**
      * Gerar a linha de tendência associada ao gráfico de pontos
      *
@@ -272,31 +512,22 @@ public class CenaGraficoController implements Initializable {
      * @param linhaDeTendencia linha de tendência
      * @return linha de tendência
      */
-    private Funcao gerarLinhaDeTendencia(Double[] x, Double[] y, LinhaDeTendencia linhaDeTendencia) {
-        // criando novos arrays de X e Y, pois o algoritmo da
-        // Regressão Linear Múltipla requer que os índices comecem em 1
-        Double[][] xn = new Double[x.length + 1][linhaDeTendencia.getGrau() + 3];
-        Double[] yn = new Double[y.length + 1];
+    private FuncaoDiferenciavel gerarLinhaDeTendencia(Double[] x, Double[] y, LinhaDeTendencia linhaDeTendencia) {
+        // arrays primitivos para a regressão
+        double[] xn = new double[x.length];
+        double[] yn = new double[y.length];
         for (int i = 0; i < x.length; i++) {
-            if (linhaDeTendencia.getTipo() == LOGARITMICA || linhaDeTendencia.getTipo() == POTENCIA) {
-                xn[i + 1][1] = log(x[i]);
-            } else {
-                xn[i + 1][1] = x[i];
-            }
-            if (linhaDeTendencia.getTipo() == EXPONENCIAL || linhaDeTendencia.getTipo() == POTENCIA) {
-                yn[i + 1] = log(y[i]);
-            } else {
-                yn[i + 1] = y[i];
-            }
+            xn[i] = x[i];
+            yn[i] = y[i];
         }
 
-        // método da Regressão Linear Múltipla retorna um array com os
+        // método da Regressão Polinomial retorna um array com os
         // parâmetros da equação de linha de tendência
-        RegressaoLinearMultipla rlm;
-        Double[] b;
+        RegressaoPolinomial regressao;
+        double[] b;
         try {
-            rlm = new RegressaoLinearMultipla(x.length, 1, linhaDeTendencia.getGrau() + 1, xn, yn, linhaDeTendencia.getB0());
-            b = rlm.solve();
+            regressao = linhaDeTendencia.getRegressao(xn, yn);
+            b = regressao.resolver();
         } catch (Exception e) {
             throw new RuntimeException("Erro ao gerar a linha de tendência.", e);
         }
@@ -324,38 +555,38 @@ public class CenaGraficoController implements Initializable {
                 StringBuilder sb = new StringBuilder("y = ");
                 switch (linhaDeTendencia.getTipo()) {
                     case EXPONENCIAL -> {
-                        String a1 = df.format(exp(b[1]));
-                        String a2 = df.format(b[2]);
+                        String a1 = df.format(exp(b[0]));
+                        String a2 = df.format(b[1]);
                         sb.append(a1.equals("1") ? (a2.equals("0") ? "1" : "") : a1);
                         if (!a2.equals("0")) {
                             sb.append("e").append(a2.equals("1") ? "" : sup(a2)).append(sup("x"));
                         }
                     }
                     case LOGARITMICA -> {
-                        String a1 = df.format(b[2]);
+                        String a1 = df.format(b[1]);
                         if (!a1.equals("0")) {
                             sb.append(a1.equals("1") ? "" : a1).append("ln(x)");
                         }
                         if (a1.equals("0")) {
-                            sb.append(df.format(b[1]));
+                            sb.append(df.format(b[0]));
                         } else {
-                            if (b[1] > 0) {
-                                sb.append(" + ").append(df.format(b[1]));
-                            } else if (b[1] < 0) {
-                                sb.append(" - ").append(df.format(Math.abs(b[1])));
+                            if (b[0] > 0) {
+                                sb.append(" + ").append(df.format(b[0]));
+                            } else if (b[0] < 0) {
+                                sb.append(" - ").append(df.format(Math.abs(b[0])));
                             }
                         }
                     }
                     case POTENCIA -> {
-                        String a1 = df.format(exp(b[1]));
-                        String a2 = df.format(b[2]);
+                        String a1 = df.format(exp(b[0]));
+                        String a2 = df.format(b[1]);
                         sb.append(a1.equals("1") ? (a2.equals("0") ? "1" : "") : a1);
                         if (!a2.equals("0")) {
                             sb.append("x").append(a2.equals("1") ? "" : sup(a2));
                         }
                     }
                     default -> {
-                        for (int i = b.length - 1; i >= 1; i--) {
+                        for (int i = b.length - 1; i >= 0; i--) {
                             if (i != b.length - 1 && b[i] > 0) {
                                 sb.append(" + ");
                             } else if (i != b.length - 1 && b[i] < 0) {
@@ -363,44 +594,27 @@ public class CenaGraficoController implements Initializable {
                             } else if (b[i] == 0) {
                                 continue;
                             }
-                            if (!df.format(b[i]).equals("1") || i == 1) {
+                            if (!df.format(b[i]).equals("1") || i == 0) {
                                 sb.append(df.format(i != b.length - 1 ? Math.abs(b[i]) : b[i]));
                             }
-                            sb.append(i - 1 > 0 ? "x" : "");
-                            sb.append(i - 1 >= 2 ? sup(i - 1) : "");
+                            sb.append(i > 0 ? "x" : "");
+                            sb.append(i >= 2 ? sup(i) : "");
                         }
                     }
                 }
                 info.append(info.isEmpty() ? "" : "\n").append(sb.toString());
             }
             if (exibirR2) {
-                info.append(info.isEmpty() ? "" : "\n").append("r² = ").append(df.format(rlm.getR2()));
+                info.append(info.isEmpty() ? "" : "\n").append("r² = ").append(df.format(regressao.getR2()));
             }
             if (exibirSigma2) {
-                info.append(info.isEmpty() ? "" : "\n").append("σ² = ").append(df.format(rlm.getSigma2()));
+                info.append(info.isEmpty() ? "" : "\n").append("σ² = ").append(df.format(regressao.getSigma2()));
             }
             Platform.runLater(() -> l.setText(info.toString()));
         }
 
-        // gerando a função da linha de tendência
-        Funcao f = xf -> {
-            double resultado = 0;
-            switch (linhaDeTendencia.getTipo()) {
-                case EXPONENCIAL ->
-                    resultado += exp(b[1]) * exp(xf * b[2]);
-                case LOGARITMICA ->
-                    resultado += b[2] * log(xf) + b[1];
-                case POTENCIA ->
-                    resultado += exp(b[1]) * pow(xf, b[2]);
-                default -> {
-                    for (int i = 1; i < b.length; i++) {
-                        resultado += pow(xf, i - 1) * b[i];
-                    }
-                }
-            }
-            return resultado;
-        };
-        return f;
+        // gerando a função da linha de tendência (escolhida uma única vez)
+        return linhaDeTendencia.getFuncao(b);
     }
 
     /**
@@ -425,6 +639,22 @@ public class CenaGraficoController implements Initializable {
         cm.getItems().add(mi);
         this.graficoLinhas.setOnContextMenuRequested(event -> cm.show(graficoLinhas, event.getScreenX(), event.getScreenY()));
 
+        // zoom com a roda do mouse, arraste para mover e duplo clique para restaurar
+        espera.setOnFinished(event -> reamostrar());
+        this.graficoLinhas.setOnScroll(this::zoom);
+        this.graficoLinhas.setOnMousePressed(event -> {
+            arrasteX = event.getSceneX();
+            arrasteY = event.getSceneY();
+            faixaArraste = new double[]{eixoX.getLowerBound(), eixoX.getUpperBound(),
+                eixoY.getLowerBound(), eixoY.getUpperBound()};
+        });
+        this.graficoLinhas.setOnMouseDragged(this::arrastar);
+        this.graficoLinhas.setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2) {
+                restaurarVisualizacao();
+            }
+        });
+
         // exibir valores nos eixos do gráfico em notação científica
         StringConverter<Number> sf = new StringConverter<Number>() {
             private DecimalFormat format;
@@ -453,4 +683,21 @@ public class CenaGraficoController implements Initializable {
         this.eixoY.setTickLabelFormatter(sf);
     }
 
+    /**
+     * Função plotada, com o intervalo e o estilo originais
+     */
+    private static final class FuncaoPlotada {
+
+        private final Funcao funcao;
+        private final double inicio;
+        private final double fim;
+        private final Estilo estilo;
+
+        FuncaoPlotada(Funcao funcao, double inicio, double fim, Estilo estilo) {
+            this.funcao = funcao;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.estilo = estilo;
+        }
+    }
 }
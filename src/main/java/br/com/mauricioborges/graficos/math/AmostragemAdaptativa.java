@@ -0,0 +1,578 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Amostragem adaptativa de funções para plotagem.
+ * <p>
+ * Parte de uma grade uniforme (com abscissas calculadas a partir de um índice
+ * inteiro) e subdivide recursivamente os trechos em que a curva muda rápido ou
+ * se curva, até que, na escala da tela, a distância entre pontos vizinhos
+ * fique abaixo de {@code passoMaximoPx} e o ponto médio se afaste da corda
+ * menos que {@code toleranciaPx}. Regiões suaves ficam com poucos pontos e
+ * picos estreitos continuam resolvidos. O número total de avaliações nunca
+ * passa de {@code maximoDePontos}.
+ * <p>
+ * As avaliações de cada rodada de subdivisão são feitas em lote com
+ * {@link Funcao#applyBatch(double[], double[], int, int)}. Pontos em que a
+ * função lança exceção ou não é finita são descartados, assim como pontos
+ * após saltos maiores que {@code limiarRupturaPx} (assíntotas verticais).
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class AmostragemAdaptativa {
+
+    // número de segmentos amostrados de forma independente
+    private static final int SEGMENTOS = 16;
+
+    // parâmetros da amostragem
+    private double larguraPx = 800;
+    private double alturaPx = 500;
+    private double passoMaximoPx = 3;
+    private double toleranciaPx = 0.5;
+    private double limiarRupturaPx = 125;
+    private double larguraMinimaPx = 1e-3;
+    private int pontosBase = 128;
+    private int maximoDePontos = 6000;
+    private ForkJoinPool pool = null;
+
+    private AmostragemAdaptativa() {
+    }
+
+    /**
+     * Obter a largura da área de plotagem em pixels (padrão é 800)
+     *
+     * @return largura
+     */
+    public double getLarguraPx() {
+        return larguraPx;
+    }
+
+    /**
+     * Obter a altura da área de plotagem em pixels (padrão é 500)
+     *
+     * @return altura
+     */
+    public double getAlturaPx() {
+        return alturaPx;
+    }
+
+    /**
+     * Obter o número máximo de avaliações da função (padrão é 6000)
+     *
+     * @return número máximo de pontos
+     */
+    public int getMaximoDePontos() {
+        return maximoDePontos;
+    }
+
+    /**
+     * Obter o pool usado para amostrar os segmentos em paralelo
+     *
+     * @return pool (null se a amostragem é feita na thread atual)
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Amostrar a função no intervalo [inicio, fim]
+     * <p>
+     * O intervalo é dividido em segmentos fixos da grade inicial, avaliados e
+     * refinados em ordem na thread atual ou, se houver um pool, em paralelo
+     * nele (e então a função deve ser thread-safe). A escala de Y é calculada
+     * antes, com a grade completa, e o filtro de assíntotas percorre os
+     * segmentos já unidos em ordem; assim o resultado não depende do pool nem
+     * do número de threads.
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @return pontos amostrados, em ordem crescente de x
+     */
+    public Amostra amostrar(Funcao funcao, double inicio, double fim) {
+        requireNonNull(funcao, "A função não pode ser nula.");
+        int nSegmentos = Math.min(SEGMENTOS, pontosBase);
+        // limites dos segmentos, em trechos da grade
+        int[] limites = new int[nSegmentos + 1];
+        for (int s = 0; s <= nSegmentos; s++) {
+            limites[s] = (int) ((long) pontosBase * s / nSegmentos);
+        }
+        // grade uniforme inicial, com os pontos médios de cada trecho
+        int n = 2 * pontosBase + 1;
+        double[] xs = new double[n];
+        double h = (fim - inicio) / (n - 1);
+        for (int i = 0; i < n - 1; i++) {
+            xs[i] = inicio + i * h;
+        }
+        xs[n - 1] = fim;
+        double[] ys = new double[n];
+        executar(nSegmentos, s -> {
+            int de = 2 * limites[s];
+            int ate = s == nSegmentos - 1 ? n : 2 * limites[s + 1];
+            avaliar(funcao, xs, ys, de, ate);
+            return null;
+        });
+        double[] faixa = faixaY(ys, n);
+        // refinamento de cada segmento, com uma parte do limite de pontos
+        int extra = maximoDePontos - n;
+        Object[] partes = executar(nSegmentos, s -> {
+            int de = 2 * limites[s];
+            int ate = 2 * limites[s + 1];
+            Pontos grade = new Pontos(2 * (ate - de + 1));
+            for (int i = de; i <= ate; i++) {
+                grade.adicionar(xs[i], ys[i]);
+            }
+            int orcamento = (ate - de + 1) + (int) ((long) extra * (limites[s + 1] - limites[s]) / pontosBase);
+            // o primeiro ponto do segmento é o último do segmento anterior
+            return ordenar(refinar(funcao, inicio, fim, grade, faixa, orcamento), s > 0);
+        });
+        return filtrar(partes, faixa);
+    }
+
+    /**
+     * Executar as tarefas 0..n-1 no pool (ou na thread atual, se não houver
+     * pool) e retornar os resultados em ordem
+     */
+    private Object[] executar(int n, IntFunction<Object> tarefa) {
+        Object[] resultados = new Object[n];
+        if (pool == null || n == 1) {
+            for (int s = 0; s < n; s++) {
+                resultados[s] = tarefa.apply(s);
+            }
+            return resultados;
+        }
+        List<Callable<Object>> tarefas = new ArrayList<>(n);
+        for (int s = 0; s < n; s++) {
+            int segmento = s;
+            tarefas.add(() -> tarefa.apply(segmento));
+        }
+        List<Future<Object>> futuros = pool.invokeAll(tarefas);
+        for (int s = 0; s < n; s++) {
+            try {
+                resultados[s] = futuros.get(s).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Amostragem interrompida.");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Faixa visível de Y estimada pelos percentis 5% e 95% dos valores
+     * finitos, para que assíntotas não dominem a escala
+     *
+     * @param ys valores
+     * @param n número de valores
+     * @return {inferior, superior}, com superior &gt; inferior
+     */
+    double[] faixaY(double[] ys, int n) {
+        double[] finitos = new double[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isFinite(ys[i])) {
+                finitos[m++] = ys[i];
+            }
+        }
+        if (m == 0) {
+            return new double[]{-1, 1};
+        }
+        Arrays.sort(finitos, 0, m);
+        double inferior = finitos[(int) (0.05 * (m - 1))];
+        double superior = finitos[(int) (0.95 * (m - 1))];
+        if (!(superior - inferior > 0)) {
+            double meia = 0.5 * Math.max(Math.abs(finitos[m / 2]), 1);
+            inferior -= meia;
+            superior += meia;
+        }
+        return new double[]{inferior, superior};
+    }
+
+    /**
+     * Subdividir os trechos da grade até atingir a tolerância ou o limite de
+     * avaliações
+     *
+     * @param funcao função
+     * @param inicio início do intervalo (define a escala de X)
+     * @param fim fim do intervalo (define a escala de X)
+     * @param grade pontos da grade, em ordem, com pontos médios nas posições
+     * ímpares
+     * @param faixa faixa visível de Y
+     * @param orcamento número máximo de pontos
+     * @return todos os pontos avaliados (fora de ordem)
+     */
+    Pontos refinar(Funcao funcao, double inicio, double fim, Pontos grade, double[] faixa, int orcamento) {
+        double escalaX = larguraPx / Math.abs(fim - inicio);
+        Pontos pontos = grade;
+        // trechos ativos: índices (esquerda, meio, direita) em pontos
+        int nTrechos = (grade.tamanho - 1) / 2;
+        int[] trechos = new int[3 * nTrechos];
+        for (int t = 0; t < nTrechos; t++) {
+            trechos[3 * t] = 2 * t;
+            trechos[3 * t + 1] = 2 * t + 1;
+            trechos[3 * t + 2] = 2 * t + 2;
+        }
+        while (nTrechos > 0 && pontos.tamanho + 2 <= orcamento) {
+            // prioridade de cada trecho (> 1 significa que precisa ser subdividido)
+            double[] prioridade = new double[nTrechos];
+            Integer[] ordem = new Integer[nTrechos];
+            int nCandidatos = 0;
+            for (int t = 0; t < nTrechos; t++) {
+                double p = prioridade(pontos, trechos[3 * t], trechos[3 * t + 1], trechos[3 * t + 2], escalaX, faixa);
+                if (p > 1) {
+                    prioridade[t] = p;
+                    ordem[nCandidatos++] = t;
+                }
+            }
+            if (nCandidatos == 0) {
+                break;
+            }
+            int nDivisoes = Math.min(nCandidatos, (orcamento - pontos.tamanho) / 2);
+            if (nDivisoes < nCandidatos) {
+                Arrays.sort(ordem, 0, nCandidatos, (a, b) -> Double.compare(prioridade[b], prioridade[a]));
+            }
+            // cada trecho dividido gera dois novos trechos, com dois novos pontos médios
+            double[] xs = new double[2 * nDivisoes];
+            for (int k = 0; k < nDivisoes; k++) {
+                int t = ordem[k];
+                double xa = pontos.x[trechos[3 * t]];
+                double xm = pontos.x[trechos[3 * t + 1]];
+                double xb = pontos.x[trechos[3 * t + 2]];
+                xs[2 * k] = 0.5 * (xa + xm);
+                xs[2 * k + 1] = 0.5 * (xm + xb);
+            }
+            double[] ys = new double[xs.length];
+            avaliar(funcao, xs, ys, 0, xs.length);
+            int[] novos = new int[6 * nDivisoes];
+            for (int k = 0; k < nDivisoes; k++) {
+                int t = ordem[k];
+                int a = trechos[3 * t];
+                int m = trechos[3 * t + 1];
+                int b = trechos[3 * t + 2];
+                int m1 = pontos.adicionar(xs[2 * k], ys[2 * k]);
+                int m2 = pontos.adicionar(xs[2 * k + 1], ys[2 * k + 1]);
+                novos[6 * k] = a;
+                novos[6 * k + 1] = m1;
+                novos[6 * k + 2] = m;
+                novos[6 * k + 3] = m;
+                novos[6 * k + 4] = m2;
+                novos[6 * k + 5] = b;
+            }
+            trechos = novos;
+            nTrechos = 2 * nDivisoes;
+        }
+        return pontos;
+    }
+
+    /**
+     * Prioridade de subdivisão de um trecho (a, m, b) na escala da tela. Os
+     * valores de Y são limitados a uma margem em torno da faixa visível, para
+     * não gastar pontos com detalhes de regiões fora da tela.
+     */
+    private double prioridade(Pontos pontos, int a, int m, int b, double escalaX, double[] faixa) {
+        double larguraTrechoPx = (pontos.x[b] - pontos.x[a]) * escalaX;
+        if (larguraTrechoPx < larguraMinimaPx) {
+            return 0;
+        }
+        double ya = pontos.y[a];
+        double ym = pontos.y[m];
+        double yb = pontos.y[b];
+        boolean fa = Double.isFinite(ya);
+        boolean fm = Double.isFinite(ym);
+        boolean fb = Double.isFinite(yb);
+        if (!fa || !fm || !fb) {
+            // fronteira do domínio ou singularidade: localiza até 1 pixel
+            return (fa || fm || fb) && larguraTrechoPx > 1 ? 2 : 0;
+        }
+        double margem = faixa[1] - faixa[0];
+        double escalaY = alturaPx / margem;
+        ya = Math.min(Math.max(ya, faixa[0] - margem), faixa[1] + margem);
+        ym = Math.min(Math.max(ym, faixa[0] - margem), faixa[1] + margem);
+        yb = Math.min(Math.max(yb, faixa[0] - margem), faixa[1] + margem);
+        double dxPx = 0.5 * larguraTrechoPx;
+        double corda1 = Math.hypot(dxPx, (ym - ya) * escalaY);
+        double corda2 = Math.hypot(dxPx, (yb - ym) * escalaY);
+        double desvio = Math.abs(ym - 0.5 * (ya + yb)) * escalaY;
+        return Math.max(Math.max(corda1, corda2) / passoMaximoPx, desvio / toleranciaPx);
+    }
+
+    /**
+     * Ordenar os pontos de um segmento em ordem crescente de x
+     *
+     * @param pontos pontos avaliados (fora de ordem)
+     * @param semPrimeiro descartar o primeiro ponto da grade do segmento
+     * @return pontos em ordem
+     */
+    Pontos ordenar(Pontos pontos, boolean semPrimeiro) {
+        int de = semPrimeiro ? 1 : 0;
+        int n = pontos.tamanho - de;
+        Integer[] ordem = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ordem[i] = de + i;
+        }
+        Arrays.sort(ordem, (a, b) -> Double.compare(pontos.x[a], pontos.x[b]));
+        Pontos ordenados = new Pontos(n);
+        for (int i = 0; i < n; i++) {
+            ordenados.adicionar(pontos.x[ordem[i]], pontos.y[ordem[i]]);
+        }
+        return ordenados;
+    }
+
+    /**
+     * Unir os segmentos em ordem, descartando valores não finitos e saltos de
+     * assíntotas. O valor anterior é levado de um segmento para o próximo.
+     *
+     * @param partes pontos de cada segmento ({@link Pontos}), já em ordem
+     * @param faixa faixa visível de Y
+     * @return pontos válidos, em ordem
+     */
+    Amostra filtrar(Object[] partes, double[] faixa) {
+        double escalaY = alturaPx / (faixa[1] - faixa[0]);
+        int n = 0;
+        for (Object parte : partes) {
+            n += ((Pontos) parte).tamanho;
+        }
+        double[] x = new double[n];
+        double[] y = new double[n];
+        int m = 0;
+        double yAnt = Double.NaN;
+        for (Object parte : partes) {
+            Pontos pontos = (Pontos) parte;
+            for (int k = 0; k < pontos.tamanho; k++) {
+                double yi = pontos.y[k];
+                if (!Double.isFinite(yi)) {
+                    continue;
+                }
+                // assíntota vertical na função
+                boolean erro = Double.isFinite(yAnt) && Math.abs(yi - yAnt) * escalaY > limiarRupturaPx;
+                yAnt = yi;
+                if (!erro) {
+                    x[m] = pontos.x[k];
+                    y[m] = yi;
+                    m++;
+                }
+            }
+        }
+        return new Amostra(Arrays.copyOf(x, m), Arrays.copyOf(y, m));
+    }
+
+    /**
+     * Avaliar a função em lote; se o lote falhar, avalia ponto a ponto e usa
+     * NaN nos pontos que lançarem exceção
+     */
+    static void avaliar(Funcao funcao, double[] xs, double[] ys, int de, int ate) {
+        try {
+            funcao.applyBatch(xs, ys, de, ate);
+        } catch (RuntimeException e) {
+            for (int i = de; i < ate; i++) {
+                try {
+                    ys[i] = funcao.apply(xs[i]);
+                } catch (RuntimeException ex) {
+                    ys[i] = Double.NaN;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pontos avaliados, em arrays primitivos que crescem conforme necessário
+     */
+    static final class Pontos {
+
+        double[] x;
+        double[] y;
+        int tamanho = 0;
+
+        Pontos(int capacidade) {
+            x = new double[Math.max(capacidade, 16)];
+            y = new double[x.length];
+        }
+
+        int adicionar(double xi, double yi) {
+            if (tamanho == x.length) {
+                x = Arrays.copyOf(x, 2 * tamanho);
+                y = Arrays.copyOf(y, 2 * tamanho);
+            }
+            x[tamanho] = xi;
+            y[tamanho] = yi;
+            return tamanho++;
+        }
+    }
+
+    /**
+     * Resultado da amostragem: pontos válidos em ordem crescente de x
+     */
+    public static final class Amostra {
+
+        private final double[] x;
+        private final double[] y;
+
+        Amostra(double[] x, double[] y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        /**
+         * Obter os valores de X (não é uma cópia)
+         *
+         * @return valores de X
+         */
+        public double[] getX() {
+            return x;
+        }
+
+        /**
+         * Obter os valores de Y (não é uma cópia)
+         *
+         * @return valores de Y
+         */
+        public double[] getY() {
+            return y;
+        }
+
+        /**
+         * Obter o número de pontos
+         *
+         * @return número de pontos
+         */
+        public int size() {
+            return x.length;
+        }
+    }
+
+    /**
+     * Builder para construir uma amostragem com os parâmetros desejados
+     */
+    public static class Builder {
+
+        private final AmostragemAdaptativa amostragem = new AmostragemAdaptativa();
+
+        /**
+         * Definir o tamanho da área de plotagem em pixels (padrão é 800 x 500)
+         *
+         * @param larguraPx largura
+         * @param alturaPx altura
+         * @return a própria instância do Builder
+         */
+        public Builder setTamanhoPx(double larguraPx, double alturaPx) {
+            if (larguraPx > 0) {
+                amostragem.larguraPx = larguraPx;
+            }
+            if (alturaPx > 0) {
+                amostragem.alturaPx = alturaPx;
+            }
+            return this;
+        }
+
+        /**
+         * Definir a distância máxima, em pixels, entre pontos vizinhos (padrão
+         * é 3)
+         *
+         * @param passoMaximoPx distância máxima
+         * @return a própria instância do Builder
+         */
+        public Builder setPassoMaximoPx(double passoMaximoPx) {
+            if (!(passoMaximoPx > 0)) {
+                throw new IllegalArgumentException("O passo máximo deve ser positivo.");
+            }
+            amostragem.passoMaximoPx = passoMaximoPx;
+            return this;
+        }
+
+        /**
+         * Definir o desvio máximo, em pixels, entre o ponto médio de um trecho
+         * e a sua corda (padrão é 0.5)
+         *
+         * @param toleranciaPx tolerância
+         * @return a própria instância do Builder
+         */
+        public Builder setToleranciaPx(double toleranciaPx) {
+            if (!(toleranciaPx > 0)) {
+                throw new IllegalArgumentException("A tolerância deve ser positiva.");
+            }
+            amostragem.toleranciaPx = toleranciaPx;
+            return this;
+        }
+
+        /**
+         * Definir o salto, em pixels, a partir do qual dois pontos vizinhos
+         * são considerados uma assíntota (padrão é 125)
+         *
+         * @param limiarRupturaPx limiar
+         * @return a própria instância do Builder
+         */
+        public Builder setLimiarRupturaPx(double limiarRupturaPx) {
+            amostragem.limiarRupturaPx = limiarRupturaPx;
+            return this;
+        }
+
+        /**
+         * Definir o número de trechos da grade uniforme inicial (padrão é 128)
+         *
+         * @param pontosBase número de trechos
+         * @return a própria instância do Builder
+         */
+        public Builder setPontosBase(int pontosBase) {
+            if (pontosBase < 1) {
+                throw new IllegalArgumentException("A grade inicial deve ter pelo menos um trecho.");
+            }
+            amostragem.pontosBase = pontosBase;
+            return this;
+        }
+
+        /**
+         * Definir o número máximo de avaliações da função (padrão é 6000)
+         *
+         * @param maximoDePontos número máximo de pontos
+         * @return a própria instância do Builder
+         */
+        public Builder setMaximoDePontos(int maximoDePontos) {
+            amostragem.maximoDePontos = maximoDePontos;
+            return this;
+        }
+
+        /**
+         * Definir o pool usado para amostrar os segmentos em paralelo. O
+         * padrão é null (amostragem na thread atual). Com um pool, a função
+         * é avaliada em várias threads ao mesmo tempo e deve ser thread-safe,
+         * como as que implementam {@link FuncaoSemEstado}; lambdas que
+         * alteram campos ou coleções compartilhadas não são.
+         *
+         * @param pool pool (null para amostrar sempre na thread atual)
+         * @return a própria instância do Builder
+         */
+        public Builder setPool(ForkJoinPool pool) {
+            amostragem.pool = pool;
+            return this;
+        }
+
+        /**
+         * Constrói o objeto
+         *
+         * @return amostragem com os parâmetros desejados
+         */
+        public AmostragemAdaptativa build() {
+            if (amostragem.maximoDePontos < 2 * amostragem.pontosBase + 1) {
+                throw new IllegalArgumentException("O número máximo de pontos deve comportar a grade inicial ("
+                        + (2 * amostragem.pontosBase + 1) + " pontos).");
+            }
+            return amostragem;
+        }
+    }
+}
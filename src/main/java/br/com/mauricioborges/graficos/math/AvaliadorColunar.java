@@ -0,0 +1,331 @@
+package br.com.mauricioborges.graficos.math;
+
+import br.com.mauricioborges.graficos.math.NoDeExpressao.Op;
+import java.util.Arrays;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import org.nfunk.jep.Node;
+
+/**
+ * Avaliador colunar de expressões do DJep.
+ * <p>
+ * Em vez de percorrer a árvore uma vez por ponto, {@link #applyBatch} percorre
+ * a árvore uma vez por bloco de pontos: cada nó calcula uma coluna
+ * ({@code double[]}) a partir das colunas dos filhos, em laços simples sobre
+ * arrays. Os blocos têm tamanho fixo para que as colunas intermediárias
+ * fiquem no cache, e cada nível da árvore reaproveita o mesmo buffer.
+ * <p>
+ * Não gera bytecode, então funciona também para expressões que o
+ * {@link CompiladorDeExpressoes} não consegue compilar. Funções sem
+ * correspondente em {@link Math} são avaliadas pelo comando do JEP, ponto a
+ * ponto.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class AvaliadorColunar implements FuncaoSemEstado {
+
+    // número de pontos avaliados por vez em cada coluna
+    private static final int BLOCO = 1024;
+
+    private final NoDeExpressao raiz;
+    private final int profundidade;
+
+    /**
+     * AVALIADOR COLUNAR na variável x
+     *
+     * @param expressao árvore da expressão
+     */
+    public AvaliadorColunar(Node expressao) {
+        this(expressao, "x");
+    }
+
+    /**
+     * AVALIADOR COLUNAR
+     *
+     * @param expressao árvore da expressão
+     * @param variavel nome da variável
+     */
+    public AvaliadorColunar(Node expressao, String variavel) {
+        this(NoDeExpressao.converter(requireNonNull(expressao, "A expressão não pode ser nula."),
+                requireNonNull(variavel, "A variável não pode ser nula.")));
+    }
+
+    AvaliadorColunar(NoDeExpressao raiz) {
+        this.raiz = raiz;
+        this.profundidade = profundidade(raiz);
+    }
+
+    private static int profundidade(NoDeExpressao no) {
+        int p = 0;
+        for (NoDeExpressao filho : no.filhos) {
+            p = Math.max(p, profundidade(filho));
+        }
+        return p + 1;
+    }
+
+    @Override
+    public double apply(double x) {
+        return raiz.avaliar(x);
+    }
+
+    @Override
+    public void applyBatch(double[] in, double[] out, int from, int to) {
+        Objects.checkFromToIndex(from, to, in.length);
+        Objects.checkFromToIndex(from, to, out.length);
+        int bloco = Math.min(BLOCO, to - from);
+        if (bloco == 0) {
+            return;
+        }
+        // buffer 0 recebe o resultado; o nível k da árvore usa o buffer k
+        double[][] buffers = new double[profundidade + 1][bloco];
+        for (int de = from; de < to; de += bloco) {
+            int m = Math.min(bloco, to - de);
+            coluna(raiz, in, de, m, buffers[0], buffers, 1);
+            System.arraycopy(buffers[0], 0, out, de, m);
+        }
+    }
+
+    /**
+     * Calcular a coluna de um nó em destino[0, m)
+     *
+     * @param no nó
+     * @param x array de parâmetros
+     * @param de início do bloco em x
+     * @param m tamanho do bloco
+     * @param destino coluna de saída
+     * @param buffers buffers dos níveis
+     * @param nivel primeiro buffer livre para os filhos
+     */
+    private static void coluna(NoDeExpressao no, double[] x, int de, int m, double[] destino,
+            double[][] buffers, int nivel) {
+        switch (no.op) {
+            case CONSTANTE ->
+                Arrays.fill(destino, 0, m, no.valor);
+            case VARIAVEL ->
+                System.arraycopy(x, de, destino, 0, m);
+            case EXTERNA ->
+                externa(no, x, de, m, destino);
+            default -> {
+                if (no.op.aridade == 1) {
+                    coluna(no.filhos[0], x, de, m, destino, buffers, nivel);
+                    unaria(no.op, destino, m);
+                    return;
+                }
+                NoDeExpressao a = no.filhos[0];
+                NoDeExpressao b = no.filhos[1];
+                if (b.op == Op.CONSTANTE) {
+                    coluna(a, x, de, m, destino, buffers, nivel);
+                    binariaEscalar(no.op, destino, b.valor, m);
+                } else if (a.op == Op.CONSTANTE) {
+                    coluna(b, x, de, m, destino, buffers, nivel);
+                    escalarBinaria(no.op, a.valor, destino, m);
+                } else {
+                    // o filho da esquerda usa o destino e o da direita o buffer do nível
+                    double[] direita = buffers[nivel];
+                    coluna(a, x, de, m, destino, buffers, nivel + 1);
+                    coluna(b, x, de, m, direita, buffers, nivel + 1);
+                    binaria(no.op, destino, direita, m);
+                }
+            }
+        }
+    }
+
+    /**
+     * a[i] = a[i] op b[i]
+     */
+    private static void binaria(Op op, double[] a, double[] b, int m) {
+        switch (op) {
+            case SOMA -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] += b[i];
+                }
+            }
+            case SUBTRACAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] -= b[i];
+                }
+            }
+            case MULTIPLICACAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] *= b[i];
+                }
+            }
+            case DIVISAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] /= b[i];
+                }
+            }
+            case POTENCIA -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.pow(a[i], b[i]);
+                }
+            }
+            default -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = op.aplicar(a[i], b[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * a[i] = a[i] op c
+     */
+    private static void binariaEscalar(Op op, double[] a, double c, int m) {
+        switch (op) {
+            case SOMA -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] += c;
+                }
+            }
+            case SUBTRACAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] -= c;
+                }
+            }
+            case MULTIPLICACAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] *= c;
+                }
+            }
+            case DIVISAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] /= c;
+                }
+            }
+            case POTENCIA -> {
+                if (c == 2) {
+                    for (int i = 0; i < m; i++) {
+                        a[i] *= a[i];
+                    }
+                } else if (c == 3) {
+                    for (int i = 0; i < m; i++) {
+                        a[i] *= a[i] * a[i];
+                    }
+                } else {
+                    for (int i = 0; i < m; i++) {
+                        a[i] = Math.pow(a[i], c);
+                    }
+                }
+            }
+            default -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = op.aplicar(a[i], c);
+                }
+            }
+        }
+    }
+
+    /**
+     * a[i] = c op a[i]
+     */
+    private static void escalarBinaria(Op op, double c, double[] a, int m) {
+        switch (op) {
+            case SOMA -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = c + a[i];
+                }
+            }
+            case SUBTRACAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = c - a[i];
+                }
+            }
+            case MULTIPLICACAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = c * a[i];
+                }
+            }
+            case DIVISAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = c / a[i];
+                }
+            }
+            default -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = op.aplicar(c, a[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * a[i] = op(a[i])
+     */
+    private static void unaria(Op op, double[] a, int m) {
+        switch (op) {
+            case NEGACAO -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = -a[i];
+                }
+            }
+            case SEN -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.sin(a[i]);
+                }
+            }
+            case COS -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.cos(a[i]);
+                }
+            }
+            case TAN -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.tan(a[i]);
+                }
+            }
+            case LN -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.log(a[i]);
+                }
+            }
+            case EXP -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.exp(a[i]);
+                }
+            }
+            case RAIZ -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.sqrt(a[i]);
+                }
+            }
+            case ABS -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = Math.abs(a[i]);
+                }
+            }
+            default -> {
+                for (int i = 0; i < m; i++) {
+                    a[i] = op.aplicar(a[i], 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Avaliar um nó externo: as colunas dos filhos são calculadas por blocos e
+     * o comando do JEP é aplicado ponto a ponto
+     */
+    private static void externa(NoDeExpressao no, double[] x, int de, int m, double[] destino) {
+        int n = no.filhos.length;
+        double[][] colunas = new double[n][m];
+        for (int j = 0; j < n; j++) {
+            NoDeExpressao filho = no.filhos[j];
+            double[][] buffers = new double[profundidade(filho) + 1][m];
+            coluna(filho, x, de, m, colunas[j], buffers, 1);
+        }
+        double[] argumentos = new double[n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                argumentos[j] = colunas[j][i];
+            }
+            destino[i] = no.aplicarComando(argumentos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return raiz.toString();
+    }
+}
@@ -0,0 +1,425 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.nfunk.jep.Node;
+import org.nfunk.jep.ParseException;
+
+/**
+ * Cache limitado (LRU) de derivadas em relação a x.
+ * <p>
+ * A chave é a expressão canônica: primeiro a entrada com os espaços
+ * normalizados e, se ela ainda não estiver no cache, o texto da árvore
+ * analisada pelo parser, de modo que "x^2+1" e "x ^ 2 + 1" compartilham a
+ * mesma derivada. Um acerto não faz nenhum trabalho simbólico.
+ * <p>
+ * Cada derivada é calculada uma única vez, mesmo quando várias threads pedem
+ * a mesma expressão ao mesmo tempo: as demais aguardam o resultado da
+ * primeira. As entradas menos usadas são removidas quando a capacidade é
+ * excedida e, opcionalmente, após um tempo sem acesso.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class CacheDeDerivadas {
+
+    private static final CacheDeDerivadas PADRAO = new Builder().build();
+
+    // parâmetros do cache
+    private int capacidade = 256;
+    private long expiracaoNanos = 0;
+    private PoolDeParsers parsers = PoolDeParsers.getPadrao();
+
+    // entradas em ordem de acesso, protegidas pelo próprio mapa
+    private final Map<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    // estatísticas
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    private CacheDeDerivadas() {
+    }
+
+    /**
+     * Obter o cache compartilhado (256 derivadas, sem expiração). Os
+     * polinômios em x derivados pela classe Derivadas não passam por ele e
+     * não aparecem nas estatísticas.
+     *
+     * @return cache padrão
+     */
+    public static CacheDeDerivadas getPadrao() {
+        return PADRAO;
+    }
+
+    /**
+     * Derivar uma expressão em relação a x, usando o cache
+     *
+     * @param expressao expressão
+     * @return derivada
+     * @throws ParseException erro de sintaxe na expressão, ou derivada
+     * desconhecida
+     */
+    public Derivada derivar(String expressao) throws ParseException {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        String chave = normalizar(expressao);
+        CompletableFuture<Derivada> futuro = new CompletableFuture<>();
+        CompletableFuture<Derivada> existente = reservar(chave, futuro);
+        if (existente != null) {
+            acertos.increment();
+            return aguardar(existente);
+        }
+        falhas.increment();
+        try {
+            Derivada derivada = parsers.executar(djep -> {
+                Node nodoFuncion = djep.parse(expressao);
+                String canonica = djep.toString(nodoFuncion);
+                if (!canonica.equals(chave)) {
+                    // mesma expressão escrita de outra forma
+                    CompletableFuture<Derivada> outra = obter(canonica);
+                    if (outra != null && outra.isDone() && !outra.isCompletedExceptionally()) {
+                        return outra.join();
+                    }
+                }
+                Node nodeDerivada = djep.simplify(djep.differentiate(nodoFuncion, "x"));
+                return new Derivada(canonica, nodeDerivada, djep.toString(nodeDerivada));
+            });
+            futuro.complete(derivada);
+            if (!derivada.expressao.equals(chave)) {
+                reservar(derivada.expressao, futuro);
+            }
+            return derivada;
+        } catch (Throwable e) {
+            // falhas não ficam no cache, e quem espera pela entrada recebe o
+            // mesmo erro (inclusive Errors, senão ficaria bloqueado)
+            futuro.completeExceptionally(e);
+            synchronized (entradas) {
+                entradas.remove(chave);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remover os espaços das pontas e trocar cada sequência de espaços por um
+     * único espaço
+     */
+    private static String normalizar(String expressao) {
+        int n = expressao.length();
+        boolean normalizada = true;
+        for (int i = 0; i < n && normalizada; i++) {
+            char c = expressao.charAt(i);
+            normalizada = !Character.isWhitespace(c)
+                    || c == ' ' && i > 0 && i < n - 1 && !Character.isWhitespace(expressao.charAt(i - 1));
+        }
+        if (normalizada) {
+            return expressao;
+        }
+        StringBuilder sb = new StringBuilder(n);
+        boolean espaco = false;
+        for (int i = 0; i < n; i++) {
+            char c = expressao.charAt(i);
+            if (Character.isWhitespace(c)) {
+                espaco = sb.length() > 0;
+            } else {
+                if (espaco) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                espaco = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Obter a entrada da chave ou reservá-la com o futuro informado
+     *
+     * @return futuro existente, ou null se a chave foi reservada
+     */
+    private CompletableFuture<Derivada> reservar(String chave, CompletableFuture<Derivada> futuro) {
+        long agora = System.nanoTime();
+        synchronized (entradas) {
+            expirar(agora);
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null) {
+                entrada.ultimoAcesso = agora;
+                return entrada.futuro;
+            }
+            entradas.put(chave, new Entrada(futuro, agora));
+            while (entradas.size() > capacidade) {
+                Iterator<Entrada> it = entradas.values().iterator();
+                it.next();
+                it.remove();
+                remocoes.increment();
+            }
+            return null;
+        }
+    }
+
+    private CompletableFuture<Derivada> obter(String chave) {
+        long agora = System.nanoTime();
+        synchronized (entradas) {
+            expirar(agora);
+            Entrada entrada = entradas.get(chave);
+            if (entrada == null) {
+                return null;
+            }
+            entrada.ultimoAcesso = agora;
+            return entrada.futuro;
+        }
+    }
+
+    /**
+     * Remover as entradas sem acesso há mais tempo que a expiração (as
+     * entradas estão em ordem de acesso, então basta olhar o início)
+     */
+    private void expirar(long agora) {
+        if (expiracaoNanos <= 0) {
+            return;
+        }
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            if (agora - it.next().ultimoAcesso < expiracaoNanos) {
+                break;
+            }
+            it.remove();
+            remocoes.increment();
+        }
+    }
+
+    private static Derivada aguardar(CompletableFuture<Derivada> futuro) throws ParseException {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ParseException pe) {
+                throw pe;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remover todas as derivadas do cache
+     */
+    public void limpar() {
+        synchronized (entradas) {
+            entradas.clear();
+        }
+    }
+
+    /**
+     * Obter o número de entradas no cache
+     *
+     * @return número de entradas
+     */
+    public int tamanho() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    /**
+     * Obter o número de acertos
+     *
+     * @return acertos
+     */
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    /**
+     * Obter o número de falhas (derivadas calculadas)
+     *
+     * @return falhas
+     */
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    /**
+     * Obter o número de entradas removidas por capacidade ou expiração
+     *
+     * @return remoções
+     */
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+
+    /**
+     * Entrada do cache
+     */
+    private static final class Entrada {
+
+        private final CompletableFuture<Derivada> futuro;
+        private long ultimoAcesso;
+
+        Entrada(CompletableFuture<Derivada> futuro, long ultimoAcesso) {
+            this.futuro = futuro;
+            this.ultimoAcesso = ultimoAcesso;
+        }
+    }
+
+    /**
+     * Derivada de uma expressão, com o texto simplificado e os avaliadores
+     * (criados na primeira vez em que são pedidos)
+     */
+    public static final class Derivada {
+
+        private final String expressao;
+        private final Node no;
+        private final String texto;
+        private final NoDeExpressao intermediaria;
+        private final RuntimeException erroConversao;
+        private Funcao funcao;
+        private Funcao avaliador;
+
+        Derivada(String expressao, Node no, String texto) {
+            this.expressao = expressao;
+            this.no = no;
+            this.texto = texto;
+            NoDeExpressao convertida = null;
+            RuntimeException erro = null;
+            try {
+                convertida = NoDeExpressao.converter(no, "x");
+            } catch (IllegalArgumentException e) {
+                erro = e;
+            }
+            this.intermediaria = convertida;
+            this.erroConversao = erro;
+        }
+
+        /**
+         * Obter a expressão canônica
+         *
+         * @return expressão
+         */
+        public String getExpressao() {
+            return expressao;
+        }
+
+        /**
+         * Obter a árvore da derivada simplificada. A árvore pertence ao parser
+         * que a criou e deve ser usada somente para leitura.
+         *
+         * @return árvore da derivada
+         */
+        public Node getNo() {
+            return no;
+        }
+
+        /**
+         * Obter o texto da derivada simplificada
+         *
+         * @return derivada
+         */
+        public String getTexto() {
+            return texto;
+        }
+
+        /**
+         * Obter a derivada compilada
+         *
+         * @return derivada compilada
+         * @throws IllegalArgumentException se a derivada tiver outras variáveis
+         */
+        public synchronized Funcao getFuncao() {
+            if (funcao == null) {
+                funcao = CompiladorDeExpressoes.compilar(intermediaria());
+            }
+            return funcao;
+        }
+
+        /**
+         * Obter o avaliador colunar da derivada
+         *
+         * @return avaliador da derivada
+         * @throws IllegalArgumentException se a derivada tiver outras variáveis
+         */
+        public synchronized Funcao getAvaliadorColunar() {
+            if (avaliador == null) {
+                avaliador = new AvaliadorColunar(intermediaria());
+            }
+            return avaliador;
+        }
+
+        private NoDeExpressao intermediaria() {
+            if (erroConversao != null) {
+                throw new IllegalArgumentException(erroConversao.getMessage(), erroConversao);
+            }
+            return intermediaria;
+        }
+
+        @Override
+        public String toString() {
+            return texto;
+        }
+    }
+
+    /**
+     * Builder para construir um cache com os parâmetros desejados
+     */
+    public static class Builder {
+
+        private final CacheDeDerivadas cache = new CacheDeDerivadas();
+
+        /**
+         * Definir o número máximo de derivadas no cache (padrão é 256)
+         *
+         * @param capacidade número máximo de derivadas
+         * @return a própria instância do Builder
+         */
+        public Builder setCapacidade(int capacidade) {
+            if (capacidade < 1) {
+                throw new IllegalArgumentException("A capacidade deve ser maior do que zero.");
+            }
+            cache.capacidade = capacidade;
+            return this;
+        }
+
+        /**
+         * Definir o tempo sem acesso após o qual uma derivada é removida
+         * (padrão é sem expiração)
+         *
+         * @param expiracao tempo sem acesso (null para não expirar)
+         * @return a própria instância do Builder
+         */
+        public Builder setExpiracaoAposAcesso(Duration expiracao) {
+            cache.expiracaoNanos = expiracao == null ? 0 : expiracao.toNanos();
+            return this;
+        }
+
+        /**
+         * Definir o pool de parsers usado para derivar (padrão é o pool
+         * compartilhado)
+         *
+         * @param parsers pool de parsers
+         * @return a própria instância do Builder
+         */
+        public Builder setParsers(PoolDeParsers parsers) {
+            cache.parsers = requireNonNull(parsers, "O pool de parsers não pode ser nulo.");
+            return this;
+        }
+
+        /**
+         * Constrói o objeto
+         *
+         * @return cache com os parâmetros desejados
+         */
+        public CacheDeDerivadas build() {
+            return cache;
+        }
+    }
+}
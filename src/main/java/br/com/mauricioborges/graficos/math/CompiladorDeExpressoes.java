@@ -0,0 +1,535 @@
+package br.com.mauricioborges.graficos.math;
+
+import br.com.mauricioborges.graficos.math.NoDeExpressao.Op;
+import br.com.mauricioborges.graficos.math.simbolico.Expressao;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import org.nfunk.jep.Node;
+
+/**
+ * Compilador de expressões do DJep para {@link Funcao}.
+ * <p>
+ * A árvore ({@code Node}) é convertida em uma árvore intermediária, com as
+ * subexpressões constantes já calculadas, e depois em bytecode de uma classe
+ * oculta que implementa {@code apply} e {@code applyBatch} em linha reta:
+ * operadores viram instruções da JVM ({@code dadd}, {@code dmul}, ...) e
+ * funções viram chamadas diretas a {@link Math}, que o JIT consegue
+ * incorporar como faria com uma expressão lambda escrita à mão.
+ * <p>
+ * Funções sem correspondente em {@link Math} são avaliadas pelo próprio
+ * comando do JEP. Resultados complexos (como a raiz de um número negativo)
+ * resultam em NaN. Expressões cujo código passaria de
+ * {@value #LIMITE_DE_CODIGO} bytes, abaixo do limite a partir do qual o JIT
+ * não compila mais o método ({@code -XX:HugeMethodLimit}, 8000 bytes), são
+ * avaliadas pelo {@link AvaliadorColunar}. As funções criadas implementam
+ * {@link FuncaoSemEstado}.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class CompiladorDeExpressoes {
+
+    private static final String FUNCAO = "br/com/mauricioborges/graficos/math/Funcao";
+    private static final String FUNCAO_SEM_ESTADO = "br/com/mauricioborges/graficos/math/FuncaoSemEstado";
+    private static final String NOME_CLASSE = "br/com/mauricioborges/graficos/math/FuncaoCompilada";
+
+    /**
+     * Tamanho máximo, em bytes, do código de cada método gerado
+     */
+    static final int LIMITE_DE_CODIGO = 6000;
+
+    // instruções da JVM usadas (JVMS, capítulo 6)
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ILOAD = 0x15;
+    private static final int DLOAD = 0x18;
+    private static final int ILOAD_3 = 0x1d;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int DALOAD = 0x31;
+    private static final int AALOAD = 0x32;
+    private static final int ISTORE = 0x36;
+    private static final int DSTORE = 0x39;
+    private static final int DASTORE = 0x52;
+    private static final int POP = 0x57;
+    private static final int DUP2 = 0x5c;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DDIV = 0x6f;
+    private static final int DREM = 0x73;
+    private static final int DNEG = 0x77;
+    private static final int IINC = 0x84;
+    private static final int IF_ICMPGE = 0xa2;
+    private static final int GOTO = 0xa7;
+    private static final int DRETURN = 0xaf;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETFIELD = 0xb4;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int ARRAYLENGTH = 0xbe;
+
+    // etiquetas da tabela de constantes
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private CompiladorDeExpressoes() {
+    }
+
+    /**
+     * Compilar uma expressão na variável x
+     *
+     * @param expressao árvore da expressão
+     * @return função compilada
+     */
+    public static Funcao compilar(Node expressao) {
+        return compilar(expressao, "x");
+    }
+
+    /**
+     * Compilar uma expressão de uma variável. A árvore deve ser usada
+     * enquanto o parser que a criou estiver disponível, pois as constantes
+     * nomeadas (pi, e) são lidas da tabela de símbolos dele.
+     *
+     * @param expressao árvore da expressão
+     * @param variavel nome da variável
+     * @return função compilada
+     */
+    public static Funcao compilar(Node expressao, String variavel) {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        requireNonNull(variavel, "A variável não pode ser nula.");
+        return compilar(NoDeExpressao.converter(expressao, variavel));
+    }
+
+    /**
+     * Compilar uma expressão simbólica nativa de uma variável
+     *
+     * @param expressao expressão
+     * @param variavel nome da variável
+     * @return função compilada
+     */
+    public static Funcao compilar(Expressao expressao, String variavel) {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        requireNonNull(variavel, "A variável não pode ser nula.");
+        return compilar(NoDeExpressao.converter(expressao, variavel));
+    }
+
+    /**
+     * Compilar a árvore intermediária; se o bytecode não puder ser gerado
+     * (código maior que {@value #LIMITE_DE_CODIGO} bytes) ou for recusado
+     * pela JVM, usa o {@link AvaliadorColunar}
+     */
+    static Funcao compilar(NoDeExpressao no) {
+        if (no.op == Op.CONSTANTE) {
+            double c = no.valor;
+            return (FuncaoSemEstado) x -> c;
+        }
+        try {
+            return new Gerador(no).definir();
+        } catch (IllegalStateException | LinkageError e) {
+            return new AvaliadorColunar(no);
+        }
+    }
+
+    /**
+     * Função avaliada pelo comando do JEP, com os argumentos já compilados
+     */
+    private static final class FuncaoExterna implements FuncaoSemEstado {
+
+        private final NoDeExpressao no;
+        private final Funcao[] argumentos;
+
+        FuncaoExterna(NoDeExpressao no) {
+            this.no = no;
+            this.argumentos = new Funcao[no.filhos.length];
+            for (int i = 0; i < argumentos.length; i++) {
+                argumentos[i] = compilar(no.filhos[i]);
+            }
+        }
+
+        @Override
+        public double apply(double x) {
+            double[] valores = new double[argumentos.length];
+            for (int i = 0; i < argumentos.length; i++) {
+                valores[i] = argumentos[i].apply(x);
+            }
+            return no.aplicarComando(valores);
+        }
+    }
+
+    /*
+    -------------------------------------------------------------
+    ------------------------- BYTECODE --------------------------
+    -------------------------------------------------------------
+     */
+    /**
+     * Gerador da classe oculta que implementa {@link Funcao}
+     */
+    private static final class Gerador {
+
+        private final NoDeExpressao raiz;
+        private final String fonte;
+        private final Map<NoDeExpressao, Integer> externas = new HashMap<>();
+        private final Funcao[] listaExternas;
+
+        // tabela de constantes
+        private final ByteArrayOutputStream bytesConstantes = new ByteArrayOutputStream();
+        private final DataOutputStream constantes = new DataOutputStream(bytesConstantes);
+        private final Map<String, Integer> indices = new HashMap<>();
+        private int nConstantes = 1;
+
+        Gerador(NoDeExpressao raiz) {
+            this.raiz = raiz;
+            this.fonte = raiz.texto(1000);
+            coletarExternas(raiz);
+            this.listaExternas = new Funcao[externas.size()];
+            externas.forEach((no, i) -> listaExternas[i] = new FuncaoExterna(no));
+        }
+
+        private void coletarExternas(NoDeExpressao no) {
+            if (no.op == Op.EXTERNA) {
+                // os argumentos são compilados separadamente
+                externas.putIfAbsent(no, externas.size());
+                return;
+            }
+            for (NoDeExpressao filho : no.filhos) {
+                coletarExternas(filho);
+            }
+        }
+
+        Funcao definir() {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(gerar(), true);
+                return (Funcao) lookup.lookupClass().getConstructor(Funcao[].class).newInstance((Object) listaExternas);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Erro ao compilar a expressão.", e);
+            }
+        }
+
+        /**
+         * Gerar o arquivo de classe (versão 49, sem StackMapTable)
+         */
+        private byte[] gerar() {
+            try {
+                int esta = classe(NOME_CLASSE);
+                int objeto = classe("java/lang/Object");
+                int funcao = classe(FUNCAO_SEM_ESTADO);
+                int campo = referencia(CONSTANT_FIELDREF, esta, "externas", "[L" + FUNCAO + ";");
+                int superInit = referencia(CONSTANT_METHODREF, objeto, "<init>", "()V");
+                int checar = referencia(CONSTANT_METHODREF, classe("java/util/Objects"), "checkFromToIndex", "(III)I");
+                int textoFonte = texto(fonte);
+                int nomeCampo = utf8("externas");
+                int tipoCampo = utf8("[L" + FUNCAO + ";");
+                int code = utf8("Code");
+
+                // <init>(Funcao[])
+                ByteArrayOutputStream init = new ByteArrayOutputStream();
+                init.write(ALOAD_0);
+                init.write(INVOKESPECIAL);
+                u2(init, superInit);
+                init.write(ALOAD_0);
+                init.write(ALOAD_1);
+                init.write(PUTFIELD);
+                u2(init, campo);
+                init.write(RETURN);
+
+                // apply(double)
+                ByteArrayOutputStream apply = new ByteArrayOutputStream();
+                emitir(apply, raiz, 1, campo);
+                apply.write(DRETURN);
+
+                // applyBatch(double[], double[], int, int)
+                ByteArrayOutputStream lote = new ByteArrayOutputStream();
+                for (int arr : new int[]{ALOAD_1, ALOAD_2}) {
+                    // Objects.checkFromToIndex(inicio, fim, arr.length)
+                    lote.write(ILOAD_3);
+                    lote.write(ILOAD);
+                    lote.write(4);
+                    lote.write(arr);
+                    lote.write(ARRAYLENGTH);
+                    lote.write(INVOKESTATIC);
+                    u2(lote, checar);
+                    lote.write(POP);
+                }
+                // for (int i = inicio; i < fim; i++) saida[i] = f(entrada[i])
+                lote.write(ILOAD_3);
+                lote.write(ISTORE);
+                lote.write(5);
+                int inicioLaco = lote.size();
+                lote.write(ILOAD);
+                lote.write(5);
+                lote.write(ILOAD);
+                lote.write(4);
+                int saltoSaida = lote.size();
+                lote.write(IF_ICMPGE);
+                u2(lote, 0);
+                lote.write(ALOAD_2);
+                lote.write(ILOAD);
+                lote.write(5);
+                lote.write(ALOAD_1);
+                lote.write(ILOAD);
+                lote.write(5);
+                lote.write(DALOAD);
+                lote.write(DSTORE);
+                lote.write(6);
+                emitir(lote, raiz, 6, campo);
+                lote.write(DASTORE);
+                lote.write(IINC);
+                lote.write(5);
+                lote.write(1);
+                int saltoInicio = lote.size();
+                lote.write(GOTO);
+                u2(lote, inicioLaco - saltoInicio);
+                int fimLaco = lote.size();
+                lote.write(RETURN);
+                byte[] codigoLote = lote.toByteArray();
+                int deslocamento = fimLaco - saltoSaida;
+                codigoLote[saltoSaida + 1] = (byte) (deslocamento >> 8);
+                codigoLote[saltoSaida + 2] = (byte) deslocamento;
+
+                // toString()
+                ByteArrayOutputStream texto = new ByteArrayOutputStream();
+                texto.write(LDC_W);
+                u2(texto, textoFonte);
+                texto.write(ARETURN);
+
+                int pilha = pilha(raiz);
+                int[][] metodos = {
+                    {utf8("<init>"), utf8("([L" + FUNCAO + ";)V"), 2, 2},
+                    {utf8("apply"), utf8("(D)D"), pilha, 3},
+                    {utf8("applyBatch"), utf8("([D[DII)V"), Math.max(4, 2 + pilha), 8},
+                    {utf8("toString"), utf8("()Ljava/lang/String;"), 1, 1}
+                };
+                byte[][] codigos = {init.toByteArray(), apply.toByteArray(), codigoLote, texto.toByteArray()};
+                if (codigoLote.length > LIMITE_DE_CODIGO || nConstantes > 0xFFFF || pilha > 0xFFFF) {
+                    throw new IllegalStateException("Expressão grande demais para gerar bytecode.");
+                }
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(49);
+                out.writeShort(nConstantes);
+                constantes.flush();
+                out.write(bytesConstantes.toByteArray());
+                out.writeShort(0x0030); // final, super
+                out.writeShort(esta);
+                out.writeShort(objeto);
+                out.writeShort(1);
+                out.writeShort(funcao);
+                // campo: private final Funcao[] externas
+                out.writeShort(1);
+                out.writeShort(0x0012);
+                out.writeShort(nomeCampo);
+                out.writeShort(tipoCampo);
+                out.writeShort(0);
+                // métodos públicos
+                out.writeShort(metodos.length);
+                for (int i = 0; i < metodos.length; i++) {
+                    out.writeShort(0x0001);
+                    out.writeShort(metodos[i][0]);
+                    out.writeShort(metodos[i][1]);
+                    out.writeShort(1);
+                    out.writeShort(code);
+                    out.writeInt(12 + codigos[i].length);
+                    out.writeShort(metodos[i][2]);
+                    out.writeShort(metodos[i][3]);
+                    out.writeInt(codigos[i].length);
+                    out.write(codigos[i]);
+                    out.writeShort(0);
+                    out.writeShort(0);
+                }
+                out.writeShort(0);
+                out.flush();
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Emitir o código de um nó, deixando o resultado (double) na pilha
+         */
+        private void emitir(ByteArrayOutputStream code, NoDeExpressao no, int localX, int campo) throws IOException {
+            if (code.size() > LIMITE_DE_CODIGO) {
+                // desiste cedo: o método não seria aceito mesmo
+                throw new IllegalStateException("Expressão grande demais para gerar bytecode.");
+            }
+            switch (no.op) {
+                case CONSTANTE -> {
+                    code.write(LDC2_W);
+                    u2(code, numero(no.valor));
+                }
+                case VARIAVEL -> {
+                    code.write(DLOAD);
+                    code.write(localX);
+                }
+                case EXTERNA -> {
+                    // externas[i].apply(x)
+                    code.write(ALOAD_0);
+                    code.write(GETFIELD);
+                    u2(code, campo);
+                    code.write(SIPUSH);
+                    u2(code, externas.get(no));
+                    code.write(AALOAD);
+                    code.write(DLOAD);
+                    code.write(localX);
+                    code.write(INVOKEINTERFACE);
+                    u2(code, referencia(CONSTANT_INTERFACE_METHODREF, classe(FUNCAO), "apply", "(D)D"));
+                    code.write(3);
+                    code.write(0);
+                }
+                default -> {
+                    if (no.op == Op.POTENCIA && no.filhos[1].op == Op.CONSTANTE
+                            && (no.filhos[1].valor == 2 || no.filhos[1].valor == 3)) {
+                        // x² e x³ por multiplicações
+                        emitir(code, no.filhos[0], localX, campo);
+                        code.write(DUP2);
+                        if (no.filhos[1].valor == 3) {
+                            code.write(DUP2);
+                            code.write(DMUL);
+                        }
+                        code.write(DMUL);
+                        return;
+                    }
+                    for (NoDeExpressao filho : no.filhos) {
+                        emitir(code, filho, localX, campo);
+                    }
+                    if (no.op.metodoMath == null) {
+                        code.write(instrucao(no.op));
+                    } else {
+                        code.write(INVOKESTATIC);
+                        u2(code, referencia(CONSTANT_METHODREF, classe("java/lang/Math"), no.op.metodoMath,
+                                no.op.aridade == 1 ? "(D)D" : "(DD)D"));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Instrução da JVM de um operador aritmético
+         */
+        private static int instrucao(Op op) {
+            return switch (op) {
+                case SOMA -> DADD;
+                case SUBTRACAO -> DSUB;
+                case MULTIPLICACAO -> DMUL;
+                case DIVISAO -> DDIV;
+                case RESTO -> DREM;
+                case NEGACAO -> DNEG;
+                default -> throw new IllegalStateException(op.name());
+            };
+        }
+
+        /**
+         * Profundidade máxima da pilha (em palavras) para avaliar o nó
+         */
+        private static int pilha(NoDeExpressao no) {
+            switch (no.op) {
+                case CONSTANTE, VARIAVEL:
+                    return 2;
+                case EXTERNA:
+                    return 4;
+                default:
+                    if (no.op == Op.POTENCIA && no.filhos[1].op == Op.CONSTANTE
+                            && (no.filhos[1].valor == 2 || no.filhos[1].valor == 3)) {
+                        return Math.max(pilha(no.filhos[0]), 6);
+                    }
+                    int maximo = 0;
+                    for (int i = 0; i < no.filhos.length; i++) {
+                        maximo = Math.max(maximo, 2 * i + pilha(no.filhos[i]));
+                    }
+                    return maximo;
+            }
+        }
+
+        private static void u2(ByteArrayOutputStream code, int valor) {
+            code.write(valor >> 8);
+            code.write(valor);
+        }
+
+        private int utf8(String s) throws IOException {
+            Integer i = indices.get("U" + s);
+            if (i != null) {
+                return i;
+            }
+            constantes.writeByte(CONSTANT_UTF8);
+            constantes.writeUTF(s);
+            indices.put("U" + s, nConstantes);
+            return nConstantes++;
+        }
+
+        private int classe(String nome) throws IOException {
+            Integer i = indices.get("C" + nome);
+            if (i != null) {
+                return i;
+            }
+            int u = utf8(nome);
+            constantes.writeByte(CONSTANT_CLASS);
+            constantes.writeShort(u);
+            indices.put("C" + nome, nConstantes);
+            return nConstantes++;
+        }
+
+        private int texto(String s) throws IOException {
+            int u = utf8(s);
+            constantes.writeByte(CONSTANT_STRING);
+            constantes.writeShort(u);
+            return nConstantes++;
+        }
+
+        private int numero(double valor) throws IOException {
+            String chave = "D" + Double.doubleToRawLongBits(valor);
+            Integer i = indices.get(chave);
+            if (i != null) {
+                return i;
+            }
+            constantes.writeByte(CONSTANT_DOUBLE);
+            constantes.writeDouble(valor);
+            indices.put(chave, nConstantes);
+            int indice = nConstantes;
+            nConstantes += 2; // double ocupa duas posições
+            return indice;
+        }
+
+        /**
+         * Referência a campo, método ou método de interface
+         */
+        private int referencia(int tag, int classe, String nome, String descritor) throws IOException {
+            String chave = "R" + tag + "." + classe + "." + nome + descritor;
+            Integer i = indices.get(chave);
+            if (i != null) {
+                return i;
+            }
+            int n = utf8(nome);
+            int d = utf8(descritor);
+            constantes.writeByte(CONSTANT_NAME_AND_TYPE);
+            constantes.writeShort(n);
+            constantes.writeShort(d);
+            int nomeETipo = nConstantes++;
+            constantes.writeByte(tag);
+            constantes.writeShort(classe);
+            constantes.writeShort(nomeETipo);
+            indices.put(chave, nConstantes);
+            return nConstantes++;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Derivada numérica (primeira ou segunda) de uma {@link Funcao} qualquer,
+ * como uma nova {@link Funcao}. Exemplo:
+ *
+ * <pre><code>
+ * Funcao f = x -&gt; Math.sin(x) * Math.exp(-x);
+ * Funcao df = DerivadaNumerica.primeira(f);
+ * Funcao d2f = new DerivadaNumerica.Builder(f).setOrdem(2).build();
+ * </code></pre>
+ * <p>
+ * Em cada ponto, {@link #estimar} calcula diferenças centrais com passos
+ * h, h/2, h/4, ... e combina os resultados pela extrapolação de Richardson,
+ * que elimina os termos de erro em h², h⁴, ... A diferença entre níveis
+ * consecutivos da tabela dá uma estimativa do erro; a tabela para quando o
+ * erro começa a crescer por causa do arredondamento. O passo inicial é
+ * escolhido automaticamente a partir da escala de x, ou definido no Builder.
+ * <p>
+ * Em grades uniformes, {@link #applyBatch} reaproveita os valores da função
+ * nos pontos vizinhos da própria grade (passos d, 2d e 4d, onde d é o
+ * espaçamento), com poucas avaliações extras nas pontas, em vez de avaliar a
+ * função várias vezes em torno de cada ponto.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class DerivadaNumerica implements Funcao {
+
+    private static final double EPS = Math.ulp(1.0);
+
+    // níveis de Richardson na grade (passos d, 2d e 4d)
+    private static final int NIVEIS_GRADE = 3;
+
+    // parâmetros da derivada
+    private final Funcao funcao;
+    private int ordem = 1;
+    private int niveis = 6;
+    private double passo = Double.NaN;
+
+    private DerivadaNumerica(Funcao funcao) {
+        this.funcao = funcao;
+    }
+
+    /**
+     * Derivada primeira com os parâmetros padrão
+     *
+     * @param funcao função
+     * @return f'
+     */
+    public static DerivadaNumerica primeira(Funcao funcao) {
+        return new Builder(funcao).build();
+    }
+
+    /**
+     * Derivada segunda com os parâmetros padrão
+     *
+     * @param funcao função
+     * @return f''
+     */
+    public static DerivadaNumerica segunda(Funcao funcao) {
+        return new Builder(funcao).setOrdem(2).build();
+    }
+
+    /**
+     * Obter a ordem da derivada (1 ou 2)
+     *
+     * @return ordem
+     */
+    public int getOrdem() {
+        return ordem;
+    }
+
+    @Override
+    public double apply(double x) {
+        return estimar(x).getValor();
+    }
+
+    /**
+     * Estimar a derivada e o erro no ponto x
+     *
+     * @param x parâmetro
+     * @return derivada e estimativa do erro
+     */
+    public Estimativa estimar(double x) {
+        double h = passoInicial(x);
+        double fx = ordem == 2 ? funcao.apply(x) : 0;
+        double[] anterior = new double[niveis];
+        double[] atual = new double[niveis];
+        double melhor = Double.NaN;
+        double erro = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < niveis; i++, h /= 2) {
+            // passo representável exatamente em torno de x
+            double hx = (x + h) - x;
+            atual[0] = diferenca(x, hx, fx);
+            double fator = 4;
+            for (int j = 1; j <= i; j++, fator *= 4) {
+                atual[j] = atual[j - 1] + (atual[j - 1] - anterior[j - 1]) / (fator - 1);
+                double e = Math.max(Math.abs(atual[j] - atual[j - 1]), Math.abs(atual[j] - anterior[j - 1]));
+                if (e <= erro) {
+                    erro = e;
+                    melhor = atual[j];
+                }
+            }
+            if (i == 0) {
+                melhor = atual[0];
+            } else if (Math.abs(atual[i] - anterior[i - 1]) >= 2 * erro) {
+                // o arredondamento passou a dominar
+                break;
+            }
+            double[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+        return new Estimativa(melhor, erro);
+    }
+
+    /**
+     * Diferença central com passo h
+     */
+    private double diferenca(double x, double h, double fx) {
+        double mais = funcao.apply(x + h);
+        double menos = funcao.apply(x - h);
+        return ordem == 1 ? (mais - menos) / (2 * h) : (mais - 2 * fx + menos) / (h * h);
+    }
+
+    /**
+     * Passo inicial: o termo de erro da tabela com n níveis é da ordem de
+     * h^(2n), então h ~ eps^(1/(2n + ordem)) equilibra truncamento e
+     * arredondamento
+     */
+    private double passoInicial(double x) {
+        if (!Double.isNaN(passo)) {
+            return passo;
+        }
+        return Math.pow(EPS, 1.0 / (2 * niveis + ordem)) * Math.max(Math.abs(x), 1);
+    }
+
+    @Override
+    public void applyBatch(double[] in, double[] out, int from, int to) {
+        Objects.checkFromToIndex(from, to, Math.min(in.length, out.length));
+        int n = to - from;
+        double d = n > 1 ? (in[to - 1] - in[from]) / (n - 1) : 0;
+        if (!usarGrade(in, from, to, d)) {
+            for (int i = from; i < to; i++) {
+                out[i] = apply(in[i]);
+            }
+            return;
+        }
+        // grade estendida com m pontos extras em cada ponta
+        int m = 1 << (NIVEIS_GRADE - 1);
+        double[] xs = new double[n + 2 * m];
+        for (int k = 0; k < xs.length; k++) {
+            int i = k - m;
+            xs[k] = i >= 0 && i < n ? in[from + i] : in[from] + i * d;
+        }
+        double[] fs = new double[xs.length];
+        funcao.applyBatch(xs, fs);
+        double[] tabela = new double[NIVEIS_GRADE];
+        for (int i = 0; i < n; i++) {
+            int k = i + m;
+            // do maior passo (4d) para o menor (d)
+            for (int nivel = NIVEIS_GRADE - 1, j = 0; nivel >= 0; nivel--, j++) {
+                int s = 1 << nivel;
+                double h = s * d;
+                double dif = ordem == 1
+                        ? (fs[k + s] - fs[k - s]) / (2 * h)
+                        : (fs[k + s] - 2 * fs[k] + fs[k - s]) / (h * h);
+                double fator = 4;
+                for (int l = 0; l < j; l++, fator *= 4) {
+                    double novo = dif + (dif - tabela[l]) / (fator - 1);
+                    tabela[l] = dif;
+                    dif = novo;
+                }
+                tabela[j] = dif;
+            }
+            out[from + i] = tabela[NIVEIS_GRADE - 1];
+        }
+    }
+
+    /**
+     * Verificar se os pontos formam uma grade uniforme com espaçamento
+     * adequado para as diferenças finitas: maior que o passo mínimo (abaixo
+     * dele o arredondamento domina) e menor que o passo inicial pontual
+     */
+    private boolean usarGrade(double[] in, int from, int to, double d) {
+        if (to - from < 2 * NIVEIS_GRADE || !(d > 0)) {
+            return false;
+        }
+        double escala = Math.max(Math.max(Math.abs(in[from]), Math.abs(in[to - 1])), 1);
+        double minimo = Math.pow(EPS, 1.0 / (2 + ordem)) * escala;
+        double maximo = Double.isNaN(passo) ? Math.pow(EPS, 1.0 / (2 * niveis + ordem)) * escala : passo;
+        if (d < minimo || d > maximo) {
+            return false;
+        }
+        double tolerancia = 1e-9 * d + 4 * Math.ulp(escala);
+        for (int i = from + 1; i < to; i++) {
+            if (Math.abs(in[i] - (in[from] + (i - from) * d)) > tolerancia) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return (ordem == 1 ? "d/dx " : "d²/dx² ") + funcao;
+    }
+
+    /**
+     * Valor estimado da derivada e estimativa do erro absoluto
+     */
+    public static final class Estimativa {
+
+        private final double valor;
+        private final double erro;
+
+        Estimativa(double valor, double erro) {
+            this.valor = valor;
+            this.erro = erro;
+        }
+
+        /**
+         * Obter o valor estimado da derivada
+         *
+         * @return derivada
+         */
+        public double getValor() {
+            return valor;
+        }
+
+        /**
+         * Obter a estimativa do erro absoluto
+         *
+         * @return erro
+         */
+        public double getErro() {
+            return erro;
+        }
+
+        @Override
+        public String toString() {
+            return valor + " ± " + erro;
+        }
+    }
+
+    /**
+     * Builder para construir uma derivada numérica com os parâmetros desejados
+     */
+    public static class Builder {
+
+        private final DerivadaNumerica derivada;
+
+        /**
+         * Builder da derivada de uma função
+         *
+         * @param funcao função
+         */
+        public Builder(Funcao funcao) {
+            derivada = new DerivadaNumerica(requireNonNull(funcao, "A função não pode ser nula."));
+        }
+
+        /**
+         * Definir a ordem da derivada (padrão é 1)
+         *
+         * @param ordem 1 ou 2
+         * @return a própria instância do Builder
+         */
+        public Builder setOrdem(int ordem) {
+            if (ordem != 1 && ordem != 2) {
+                throw new IllegalArgumentException("A ordem da derivada deve ser 1 ou 2.");
+            }
+            derivada.ordem = ordem;
+            return this;
+        }
+
+        /**
+         * Definir o número máximo de níveis da extrapolação de Richardson
+         * (padrão é 6)
+         *
+         * @param niveis número de níveis
+         * @return a própria instância do Builder
+         */
+        public Builder setNiveis(int niveis) {
+            if (niveis < 1) {
+                throw new IllegalArgumentException("O número de níveis deve ser maior do que zero.");
+            }
+            derivada.niveis = niveis;
+            return this;
+        }
+
+        /**
+         * Definir o passo inicial (padrão é automático, proporcional a |x|)
+         *
+         * @param passo passo inicial
+         * @return a própria instância do Builder
+         */
+        public Builder setPasso(double passo) {
+            if (!(passo > 0) || Double.isInfinite(passo)) {
+                throw new IllegalArgumentException("O passo deve ser positivo e finito.");
+            }
+            derivada.passo = passo;
+            return this;
+        }
+
+        /**
+         * Constrói o objeto
+         *
+         * @return derivada numérica
+         */
+        public DerivadaNumerica build() {
+            return derivada;
+        }
+    }
+}
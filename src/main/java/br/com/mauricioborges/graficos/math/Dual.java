@@ -0,0 +1,342 @@
+package br.com.mauricioborges.graficos.math;
+
+/**
+ * Número dual imutável v + d·ε (com ε² = 0), usado na diferenciação
+ * automática no modo direto.
+ * <p>
+ * Cada operação calcula o valor e a derivada ao mesmo tempo pela regra da
+ * cadeia: avaliar uma função em {@code Dual.variavel(x)} resulta em f(x) e
+ * f'(x) exatos (a menos do arredondamento), sem diferenças finitas e sem
+ * análise de texto. Exemplo:
+ *
+ * <pre><code>
+ * FuncaoDiferenciavel f = x -&gt; x.multiplicar(x).sen();
+ * Dual r = f.apply(Dual.variavel(2));
+ * // r.getValor() = sin(4), r.getDerivada() = 4·cos(4)
+ * </code></pre>
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class Dual {
+
+    private final double valor;
+    private final double derivada;
+
+    /**
+     * Cria o número dual valor + derivada·ε
+     *
+     * @param valor parte real
+     * @param derivada parte dual (derivada)
+     */
+    public Dual(double valor, double derivada) {
+        this.valor = valor;
+        this.derivada = derivada;
+    }
+
+    /**
+     * Constante (derivada zero)
+     *
+     * @param valor valor
+     * @return número dual
+     */
+    public static Dual constante(double valor) {
+        return new Dual(valor, 0);
+    }
+
+    /**
+     * Variável independente (derivada um)
+     *
+     * @param valor ponto de avaliação
+     * @return número dual
+     */
+    public static Dual variavel(double valor) {
+        return new Dual(valor, 1);
+    }
+
+    /**
+     * Obter o valor
+     *
+     * @return valor
+     */
+    public double getValor() {
+        return valor;
+    }
+
+    /**
+     * Obter a derivada
+     *
+     * @return derivada
+     */
+    public double getDerivada() {
+        return derivada;
+    }
+
+    // regra da cadeia: g(u)' = g'(u)·u'
+    private Dual cadeia(double g, double dg) {
+        return new Dual(g, dg * derivada);
+    }
+
+    // aritmética
+
+    /**
+     * Soma
+     *
+     * @param outro parcela
+     * @return this + outro
+     */
+    public Dual somar(Dual outro) {
+        return new Dual(valor + outro.valor, derivada + outro.derivada);
+    }
+
+    /**
+     * Soma com uma constante
+     *
+     * @param c constante
+     * @return this + c
+     */
+    public Dual somar(double c) {
+        return new Dual(valor + c, derivada);
+    }
+
+    /**
+     * Subtração
+     *
+     * @param outro subtraendo
+     * @return this - outro
+     */
+    public Dual subtrair(Dual outro) {
+        return new Dual(valor - outro.valor, derivada - outro.derivada);
+    }
+
+    /**
+     * Subtração de uma constante
+     *
+     * @param c constante
+     * @return this - c
+     */
+    public Dual subtrair(double c) {
+        return new Dual(valor - c, derivada);
+    }
+
+    /**
+     * Multiplicação (regra do produto)
+     *
+     * @param outro fator
+     * @return this·outro
+     */
+    public Dual multiplicar(Dual outro) {
+        return new Dual(valor * outro.valor, derivada * outro.valor + valor * outro.derivada);
+    }
+
+    /**
+     * Multiplicação por uma constante
+     *
+     * @param c constante
+     * @return c·this
+     */
+    public Dual multiplicar(double c) {
+        return new Dual(valor * c, derivada * c);
+    }
+
+    /**
+     * Divisão (regra do quociente)
+     *
+     * @param outro divisor
+     * @return this / outro
+     */
+    public Dual dividir(Dual outro) {
+        double q = valor / outro.valor;
+        return new Dual(q, (derivada - q * outro.derivada) / outro.valor);
+    }
+
+    /**
+     * Divisão por uma constante
+     *
+     * @param c constante
+     * @return this / c
+     */
+    public Dual dividir(double c) {
+        return new Dual(valor / c, derivada / c);
+    }
+
+    /**
+     * Oposto
+     *
+     * @return -this
+     */
+    public Dual negar() {
+        return new Dual(-valor, -derivada);
+    }
+
+    /**
+     * Potência com expoente constante
+     *
+     * @param n expoente
+     * @return (this)ⁿ
+     */
+    public Dual potencia(double n) {
+        if (n == 0) {
+            return constante(1);
+        }
+        if (n == 1) {
+            return this;
+        }
+        if (n == 2) {
+            return new Dual(valor * valor, 2 * valor * derivada);
+        }
+        return cadeia(Math.pow(valor, n), n * Math.pow(valor, n - 1));
+    }
+
+    /**
+     * Potência com expoente variável: d(uᵛ) = uᵛ·(v'·ln(u) + v·u'/u)
+     *
+     * @param expoente expoente
+     * @return (this)^expoente
+     */
+    public Dual potencia(Dual expoente) {
+        if (expoente.derivada == 0) {
+            return potencia(expoente.valor);
+        }
+        double p = Math.pow(valor, expoente.valor);
+        double d = p * (expoente.derivada * Math.log(valor) + expoente.valor * derivada / valor);
+        return new Dual(p, d);
+    }
+
+    // funções elementares
+
+    /**
+     * Seno
+     *
+     * @return sen(this)
+     */
+    public Dual sen() {
+        return cadeia(Math.sin(valor), Math.cos(valor));
+    }
+
+    /**
+     * Cosseno
+     *
+     * @return cos(this)
+     */
+    public Dual cos() {
+        return cadeia(Math.cos(valor), -Math.sin(valor));
+    }
+
+    /**
+     * Tangente
+     *
+     * @return tan(this)
+     */
+    public Dual tan() {
+        double t = Math.tan(valor);
+        return cadeia(t, 1 + t * t);
+    }
+
+    /**
+     * Arco seno
+     *
+     * @return asen(this)
+     */
+    public Dual asen() {
+        return cadeia(Math.asin(valor), 1 / Math.sqrt(1 - valor * valor));
+    }
+
+    /**
+     * Arco cosseno
+     *
+     * @return acos(this)
+     */
+    public Dual acos() {
+        return cadeia(Math.acos(valor), -1 / Math.sqrt(1 - valor * valor));
+    }
+
+    /**
+     * Arco tangente
+     *
+     * @return atan(this)
+     */
+    public Dual atan() {
+        return cadeia(Math.atan(valor), 1 / (1 + valor * valor));
+    }
+
+    /**
+     * Seno hiperbólico
+     *
+     * @return senh(this)
+     */
+    public Dual senh() {
+        return cadeia(Math.sinh(valor), Math.cosh(valor));
+    }
+
+    /**
+     * Cosseno hiperbólico
+     *
+     * @return cosh(this)
+     */
+    public Dual cosh() {
+        return cadeia(Math.cosh(valor), Math.sinh(valor));
+    }
+
+    /**
+     * Tangente hiperbólica
+     *
+     * @return tanh(this)
+     */
+    public Dual tanh() {
+        double t = Math.tanh(valor);
+        return cadeia(t, 1 - t * t);
+    }
+
+    /**
+     * Exponencial
+     *
+     * @return e^this
+     */
+    public Dual exp() {
+        double e = Math.exp(valor);
+        return cadeia(e, e);
+    }
+
+    /**
+     * Logaritmo natural
+     *
+     * @return ln(this)
+     */
+    public Dual ln() {
+        return cadeia(Math.log(valor), 1 / valor);
+    }
+
+    /**
+     * Logaritmo na base 10
+     *
+     * @return log10(this)
+     */
+    public Dual log10() {
+        return cadeia(Math.log10(valor), 1 / (valor * Math.log(10)));
+    }
+
+    /**
+     * Raiz quadrada
+     *
+     * @return √this
+     */
+    public Dual raiz() {
+        double r = Math.sqrt(valor);
+        return cadeia(r, 0.5 / r);
+    }
+
+    /**
+     * Valor absoluto (derivada zero no ponto de quebra)
+     *
+     * @return |this|
+     */
+    public Dual abs() {
+        return cadeia(Math.abs(valor), Math.signum(valor));
+    }
+
+    @Override
+    public String toString() {
+        return valor + (derivada < 0 ? " - " : " + ") + Math.abs(derivada) + "ε";
+    }
+}
@@ -1,7 +1,14 @@
 package br.com.mauricioborges.graficos.math;
 
+import java.util.Objects;
+
 /**
  * Interface para declaração de funções através de expressões lambda
+ * <p>
+ * As classes que recebem um pool (como {@link AmostragemAdaptativa} e
+ * {@link PontosNotaveis}) podem chamar a função em várias threads ao mesmo
+ * tempo; nesse caso, ela não deve alterar estado compartilhado. As funções
+ * criadas pela biblioteca indicam isso implementando {@link FuncaoSemEstado}.
  *
  * @author Mauricio Borges
  * @since 2018
@@ -16,4 +23,33 @@ public interface Funcao {
      * @return resultado da expressão matemática
      */
     public abstract double apply(double x);
+
+    /**
+     * Aplicar a função em um intervalo de um array de parâmetros:
+     * out[i] = apply(in[i]) para from &lt;= i &lt; to.
+     * <p>
+     * Implementações específicas podem sobrescrever este método com um laço
+     * sem chamadas de interface por ponto.
+     *
+     * @param in parâmetros
+     * @param out resultados (pode ser o próprio array de parâmetros)
+     * @param from primeira posição (inclusive)
+     * @param to última posição (exclusive)
+     */
+    public default void applyBatch(double[] in, double[] out, int from, int to) {
+        Objects.checkFromToIndex(from, to, Math.min(in.length, out.length));
+        for (int i = from; i < to; i++) {
+            out[i] = apply(in[i]);
+        }
+    }
+
+    /**
+     * Aplicar a função em todos os parâmetros de um array
+     *
+     * @param in parâmetros
+     * @param out resultados (deve ter pelo menos o tamanho de in)
+     */
+    public default void applyBatch(double[] in, double[] out) {
+        applyBatch(in, out, 0, in.length);
+    }
 }
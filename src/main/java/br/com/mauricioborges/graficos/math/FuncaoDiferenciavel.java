@@ -0,0 +1,53 @@
+package br.com.mauricioborges.graficos.math;
+
+/**
+ * Função escrita com números duais, que pode ser derivada automaticamente
+ * (modo direto). Exemplo:
+ *
+ * <pre><code>
+ * FuncaoDiferenciavel f = x -&gt; x.potencia(3).somar(x.sen());
+ * double d = f.derivada(1.5); // 3·1.5² + cos(1.5)
+ * g.plotFuncaoEDerivada(f, 0, 10, "f");
+ * </code></pre>
+ * <p>
+ * A derivada custa o mesmo que uma avaliação de f com números duais, sem
+ * análise de texto e sem o erro de truncamento das diferenças finitas.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+@FunctionalInterface
+public interface FuncaoDiferenciavel extends Funcao {
+
+    /**
+     * Aplicar a função a um número dual
+     *
+     * @param x parâmetro
+     * @return f(x) e a derivada propagada
+     */
+    public abstract Dual apply(Dual x);
+
+    @Override
+    public default double apply(double x) {
+        return apply(Dual.constante(x)).getValor();
+    }
+
+    /**
+     * Calcular a derivada no ponto x
+     *
+     * @param x parâmetro
+     * @return f'(x)
+     */
+    public default double derivada(double x) {
+        return apply(Dual.variavel(x)).getDerivada();
+    }
+
+    /**
+     * Obter a derivada como uma {@link Funcao}
+     *
+     * @return f'
+     */
+    public default Funcao getDerivada() {
+        return this::derivada;
+    }
+}
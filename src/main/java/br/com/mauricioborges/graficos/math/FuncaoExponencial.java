@@ -0,0 +1,69 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.util.Objects;
+
+/**
+ * Função exponencial imutável
+ * <p>
+ * y = a·eᵇˣ
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class FuncaoExponencial implements FuncaoDiferenciavel, FuncaoSemEstado {
+
+    private final double a;
+    private final double b;
+
+    /**
+     * Cria a função y = a·eᵇˣ
+     *
+     * @param a fator multiplicativo (já exponenciado)
+     * @param b coeficiente do expoente
+     */
+    public FuncaoExponencial(double a, double b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Obter o fator multiplicativo a
+     *
+     * @return a
+     */
+    public double getA() {
+        return a;
+    }
+
+    /**
+     * Obter o coeficiente do expoente b
+     *
+     * @return b
+     */
+    public double getB() {
+        return b;
+    }
+
+    @Override
+    public double apply(double x) {
+        return a * Math.exp(b * x);
+    }
+
+    @Override
+    public void applyBatch(double[] in, double[] out, int from, int to) {
+        Objects.checkFromToIndex(from, to, Math.min(in.length, out.length));
+        for (int i = from; i < to; i++) {
+            out[i] = a * Math.exp(b * in[i]);
+        }
+    }
+
+    @Override
+    public Dual apply(Dual x) {
+        return x.multiplicar(b).exp().multiplicar(a);
+    }
+
+    @Override
+    public double derivada(double x) {
+        return a * b * Math.exp(b * x);
+    }
+}
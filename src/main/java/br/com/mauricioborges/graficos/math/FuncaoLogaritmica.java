@@ -0,0 +1,69 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.util.Objects;
+
+/**
+ * Função logarítmica imutável
+ * <p>
+ * y = a·ln(x) + b
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class FuncaoLogaritmica implements FuncaoDiferenciavel, FuncaoSemEstado {
+
+    private final double a;
+    private final double b;
+
+    /**
+     * Cria a função y = a·ln(x) + b
+     *
+     * @param a coeficiente de ln(x)
+     * @param b termo independente
+     */
+    public FuncaoLogaritmica(double a, double b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Obter o coeficiente de ln(x)
+     *
+     * @return a
+     */
+    public double getA() {
+        return a;
+    }
+
+    /**
+     * Obter o termo independente
+     *
+     * @return b
+     */
+    public double getB() {
+        return b;
+    }
+
+    @Override
+    public double apply(double x) {
+        return a * Math.log(x) + b;
+    }
+
+    @Override
+    public void applyBatch(double[] in, double[] out, int from, int to) {
+        Objects.checkFromToIndex(from, to, Math.min(in.length, out.length));
+        for (int i = from; i < to; i++) {
+            out[i] = a * Math.log(in[i]) + b;
+        }
+    }
+
+    @Override
+    public Dual apply(Dual x) {
+        return x.ln().multiplicar(a).somar(b);
+    }
+
+    @Override
+    public double derivada(double x) {
+        return a / x;
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.util.Objects;
+
+/**
+ * Função potência de x imutável
+ * <p>
+ * y = a·xᵇ
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class FuncaoPotencia implements FuncaoDiferenciavel, FuncaoSemEstado {
+
+    private final double a;
+    private final double b;
+
+    /**
+     * Cria a função y = a·xᵇ
+     *
+     * @param a fator multiplicativo (já exponenciado)
+     * @param b expoente
+     */
+    public FuncaoPotencia(double a, double b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Obter o fator multiplicativo a
+     *
+     * @return a
+     */
+    public double getA() {
+        return a;
+    }
+
+    /**
+     * Obter o expoente b
+     *
+     * @return b
+     */
+    public double getB() {
+        return b;
+    }
+
+    @Override
+    public double apply(double x) {
+        return a * Math.pow(x, b);
+    }
+
+    @Override
+    public void applyBatch(double[] in, double[] out, int from, int to) {
+        Objects.checkFromToIndex(from, to, Math.min(in.length, out.length));
+        for (int i = from; i < to; i++) {
+            out[i] = a * Math.pow(in[i], b);
+        }
+    }
+
+    @Override
+    public Dual apply(Dual x) {
+        return x.potencia(b).multiplicar(a);
+    }
+
+    @Override
+    public double derivada(double x) {
+        return a * b * Math.pow(x, b - 1);
+    }
+}
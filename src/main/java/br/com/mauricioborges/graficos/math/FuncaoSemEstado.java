@@ -0,0 +1,18 @@
+package br.com.mauricioborges.graficos.math;
+
+/**
+ * Função que não altera estado compartilhado e pode ser avaliada em várias
+ * threads ao mesmo tempo.
+ * <p>
+ * Implementada pelas funções criadas pela biblioteca (expressões compiladas,
+ * {@link AvaliadorColunar}, {@link Polinomio} e as funções das linhas de
+ * tendência). Quem recebe uma {@link Funcao} qualquer só deve avaliá-la em
+ * paralelo se ela implementar esta interface.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+@FunctionalInterface
+public interface FuncaoSemEstado extends Funcao {
+
+}
@@ -0,0 +1,464 @@
+package br.com.mauricioborges.graficos.math;
+
+import br.com.mauricioborges.graficos.math.NoDeExpressao.Op;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import static java.util.Objects.requireNonNull;
+import org.lsmp.djep.djep.DJep;
+import org.nfunk.jep.ASTConstant;
+import org.nfunk.jep.ASTFunNode;
+import org.nfunk.jep.ASTVarNode;
+import org.nfunk.jep.Node;
+import org.nfunk.jep.ParseException;
+import org.nfunk.jep.function.PostfixMathCommandI;
+
+/**
+ * Derivadas de ordem superior e derivadas parciais de uma expressão,
+ * avaliadas juntas em um grafo acíclico (DAG).
+ * <p>
+ * As derivadas são calculadas pelo DJep e todas as árvores resultantes são
+ * convertidas para um único grafo com consolidação de nós (hash-consing):
+ * subexpressões iguais, dentro de uma derivada ou entre derivadas de ordens
+ * diferentes, viram um único nó. O grafo é guardado como uma sequência de
+ * instruções em ordem topológica, e cada avaliação calcula cada nó uma única
+ * vez, não importando quantas derivadas o usem.
+ * <p>
+ * Os resultados são chamados de saídas; a ordem delas depende do método que
+ * criou o grafo ({@link #ordens}, {@link #gradiente} ou {@link #hessiana}).
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class GrafoDeDerivadas {
+
+    // instruções em ordem topológica (os filhos vêm antes dos pais)
+    private final Op[] ops;
+    private final double[] valores;
+    private final int[] a;
+    private final int[] b;
+    private final int[][] argumentos;
+    private final PostfixMathCommandI[] comandos;
+
+    // saídas
+    private final int[] saidas;
+    private final String[] textos;
+    private final String[] variaveis;
+    private final boolean comHessiana;
+
+    private GrafoDeDerivadas(Construtor construtor, String[] variaveis, boolean comHessiana) {
+        int n = construtor.ops.size();
+        this.ops = construtor.ops.toArray(new Op[0]);
+        this.valores = new double[n];
+        this.a = new int[n];
+        this.b = new int[n];
+        this.argumentos = new int[n][];
+        this.comandos = construtor.comandos.toArray(new PostfixMathCommandI[0]);
+        for (int k = 0; k < n; k++) {
+            valores[k] = construtor.valores.get(k);
+            int[] filhos = construtor.filhos.get(k);
+            a[k] = filhos.length > 0 ? filhos[0] : -1;
+            b[k] = filhos.length > 1 ? filhos[1] : -1;
+            argumentos[k] = filhos;
+        }
+        this.saidas = construtor.saidas.stream().mapToInt(Integer::intValue).toArray();
+        this.textos = construtor.textos.toArray(new String[0]);
+        this.variaveis = variaveis;
+        this.comHessiana = comHessiana;
+    }
+
+    /**
+     * Derivadas de ordem 0 a n em relação a uma variável. A saída k é a
+     * derivada de ordem k (a saída 0 é a própria expressão).
+     *
+     * @param expressao expressão
+     * @param variavel variável
+     * @param ordem maior ordem
+     * @return grafo das derivadas
+     * @throws ParseException erro de sintaxe ou derivada desconhecida
+     */
+    public static GrafoDeDerivadas ordens(String expressao, String variavel, int ordem) throws ParseException {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        requireNonNull(variavel, "A variável não pode ser nula.");
+        if (ordem < 0) {
+            throw new IllegalArgumentException("A ordem da derivada não pode ser negativa.");
+        }
+        String[] variaveis = {variavel};
+        return PoolDeParsers.getPadrao().executar(djep -> {
+            Construtor construtor = new Construtor(variaveis);
+            Node no = djep.parse(expressao);
+            construtor.saida(djep, no);
+            for (int k = 1; k <= ordem; k++) {
+                no = djep.simplify(djep.differentiate(no, variavel));
+                construtor.saida(djep, no);
+            }
+            return new GrafoDeDerivadas(construtor, variaveis, false);
+        });
+    }
+
+    /**
+     * Gradiente de uma expressão. A saída 0 é a expressão e a saída 1 + i é a
+     * derivada parcial em relação à variável i.
+     *
+     * @param expressao expressão
+     * @param variaveis variáveis, na ordem do vetor de entrada
+     * @return grafo do gradiente
+     * @throws ParseException erro de sintaxe ou derivada desconhecida
+     */
+    public static GrafoDeDerivadas gradiente(String expressao, String... variaveis) throws ParseException {
+        return parciais(expressao, variaveis, false);
+    }
+
+    /**
+     * Gradiente e matriz hessiana de uma expressão. A saída 0 é a expressão,
+     * as saídas 1 a k são o gradiente e as seguintes são o triângulo inferior
+     * da hessiana, linha por linha (veja {@link #getIndiceHessiana}).
+     *
+     * @param expressao expressão
+     * @param variaveis variáveis, na ordem do vetor de entrada
+     * @return grafo do gradiente e da hessiana
+     * @throws ParseException erro de sintaxe ou derivada desconhecida
+     */
+    public static GrafoDeDerivadas hessiana(String expressao, String... variaveis) throws ParseException {
+        return parciais(expressao, variaveis, true);
+    }
+
+    private static GrafoDeDerivadas parciais(String expressao, String[] variaveis, boolean comHessiana)
+            throws ParseException {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        requireNonNull(variaveis, "As variáveis não podem ser nulas.");
+        if (variaveis.length == 0) {
+            throw new IllegalArgumentException("Informe pelo menos uma variável.");
+        }
+        String[] copia = variaveis.clone();
+        return PoolDeParsers.getPadrao().executar(djep -> {
+            Construtor construtor = new Construtor(copia);
+            Node no = djep.parse(expressao);
+            construtor.saida(djep, no);
+            Node[] gradiente = new Node[copia.length];
+            for (int i = 0; i < copia.length; i++) {
+                gradiente[i] = djep.simplify(djep.differentiate(no, copia[i]));
+                construtor.saida(djep, gradiente[i]);
+            }
+            if (comHessiana) {
+                for (int i = 0; i < copia.length; i++) {
+                    for (int j = 0; j <= i; j++) {
+                        construtor.saida(djep, djep.simplify(djep.differentiate(gradiente[i], copia[j])));
+                    }
+                }
+            }
+            return new GrafoDeDerivadas(construtor, copia, comHessiana);
+        });
+    }
+
+    /**
+     * Avaliar todas as saídas em um ponto
+     *
+     * @param x valores das variáveis, na ordem informada na criação
+     * @param saida array que recebe os valores das saídas
+     */
+    public void avaliar(double[] x, double[] saida) {
+        if (x.length != variaveis.length) {
+            throw new IllegalArgumentException("Informe " + variaveis.length + " valores para as variáveis.");
+        }
+        if (saida.length < saidas.length) {
+            throw new IllegalArgumentException("O array de saída deve ter pelo menos " + saidas.length + " posições.");
+        }
+        double[] r = new double[ops.length];
+        calcular(x, r);
+        for (int i = 0; i < saidas.length; i++) {
+            saida[i] = r[saidas[i]];
+        }
+    }
+
+    /**
+     * Calcular todos os nós, em ordem topológica
+     *
+     * @param x valores das variáveis
+     * @param r array que recebe o valor de cada nó
+     */
+    private void calcular(double[] x, double[] r) {
+        for (int k = 0; k < ops.length; k++) {
+            switch (ops[k]) {
+                case CONSTANTE ->
+                    r[k] = valores[k];
+                case VARIAVEL ->
+                    r[k] = x[(int) valores[k]];
+                case EXTERNA -> {
+                    double[] valoresArgumentos = new double[argumentos[k].length];
+                    for (int i = 0; i < valoresArgumentos.length; i++) {
+                        valoresArgumentos[i] = r[argumentos[k][i]];
+                    }
+                    r[k] = NoDeExpressao.aplicarComando(comandos[k], valoresArgumentos);
+                }
+                case SOMA ->
+                    r[k] = r[a[k]] + r[b[k]];
+                case SUBTRACAO ->
+                    r[k] = r[a[k]] - r[b[k]];
+                case MULTIPLICACAO ->
+                    r[k] = r[a[k]] * r[b[k]];
+                case DIVISAO ->
+                    r[k] = r[a[k]] / r[b[k]];
+                default ->
+                    r[k] = ops[k].aplicar(r[a[k]], b[k] < 0 ? 0 : r[b[k]]);
+            }
+        }
+    }
+
+    /**
+     * Avaliar todas as saídas em um ponto
+     *
+     * @param x valores das variáveis, na ordem informada na criação
+     * @return valores das saídas
+     */
+    public double[] avaliar(double... x) {
+        double[] saida = new double[saidas.length];
+        avaliar(x, saida);
+        return saida;
+    }
+
+    /**
+     * Obter uma saída como função de uma variável (somente para grafos de
+     * uma variável). Avalia o grafo inteiro a cada ponto; para várias saídas,
+     * prefira {@link #avaliar(double[], double[])}. Em lote, os valores dos
+     * nós ficam em um único array, reaproveitado em todos os pontos.
+     *
+     * @param indice índice da saída
+     * @return função
+     */
+    public Funcao getFuncao(int indice) {
+        if (variaveis.length != 1) {
+            throw new IllegalStateException("Somente grafos de uma variável podem ser vistos como Funcao.");
+        }
+        if (indice < 0 || indice >= saidas.length) {
+            throw new IllegalArgumentException("A saída deve estar entre 0 e " + (saidas.length - 1) + ".");
+        }
+        int no = saidas[indice];
+        return new Funcao() {
+            @Override
+            public double apply(double x) {
+                double[] r = new double[ops.length];
+                calcular(new double[]{x}, r);
+                return r[no];
+            }
+
+            @Override
+            public void applyBatch(double[] in, double[] out, int from, int to) {
+                Objects.checkFromToIndex(from, to, Math.min(in.length, out.length));
+                double[] r = new double[ops.length];
+                double[] x = new double[1];
+                for (int i = from; i < to; i++) {
+                    x[0] = in[i];
+                    calcular(x, r);
+                    out[i] = r[no];
+                }
+            }
+        };
+    }
+
+    /**
+     * Obter o índice da derivada parcial em relação à variável i (grafos
+     * criados por {@link #gradiente} ou {@link #hessiana})
+     *
+     * @param i índice da variável
+     * @return índice da saída
+     */
+    public int getIndiceGradiente(int i) {
+        return 1 + i;
+    }
+
+    /**
+     * Obter o índice da derivada segunda em relação às variáveis i e j
+     * (grafos criados por {@link #hessiana})
+     *
+     * @param i índice da primeira variável
+     * @param j índice da segunda variável
+     * @return índice da saída
+     */
+    public int getIndiceHessiana(int i, int j) {
+        if (!comHessiana) {
+            throw new IllegalStateException("O grafo não tem a matriz hessiana.");
+        }
+        int maior = Math.max(i, j);
+        int menor = Math.min(i, j);
+        return 1 + variaveis.length + maior * (maior + 1) / 2 + menor;
+    }
+
+    /**
+     * Obter o texto (simplificado pelo DJep) de uma saída
+     *
+     * @param indice índice da saída
+     * @return expressão da saída
+     */
+    public String getTexto(int indice) {
+        return textos[indice];
+    }
+
+    /**
+     * Obter o número de saídas
+     *
+     * @return número de saídas
+     */
+    public int getNumeroDeSaidas() {
+        return saidas.length;
+    }
+
+    /**
+     * Obter as variáveis, na ordem do vetor de entrada
+     *
+     * @return variáveis
+     */
+    public String[] getVariaveis() {
+        return variaveis.clone();
+    }
+
+    /**
+     * Obter o número de nós do grafo (depois da consolidação)
+     *
+     * @return número de nós
+     */
+    public int getNumeroDeNos() {
+        return ops.length;
+    }
+
+    /**
+     * Construtor do grafo com consolidação de nós
+     */
+    private static final class Construtor {
+
+        private final String[] variaveis;
+        private final List<Op> ops = new ArrayList<>();
+        private final List<Double> valores = new ArrayList<>();
+        private final List<int[]> filhos = new ArrayList<>();
+        private final List<PostfixMathCommandI> comandos = new ArrayList<>();
+        private final Map<Chave, Integer> indices = new HashMap<>();
+        private final List<Integer> saidas = new ArrayList<>();
+        private final List<String> textos = new ArrayList<>();
+
+        Construtor(String[] variaveis) {
+            this.variaveis = variaveis;
+        }
+
+        void saida(DJep djep, Node no) {
+            saidas.add(converter(no));
+            textos.add(djep.toString(no));
+        }
+
+        private int converter(Node node) {
+            if (node instanceof ASTConstant constante) {
+                if (constante.getValue() instanceof Number numero) {
+                    return constante(numero.doubleValue());
+                }
+                throw new IllegalArgumentException("Constante não suportada: " + constante.getValue() + ".");
+            }
+            if (node instanceof ASTVarNode var) {
+                for (int i = 0; i < variaveis.length; i++) {
+                    if (variaveis[i].equals(var.getName())) {
+                        return no(Op.VARIAVEL, i, new int[0], null);
+                    }
+                }
+                if (var.getVar().isConstant() && var.getVar().getValue() instanceof Number numero) {
+                    return constante(numero.doubleValue());
+                }
+                throw new IllegalArgumentException("Variável não suportada: " + var.getName() + ".");
+            }
+            if (!(node instanceof ASTFunNode fun)) {
+                throw new IllegalArgumentException("Nó não suportado: " + node.getClass().getSimpleName() + ".");
+            }
+            int n = fun.jjtGetNumChildren();
+            int[] ids = new int[n];
+            boolean constantes = true;
+            for (int i = 0; i < n; i++) {
+                ids[i] = converter(fun.jjtGetChild(i));
+                constantes &= ops.get(ids[i]) == Op.CONSTANTE;
+            }
+            Op op = Op.de(fun.getPFMC(), n);
+            if (op != null && (op.aridade == n || (op == Op.SOMA || op == Op.MULTIPLICACAO) && n > 2)) {
+                int id = op.aridade == 1 ? operacao(op, ids[0], -1) : operacao(op, ids[0], ids[1]);
+                for (int i = 2; i < n; i++) {
+                    id = operacao(op, id, ids[i]);
+                }
+                return id;
+            }
+            // sem tradução direta: avaliado pelo comando do JEP
+            if (constantes) {
+                double[] args = new double[n];
+                for (int i = 0; i < n; i++) {
+                    args[i] = valores.get(ids[i]);
+                }
+                return constante(NoDeExpressao.aplicarComando(fun.getPFMC(), args));
+            }
+            return no(Op.EXTERNA, 0, ids, fun.getPFMC());
+        }
+
+        private int constante(double valor) {
+            return no(Op.CONSTANTE, valor, new int[0], null);
+        }
+
+        private int operacao(Op op, int x, int y) {
+            boolean constantes = ops.get(x) == Op.CONSTANTE && (y < 0 || ops.get(y) == Op.CONSTANTE);
+            if (constantes) {
+                return constante(op.aplicar(valores.get(x), y < 0 ? 0 : valores.get(y)));
+            }
+            if (y < 0) {
+                return no(op, 0, new int[]{x}, null);
+            }
+            // soma e multiplicação são comutativas: a + b e b + a são o mesmo nó
+            if ((op == Op.SOMA || op == Op.MULTIPLICACAO) && y < x) {
+                return no(op, 0, new int[]{y, x}, null);
+            }
+            return no(op, 0, new int[]{x, y}, null);
+        }
+
+        /**
+         * Obter o nó existente igual ou criar um novo
+         */
+        private int no(Op op, double valor, int[] ids, PostfixMathCommandI comando) {
+            Chave chave = new Chave(op, Double.doubleToLongBits(valor), ids, comando);
+            Integer existente = indices.get(chave);
+            if (existente != null) {
+                return existente;
+            }
+            int id = ops.size();
+            ops.add(op);
+            valores.add(valor);
+            filhos.add(ids);
+            comandos.add(comando);
+            indices.put(chave, id);
+            return id;
+        }
+    }
+
+    /**
+     * Chave de consolidação: operação, valor, filhos e comando do JEP
+     */
+    private static final class Chave {
+
+        private final Op op;
+        private final long valor;
+        private final int[] filhos;
+        private final PostfixMathCommandI comando;
+
+        Chave(Op op, long valor, int[] filhos, PostfixMathCommandI comando) {
+            this.op = op;
+            this.valor = valor;
+            this.filhos = filhos;
+            this.comando = comando;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Chave outra && op == outra.op && valor == outra.valor
+                    && comando == outra.comando && Arrays.equals(filhos, outra.filhos);
+        }
+
+        @Override
+        public int hashCode() {
+            return (op.hashCode() * 31 + Long.hashCode(valor)) * 31 + Arrays.hashCode(filhos)
+                    + System.identityHashCode(comando);
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package br.com.mauricioborges.graficos.math;
+
+import br.com.mauricioborges.graficos.math.simbolico.Expressao;
+import br.com.mauricioborges.graficos.math.simbolico.FuncaoElementar;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Stack;
+import org.nfunk.jep.ASTConstant;
+import org.nfunk.jep.ASTFunNode;
+import org.nfunk.jep.ASTVarNode;
+import org.nfunk.jep.Node;
+import org.nfunk.jep.ParseException;
+import org.nfunk.jep.function.Abs;
+import org.nfunk.jep.function.Add;
+import org.nfunk.jep.function.ArcCosine;
+import org.nfunk.jep.function.ArcSine;
+import org.nfunk.jep.function.ArcTangent;
+import org.nfunk.jep.function.ArcTangent2;
+import org.nfunk.jep.function.Cosine;
+import org.nfunk.jep.function.CosineH;
+import org.nfunk.jep.function.Divide;
+import org.nfunk.jep.function.Exp;
+import org.nfunk.jep.function.If;
+import org.nfunk.jep.function.Logarithm;
+import org.nfunk.jep.function.Modulus;
+import org.nfunk.jep.function.Multiply;
+import org.nfunk.jep.function.NaturalLogarithm;
+import org.nfunk.jep.function.PostfixMathCommandI;
+import org.nfunk.jep.function.Power;
+import org.nfunk.jep.function.Sine;
+import org.nfunk.jep.function.SineH;
+import org.nfunk.jep.function.SquareRoot;
+import org.nfunk.jep.function.Subtract;
+import org.nfunk.jep.function.TanH;
+import org.nfunk.jep.function.Tangent;
+import org.nfunk.jep.function.UMinus;
+
+/**
+ * Árvore intermediária de uma expressão do DJep em uma variável, com as
+ * subexpressões constantes já calculadas. Usada pelo
+ * {@link CompiladorDeExpressoes} e pelo {@link AvaliadorColunar}.
+ * <p>
+ * A árvore é independente do parser que criou o {@code Node}: as constantes
+ * nomeadas são lidas na conversão, e funções sem correspondente em
+ * {@link Math} guardam o comando do JEP, avaliado com sincronização porque o
+ * comando pode ser compartilhado entre threads.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+final class NoDeExpressao {
+
+    /**
+     * Operações com tradução direta para a JVM
+     */
+    enum Op {
+        CONSTANTE(0, null),
+        VARIAVEL(0, null),
+        EXTERNA(0, null),
+        SOMA(2, null),
+        SUBTRACAO(2, null),
+        MULTIPLICACAO(2, null),
+        DIVISAO(2, null),
+        RESTO(2, null),
+        NEGACAO(1, null),
+        POTENCIA(2, "pow"),
+        ATAN2(2, "atan2"),
+        SEN(1, "sin"),
+        COS(1, "cos"),
+        TAN(1, "tan"),
+        ASEN(1, "asin"),
+        ACOS(1, "acos"),
+        ATAN(1, "atan"),
+        SENH(1, "sinh"),
+        COSH(1, "cosh"),
+        TANH(1, "tanh"),
+        LN(1, "log"),
+        LOG10(1, "log10"),
+        EXP(1, "exp"),
+        RAIZ(1, "sqrt"),
+        ABS(1, "abs");
+
+        final int aridade;
+        final String metodoMath;
+
+        Op(int aridade, String metodoMath) {
+            this.aridade = aridade;
+            this.metodoMath = metodoMath;
+        }
+
+        /**
+         * Aplicar a operação (mesma semântica da instrução gerada pelo
+         * compilador)
+         */
+        double aplicar(double a, double b) {
+            return switch (this) {
+                case SOMA -> a + b;
+                case SUBTRACAO -> a - b;
+                case MULTIPLICACAO -> a * b;
+                case DIVISAO -> a / b;
+                case RESTO -> a % b;
+                case NEGACAO -> -a;
+                case POTENCIA -> Math.pow(a, b);
+                case ATAN2 -> Math.atan2(a, b);
+                case SEN -> Math.sin(a);
+                case COS -> Math.cos(a);
+                case TAN -> Math.tan(a);
+                case ASEN -> Math.asin(a);
+                case ACOS -> Math.acos(a);
+                case ATAN -> Math.atan(a);
+                case SENH -> Math.sinh(a);
+                case COSH -> Math.cosh(a);
+                case TANH -> Math.tanh(a);
+                case LN -> Math.log(a);
+                case LOG10 -> Math.log10(a);
+                case EXP -> Math.exp(a);
+                case RAIZ -> Math.sqrt(a);
+                case ABS -> Math.abs(a);
+                default -> throw new IllegalStateException(name());
+            };
+        }
+
+        static Op de(PostfixMathCommandI pfmc, int nFilhos) {
+            if (pfmc instanceof Add) {
+                return SOMA;
+            } else if (pfmc instanceof Subtract) {
+                return nFilhos == 2 ? SUBTRACAO : null;
+            } else if (pfmc instanceof Multiply) {
+                return MULTIPLICACAO;
+            } else if (pfmc instanceof Divide) {
+                return DIVISAO;
+            } else if (pfmc instanceof Modulus) {
+                return RESTO;
+            } else if (pfmc instanceof UMinus) {
+                return NEGACAO;
+            } else if (pfmc instanceof Power) {
+                return POTENCIA;
+            } else if (pfmc instanceof ArcTangent2) {
+                return ATAN2;
+            } else if (pfmc instanceof Sine) {
+                return SEN;
+            } else if (pfmc instanceof Cosine) {
+                return COS;
+            } else if (pfmc instanceof Tangent) {
+                return TAN;
+            } else if (pfmc instanceof ArcSine) {
+                return ASEN;
+            } else if (pfmc instanceof ArcCosine) {
+                return ACOS;
+            } else if (pfmc instanceof ArcTangent) {
+                return ATAN;
+            } else if (pfmc instanceof SineH) {
+                return SENH;
+            } else if (pfmc instanceof CosineH) {
+                return COSH;
+            } else if (pfmc instanceof TanH) {
+                return TANH;
+            } else if (pfmc instanceof NaturalLogarithm) {
+                return LN;
+            } else if (pfmc instanceof Logarithm) {
+                return LOG10;
+            } else if (pfmc instanceof Exp) {
+                return EXP;
+            } else if (pfmc instanceof SquareRoot) {
+                return RAIZ;
+            } else if (pfmc instanceof Abs) {
+                return ABS;
+            }
+            return null;
+        }
+    }
+
+    final Op op;
+    final double valor;
+    final NoDeExpressao[] filhos;
+    final PostfixMathCommandI comando;
+    final String nome;
+
+    private NoDeExpressao(Op op, double valor, NoDeExpressao[] filhos, PostfixMathCommandI comando, String nome) {
+        this.op = op;
+        this.valor = valor;
+        this.filhos = filhos;
+        this.comando = comando;
+        this.nome = nome;
+    }
+
+    static NoDeExpressao constante(double valor) {
+        return new NoDeExpressao(Op.CONSTANTE, valor, new NoDeExpressao[0], null, null);
+    }
+
+    static NoDeExpressao variavel(String nome) {
+        return new NoDeExpressao(Op.VARIAVEL, 0, new NoDeExpressao[0], null, nome);
+    }
+
+    /**
+     * Criar um nó de operação, calculando-o se todos os filhos forem
+     * constantes
+     */
+    static NoDeExpressao operacao(Op op, NoDeExpressao a, NoDeExpressao b) {
+        NoDeExpressao[] filhos = b == null ? new NoDeExpressao[]{a} : new NoDeExpressao[]{a, b};
+        if (a.op == Op.CONSTANTE && (b == null || b.op == Op.CONSTANTE)) {
+            return constante(op.aplicar(a.valor, b == null ? 0 : b.valor));
+        }
+        return new NoDeExpressao(op, 0, filhos, null, null);
+    }
+
+    /**
+     * Combinar os termos de uma soma ou multiplicação em uma árvore
+     * balanceada, de profundidade log₂(n): somas com milhares de termos não
+     * viram cadeias que estouram a pilha nas funções recursivas
+     */
+    static NoDeExpressao associativa(Op op, List<NoDeExpressao> termos) {
+        return associativa(op, termos, 0, termos.size());
+    }
+
+    private static NoDeExpressao associativa(Op op, List<NoDeExpressao> termos, int de, int ate) {
+        if (ate - de == 1) {
+            return termos.get(de);
+        }
+        int meio = (de + ate) >>> 1;
+        return operacao(op, associativa(op, termos, de, meio), associativa(op, termos, meio, ate));
+    }
+
+    /**
+     * Criar um nó avaliado pelo comando do JEP, calculando-o se todos os
+     * filhos forem constantes
+     */
+    static NoDeExpressao externa(PostfixMathCommandI comando, String nome, NoDeExpressao[] filhos) {
+        NoDeExpressao no = new NoDeExpressao(Op.EXTERNA, 0, filhos, comando, nome);
+        for (NoDeExpressao filho : filhos) {
+            if (filho.op != Op.CONSTANTE) {
+                return no;
+            }
+        }
+        return constante(no.avaliar(0));
+    }
+
+    /**
+     * Converter a árvore do DJep
+     *
+     * @param node árvore do DJep
+     * @param variavel nome da variável
+     * @return árvore intermediária
+     */
+    static NoDeExpressao converter(Node node, String variavel) {
+        if (node instanceof ASTConstant constante) {
+            if (constante.getValue() instanceof Number numero) {
+                return constante(numero.doubleValue());
+            }
+            throw new IllegalArgumentException("Constante não suportada: " + constante.getValue() + ".");
+        }
+        if (node instanceof ASTVarNode var) {
+            if (var.getName().equals(variavel)) {
+                return variavel(variavel);
+            }
+            if (var.getVar().isConstant() && var.getVar().getValue() instanceof Number numero) {
+                return constante(numero.doubleValue());
+            }
+            throw new IllegalArgumentException("Variável não suportada: " + var.getName() + ".");
+        }
+        if (!(node instanceof ASTFunNode fun)) {
+            throw new IllegalArgumentException("Nó não suportado: " + node.getClass().getSimpleName() + ".");
+        }
+        int n = fun.jjtGetNumChildren();
+        Op op = Op.de(fun.getPFMC(), n);
+        if (op == Op.SOMA || op == Op.MULTIPLICACAO) {
+            // o parser encadeia a + b + c como ((a + b) + c): os termos são
+            // juntados sem recursão e recombinados em uma árvore balanceada
+            List<NoDeExpressao> termos = new ArrayList<>();
+            for (Node termo : termos(fun)) {
+                termos.add(converter(termo, variavel));
+            }
+            return associativa(op, termos);
+        }
+        NoDeExpressao[] filhos = new NoDeExpressao[n];
+        for (int i = 0; i < n; i++) {
+            filhos[i] = converter(fun.jjtGetChild(i), variavel);
+        }
+        if (op != null && op.aridade == n) {
+            return operacao(op, filhos[0], n == 2 ? filhos[1] : null);
+        }
+        // sem tradução direta: avaliado pelo comando do JEP
+        return externa(fun.getPFMC(), fun.getName(), filhos);
+    }
+
+    /**
+     * Operandos de uma cadeia de somas ou multiplicações, da esquerda para a
+     * direita
+     */
+    private static List<Node> termos(ASTFunNode raiz) {
+        Class<?> comando = raiz.getPFMC().getClass();
+        List<Node> termos = new ArrayList<>();
+        Deque<Node> pendentes = new ArrayDeque<>();
+        pendentes.push(raiz);
+        while (!pendentes.isEmpty()) {
+            Node no = pendentes.pop();
+            if (no instanceof ASTFunNode fun && fun.getPFMC().getClass() == comando) {
+                for (int i = fun.jjtGetNumChildren() - 1; i >= 0; i--) {
+                    pendentes.push(fun.jjtGetChild(i));
+                }
+            } else {
+                termos.add(no);
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Converter uma expressão simbólica nativa. Fatores com expoente -1 viram
+     * divisões.
+     *
+     * @param expressao expressão simbólica
+     * @param variavel nome da variável
+     * @return árvore intermediária
+     */
+    static NoDeExpressao converter(Expressao expressao, String variavel) {
+        switch (expressao.getTipo()) {
+            case CONSTANTE:
+                return constante(expressao.getValor());
+            case VARIAVEL:
+                if (expressao.getNome().equals(variavel)) {
+                    return variavel(variavel);
+                }
+                throw new IllegalArgumentException("Variável não suportada: " + expressao.getNome() + ".");
+            case FUNCAO:
+                // os nomes coincidem, exceto log (base 10)
+                Op op = expressao.getFuncao() == FuncaoElementar.LOG ? Op.LOG10 : Op.valueOf(expressao.getFuncao().name());
+                return operacao(op, converter(expressao.getFilho(0), variavel), null);
+            case POTENCIA:
+                return operacao(Op.POTENCIA, converter(expressao.getFilho(0), variavel),
+                        converter(expressao.getFilho(1), variavel));
+            case SOMA: {
+                List<NoDeExpressao> termos = new ArrayList<>(expressao.getNumeroDeFilhos());
+                for (int i = 0; i < expressao.getNumeroDeFilhos(); i++) {
+                    termos.add(converter(expressao.getFilho(i), variavel));
+                }
+                return associativa(Op.SOMA, termos);
+            }
+            default: {
+                List<NoDeExpressao> numerador = new ArrayList<>();
+                List<NoDeExpressao> denominador = new ArrayList<>();
+                for (int i = 0; i < expressao.getNumeroDeFilhos(); i++) {
+                    Expressao fator = expressao.getFilho(i);
+                    if (fator.getTipo() == Expressao.Tipo.POTENCIA && fator.getFilho(1).getTipo() == Expressao.Tipo.CONSTANTE
+                            && fator.getFilho(1).getValor() == -1) {
+                        denominador.add(converter(fator.getFilho(0), variavel));
+                    } else {
+                        numerador.add(converter(fator, variavel));
+                    }
+                }
+                NoDeExpressao no = numerador.isEmpty() ? constante(1) : associativa(Op.MULTIPLICACAO, numerador);
+                if (denominador.isEmpty()) {
+                    return no;
+                }
+                return operacao(Op.DIVISAO, no, associativa(Op.MULTIPLICACAO, denominador));
+            }
+        }
+    }
+
+    /**
+     * Avaliar o nó em um ponto
+     *
+     * @param x valor da variável
+     * @return valor do nó
+     */
+    double avaliar(double x) {
+        switch (op) {
+            case CONSTANTE:
+                return valor;
+            case VARIAVEL:
+                return x;
+            case EXTERNA:
+                double[] argumentos = new double[filhos.length];
+                for (int i = 0; i < filhos.length; i++) {
+                    argumentos[i] = filhos[i].avaliar(x);
+                }
+                return aplicarComando(argumentos);
+            default:
+                double a = filhos[0].avaliar(x);
+                return op.aplicar(a, op.aridade == 2 ? filhos[1].avaliar(x) : 0);
+        }
+    }
+
+    /**
+     * Aplicar o comando do JEP de um nó externo
+     *
+     * @param argumentos valores dos filhos
+     * @return resultado (NaN se o comando falhar ou não retornar um número)
+     */
+    double aplicarComando(double[] argumentos) {
+        return aplicarComando(comando, argumentos);
+    }
+
+    /**
+     * Aplicar um comando do JEP a argumentos numéricos
+     *
+     * @param comando comando do JEP
+     * @param argumentos argumentos
+     * @return resultado (NaN se o comando falhar ou não retornar um número)
+     */
+    static double aplicarComando(PostfixMathCommandI comando, double[] argumentos) {
+        if (comando instanceof If && (argumentos.length == 3 || argumentos.length == 4)) {
+            // o if do JEP só tem avaliação preguiçosa; aqui os ramos já foram calculados
+            double condicao = argumentos[0];
+            if (condicao > 0) {
+                return argumentos[1];
+            }
+            return argumentos.length == 3 || condicao < 0 ? argumentos[2] : argumentos[3];
+        }
+        Stack<Object> pilha = new Stack<>();
+        for (double argumento : argumentos) {
+            pilha.push(argumento);
+        }
+        // o comando pertence ao parser e pode ser compartilhado entre threads
+        synchronized (comando) {
+            try {
+                comando.setCurNumberOfParameters(argumentos.length);
+                comando.run(pilha);
+            } catch (ParseException e) {
+                return Double.NaN;
+            }
+        }
+        return pilha.pop() instanceof Number numero ? numero.doubleValue() : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return texto(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Texto da árvore, cortado com "..." depois de limite caracteres
+     *
+     * @param limite número de caracteres
+     * @return texto
+     */
+    String texto(int limite) {
+        StringBuilder sb = new StringBuilder();
+        escrever(sb, limite);
+        if (sb.length() > limite) {
+            sb.setLength(limite);
+            sb.append("...");
+        }
+        return sb.toString();
+    }
+
+    private void escrever(StringBuilder sb, int limite) {
+        if (sb.length() > limite) {
+            return;
+        }
+        switch (op) {
+            case CONSTANTE ->
+                sb.append(valor);
+            case VARIAVEL ->
+                sb.append(nome);
+            case NEGACAO -> {
+                sb.append('-');
+                filhos[0].escrever(sb, limite);
+            }
+            case SOMA, SUBTRACAO, MULTIPLICACAO, DIVISAO, RESTO, POTENCIA -> {
+                sb.append('(');
+                filhos[0].escrever(sb, limite);
+                sb.append(switch (op) {
+                    case SOMA -> " + ";
+                    case SUBTRACAO -> " - ";
+                    case MULTIPLICACAO -> " * ";
+                    case DIVISAO -> " / ";
+                    case RESTO -> " % ";
+                    default -> " ^ ";
+                });
+                filhos[1].escrever(sb, limite);
+                sb.append(')');
+            }
+            default -> {
+                sb.append(switch (op) {
+                    case EXTERNA -> nome;
+                    case LN -> "ln";
+                    case LOG10 -> "log";
+                    default -> op.metodoMath;
+                }).append('(');
+                for (int i = 0; i < filhos.length; i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    filhos[i].escrever(sb, limite);
+                }
+                sb.append(')');
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Função polinomial imutável avaliada pelo método de Horner
+ * <p>
+ * y = c0 + c1·x + c2·x² + ... + cn·xⁿ
+ * <p>
+ * A derivada e a integral são calculadas diretamente sobre os coeficientes,
+ * em O(grau), e também são polinômios.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class Polinomio implements FuncaoDiferenciavel, FuncaoSemEstado {
+
+    private final double[] coeficientes;
+
+    /**
+     * Cria o polinômio a partir dos coeficientes em ordem crescente de grau
+     *
+     * @param coeficientes c0, c1, ..., cn (o array é copiado)
+     */
+    public Polinomio(double... coeficientes) {
+        requireNonNull(coeficientes, "Os coeficientes não podem ser nulos.");
+        this.coeficientes = coeficientes.length == 0 ? new double[]{0} : coeficientes.clone();
+    }
+
+    /**
+     * Obter os coeficientes em ordem crescente de grau
+     *
+     * @return cópia dos coeficientes
+     */
+    public double[] getCoeficientes() {
+        return coeficientes.clone();
+    }
+
+    /**
+     * Obter o grau do polinômio (número de coeficientes - 1)
+     *
+     * @return grau
+     */
+    public int getGrau() {
+        return coeficientes.length - 1;
+    }
+
+    @Override
+    public double apply(double x) {
+        double[] c = coeficientes;
+        double resultado = c[c.length - 1];
+        for (int i = c.length - 2; i >= 0; i--) {
+            resultado = resultado * x + c[i];
+        }
+        return resultado;
+    }
+
+    @Override
+    public void applyBatch(double[] in, double[] out, int from, int to) {
+        Objects.checkFromToIndex(from, to, Math.min(in.length, out.length));
+        double[] c = coeficientes;
+        int grau = c.length - 1;
+        double cn = c[grau];
+        for (int i = from; i < to; i++) {
+            double x = in[i];
+            double resultado = cn;
+            for (int k = grau - 1; k >= 0; k--) {
+                resultado = resultado * x + c[k];
+            }
+            out[i] = resultado;
+        }
+    }
+
+    @Override
+    public Dual apply(Dual x) {
+        double[] c = coeficientes;
+        Dual resultado = Dual.constante(c[c.length - 1]);
+        for (int i = c.length - 2; i >= 0; i--) {
+            resultado = resultado.multiplicar(x).somar(c[i]);
+        }
+        return resultado;
+    }
+
+    @Override
+    public double derivada(double x) {
+        // Horner simultâneo para p(x) e p'(x)
+        double[] c = coeficientes;
+        double p = c[c.length - 1];
+        double d = 0;
+        for (int i = c.length - 2; i >= 0; i--) {
+            d = d * x + p;
+            p = p * x + c[i];
+        }
+        return d;
+    }
+
+    @Override
+    public Polinomio getDerivada() {
+        return derivada();
+    }
+
+    /**
+     * Obter a derivada exata
+     *
+     * @return p'
+     */
+    public Polinomio derivada() {
+        double[] c = coeficientes;
+        if (c.length == 1) {
+            return new Polinomio(0);
+        }
+        double[] d = new double[c.length - 1];
+        for (int i = 1; i < c.length; i++) {
+            d[i - 1] = i * c[i];
+        }
+        return new Polinomio(d);
+    }
+
+    /**
+     * Obter a derivada exata de ordem n
+     *
+     * @param ordem ordem da derivada (maior ou igual a zero)
+     * @return derivada de ordem n
+     */
+    public Polinomio derivada(int ordem) {
+        if (ordem < 0) {
+            throw new IllegalArgumentException("A ordem da derivada não pode ser negativa.");
+        }
+        double[] c = coeficientes;
+        if (ordem == 0) {
+            return this;
+        }
+        if (ordem >= c.length) {
+            return new Polinomio(0);
+        }
+        double[] d = new double[c.length - ordem];
+        for (int i = ordem; i < c.length; i++) {
+            // i·(i-1)·...·(i-ordem+1)
+            double fator = 1;
+            for (int k = i - ordem + 1; k <= i; k++) {
+                fator *= k;
+            }
+            d[i - ordem] = fator * c[i];
+        }
+        return new Polinomio(d);
+    }
+
+    /**
+     * Obter a primitiva exata com constante de integração zero
+     *
+     * @return P tal que P' = p e P(0) = 0
+     */
+    public Polinomio integral() {
+        double[] c = coeficientes;
+        double[] p = new double[c.length + 1];
+        for (int i = 0; i < c.length; i++) {
+            p[i + 1] = c[i] / (i + 1);
+        }
+        return new Polinomio(p);
+    }
+
+    /**
+     * Calcular a integral definida
+     *
+     * @param a limite inferior
+     * @param b limite superior
+     * @return integral de p de a até b
+     */
+    public double integral(double a, double b) {
+        Polinomio primitiva = integral();
+        return primitiva.apply(b) - primitiva.apply(a);
+    }
+
+    /**
+     * Texto do polinômio em x, do maior para o menor grau, na sintaxe aceita
+     * pelo DJep e pelo parser simbólico (ex.: 3*x^2-2*x+1)
+     *
+     * @return texto
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        double[] c = coeficientes;
+        for (int i = c.length - 1; i >= 0; i--) {
+            double ci = c[i];
+            if (ci == 0) {
+                continue;
+            }
+            if (ci < 0) {
+                sb.append('-');
+            } else if (sb.length() > 0) {
+                sb.append('+');
+            }
+            double abs = Math.abs(ci);
+            if (abs != 1 || i == 0) {
+                sb.append(formatar(abs));
+                if (i > 0) {
+                    sb.append('*');
+                }
+            }
+            if (i > 0) {
+                sb.append('x');
+            }
+            if (i > 1) {
+                sb.append('^').append(i);
+            }
+        }
+        return sb.length() == 0 ? "0" : sb.toString();
+    }
+
+    private static String formatar(double v) {
+        if (v == Math.rint(v) && v < 1e15) {
+            return Long.toString((long) v);
+        }
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            return Double.toString(v);
+        }
+        return BigDecimal.valueOf(v).toPlainString();
+    }
+}
@@ -0,0 +1,603 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Busca das raízes, dos máximos e mínimos locais e dos pontos de inflexão de
+ * uma {@link Funcao} em um intervalo. Exemplo:
+ *
+ * <pre><code>
+ * PontosNotaveis busca = new PontosNotaveis.Builder().build();
+ * PontosNotaveis.Resultado r = busca.buscar(x -&gt; Math.sin(x) * x, 0, 20);
+ * double[] raizes = r.getRaizes();
+ * </code></pre>
+ * <p>
+ * Cada tipo de ponto é um zero: raízes são zeros de f, extremos são zeros de
+ * f' com troca de sinal e inflexões são zeros de f'' com troca de sinal. Os
+ * zeros são procurados em uma grade uniforme fina, avaliada em lote: cada
+ * troca de sinal entre pontos vizinhos é um intervalo que contém um zero, que
+ * é refinado pelo método de Newton protegido pelo intervalo (quando a
+ * derivada da função é conhecida) ou pelo método de Brent.
+ * <p>
+ * As buscas são feitas em cascata, de f'' para f: os zeros de f'' entram na
+ * grade usada para f', e os zeros de f' na grade usada para f. Assim, um pico
+ * estreito entre dois pontos da grade, que não troca o sinal de f nos pontos
+ * da grade, ainda tem as suas raízes separadas pelo extremo encontrado, e
+ * raízes duplas (em que f toca o zero sem trocar de sinal, como x² em 0) são
+ * reconhecidas nos extremos em que f se anula.
+ * <p>
+ * As derivadas vêm da própria função quando ela é uma
+ * {@link FuncaoDiferenciavel} (diferenciação automática, ou exata para
+ * polinômios) e, caso contrário, de {@link DerivadaNumerica}; também podem ser
+ * informadas, por exemplo com as derivadas simbólicas compiladas. A grade é
+ * dividida em segmentos avaliados e refinados em ordem na thread atual ou,
+ * se houver um pool, em paralelo nele (e então as funções devem ser
+ * thread-safe); o resultado não depende do número de threads.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class PontosNotaveis {
+
+    private static final double EPS = Math.ulp(1.0);
+
+    // número de segmentos da grade processados de forma independente
+    private static final int SEGMENTOS = 16;
+
+    // máximo de iterações do refinamento de cada zero
+    private static final int MAXIMO_DE_ITERACOES = 100;
+
+    // |g| abaixo de TOLERANCIA_TANGENTE·max|g| em um mínimo de |g| sem troca
+    // de sinal é uma raiz dupla
+    private static final double TOLERANCIA_TANGENTE = 64 * EPS;
+
+    // parâmetros da busca
+    private int subintervalos = 4096;
+    private double tolerancia = 0;
+    private ForkJoinPool pool = null;
+
+    private PontosNotaveis() {
+    }
+
+    /**
+     * Obter o número de subintervalos da grade uniforme (padrão é 4096)
+     *
+     * @return número de subintervalos
+     */
+    public int getSubintervalos() {
+        return subintervalos;
+    }
+
+    /**
+     * Obter a tolerância em x, relativa ao tamanho do intervalo (padrão é
+     * 0, isto é, a precisão de x)
+     *
+     * @return tolerância
+     */
+    public double getTolerancia() {
+        return tolerancia;
+    }
+
+    /**
+     * Obter o pool usado para processar os segmentos em paralelo
+     *
+     * @return pool (null se a busca é feita na thread atual)
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Buscar os pontos notáveis de uma função no intervalo [inicio, fim], com
+     * as derivadas obtidas automaticamente
+     *
+     * @param funcao função
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @return pontos encontrados
+     */
+    public Resultado buscar(Funcao funcao, double inicio, double fim) {
+        requireNonNull(funcao, "A função não pode ser nula.");
+        // as derivadas numéricas partem do espaçamento da grade, a escala em
+        // que a busca resolve a função (o passo automático, proporcional a
+        // |x|, pode ser maior que as oscilações)
+        double passo = (fim - inicio) / subintervalos;
+        Funcao primeira;
+        Funcao segunda;
+        if (funcao instanceof FuncaoDiferenciavel f) {
+            primeira = f.getDerivada();
+            segunda = primeira instanceof FuncaoDiferenciavel d
+                    ? d.getDerivada() : derivadaNumerica(primeira, 1, passo);
+        } else {
+            primeira = derivadaNumerica(funcao, 1, passo);
+            segunda = derivadaNumerica(funcao, 2, passo);
+        }
+        return buscar(funcao, primeira, segunda, inicio, fim);
+    }
+
+    private static Funcao derivadaNumerica(Funcao funcao, int ordem, double passo) {
+        DerivadaNumerica.Builder builder = new DerivadaNumerica.Builder(funcao).setOrdem(ordem);
+        if (passo > 0 && !Double.isInfinite(passo)) {
+            builder.setPasso(passo);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Buscar os pontos notáveis de uma função no intervalo [inicio, fim], com
+     * as derivadas informadas
+     *
+     * @param funcao função
+     * @param primeira derivada primeira
+     * @param segunda derivada segunda
+     * @param inicio início do intervalo
+     * @param fim fim do intervalo
+     * @return pontos encontrados
+     */
+    public Resultado buscar(Funcao funcao, Funcao primeira, Funcao segunda, double inicio, double fim) {
+        requireNonNull(funcao, "A função não pode ser nula.");
+        requireNonNull(primeira, "A derivada primeira não pode ser nula.");
+        requireNonNull(segunda, "A derivada segunda não pode ser nula.");
+        if (!(fim > inicio) || Double.isInfinite(inicio) || Double.isInfinite(fim)) {
+            throw new IllegalArgumentException("O intervalo deve ser finito e ter o fim maior que o início.");
+        }
+        int n = subintervalos + 1;
+        double[] grade = new double[n];
+        double h = (fim - inicio) / subintervalos;
+        for (int i = 0; i < n - 1; i++) {
+            grade[i] = inicio + i * h;
+        }
+        grade[n - 1] = fim;
+        double tol = tolerancia * (fim - inicio);
+        // derivada terceira para o Newton das inflexões, se houver
+        Funcao terceira = segunda instanceof FuncaoDiferenciavel d ? d.getDerivada() : null;
+
+        Zeros inflexoes = zeros(segunda, terceira, grade, false, tol);
+        Zeros extremos = zeros(primeira, segunda, unir(grade, inflexoes), false, tol);
+        Zeros raizes = zeros(funcao, primeira, unir(grade, extremos), true, tol);
+        return new Resultado(raizes.todos(), extremos.comDirecao(-1), extremos.comDirecao(1),
+                inflexoes.comTrocaDeSinal());
+    }
+
+    /**
+     * Zeros de g nos pontos xs (ordenados): pontos em que g é zero e
+     * intervalos entre pontos vizinhos em que g troca de sinal, refinados
+     */
+    private Zeros zeros(Funcao g, Funcao dg, double[] xs, boolean tangentes, double tol) {
+        int n = xs.length;
+        int nSegmentos = Math.min(SEGMENTOS, n - 1);
+        int[] limites = new int[nSegmentos + 1];
+        for (int s = 0; s <= nSegmentos; s++) {
+            limites[s] = (int) ((long) (n - 1) * s / nSegmentos);
+        }
+        limites[nSegmentos] = n;
+        double[] gs = new double[n];
+        executar(nSegmentos, s -> {
+            avaliar(g, xs, gs, limites[s], limites[s + 1]);
+            return null;
+        });
+        double escala = 0;
+        for (double v : gs) {
+            if (Double.isFinite(v)) {
+                escala = Math.max(escala, Math.abs(v));
+            }
+        }
+        double limiarTangente = TOLERANCIA_TANGENTE * escala;
+        Object[] partes = executar(nSegmentos, s -> {
+            Zeros zeros = new Zeros();
+            for (int k = limites[s]; k < limites[s + 1]; k++) {
+                double gk = gs[k];
+                if (!Double.isFinite(gk)) {
+                    continue;
+                }
+                double anterior = k > 0 ? gs[k - 1] : Double.NaN;
+                double proximo = k < n - 1 ? gs[k + 1] : Double.NaN;
+                if (gk == 0) {
+                    zeros.adicionar(xs[k], direcao(anterior, proximo));
+                    continue;
+                }
+                if (tangentes && Math.abs(gk) <= limiarTangente
+                        && Math.signum(anterior) == Math.signum(gk) && Math.signum(proximo) == Math.signum(gk)
+                        && Math.abs(gk) <= Math.abs(anterior) && Math.abs(gk) <= Math.abs(proximo)) {
+                    // mínimo de |g| quase zero sem troca de sinal: raiz dupla
+                    zeros.adicionar(xs[k], 0);
+                    continue;
+                }
+                if (k < n - 1 && Double.isFinite(proximo) && gk * proximo < 0) {
+                    double x = dg != null
+                            ? newton(g, dg, xs[k], xs[k + 1], gk, proximo, tol)
+                            : brent(g, xs[k], xs[k + 1], gk, proximo, tol);
+                    // perto de um polo |g| cresce em vez de diminuir
+                    if (Math.abs(g.apply(x)) <= Math.min(Math.abs(gk), Math.abs(proximo))) {
+                        zeros.adicionar(x, gk < 0 ? 1 : -1);
+                    }
+                }
+            }
+            return zeros;
+        });
+        Zeros resultado = new Zeros();
+        for (Object parte : partes) {
+            resultado.adicionar((Zeros) parte);
+        }
+        return resultado;
+    }
+
+    /**
+     * Direção da troca de sinal em torno de um zero exato (0 se não trocar)
+     */
+    private static int direcao(double anterior, double proximo) {
+        if (anterior < 0 && proximo > 0) {
+            return 1;
+        }
+        if (anterior > 0 && proximo < 0) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Avaliar g em lote, com NaN nos pontos em que a função lança exceção
+     */
+    private static void avaliar(Funcao g, double[] xs, double[] gs, int de, int ate) {
+        // em lote a derivada numérica usa o espaçamento da grade como passo,
+        // grosso demais perto de polos e de picos estreitos
+        if (!(g instanceof DerivadaNumerica)) {
+            try {
+                g.applyBatch(xs, gs, de, ate);
+                return;
+            } catch (RuntimeException e) {
+                // avalia ponto a ponto abaixo
+            }
+        }
+        for (int i = de; i < ate; i++) {
+            try {
+                gs[i] = g.apply(xs[i]);
+            } catch (RuntimeException e) {
+                gs[i] = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Método de Newton protegido pelo intervalo [a, b] em que g troca de
+     * sinal: quando o passo de Newton sai do intervalo ou não reduz o
+     * intervalo à metade, é trocado por uma bisseção
+     */
+    private static double newton(Funcao g, Funcao dg, double a, double b, double ga, double gb, double tol) {
+        // orientar o intervalo para que g(baixo) < 0
+        double baixo = ga < 0 ? a : b;
+        double alto = ga < 0 ? b : a;
+        double x = 0.5 * (a + b);
+        double passoAnterior = Math.abs(b - a);
+        double passo = passoAnterior;
+        for (int i = 0; i < MAXIMO_DE_ITERACOES; i++) {
+            double gx = g.apply(x);
+            double dgx = dg.apply(x);
+            if (gx == 0 || !Double.isFinite(gx)) {
+                return x;
+            }
+            if (gx < 0) {
+                baixo = x;
+            } else {
+                alto = x;
+            }
+            double novo = x - gx / dgx;
+            boolean foraDoIntervalo = !(Math.min(baixo, alto) < novo && novo < Math.max(baixo, alto));
+            if (foraDoIntervalo || Math.abs(2 * gx) > Math.abs(passoAnterior * dgx)) {
+                passoAnterior = passo;
+                passo = 0.5 * (alto - baixo);
+                novo = baixo + passo;
+            } else {
+                passoAnterior = passo;
+                passo = novo - x;
+            }
+            if (Math.abs(passo) <= 2 * EPS * Math.abs(novo) + 0.5 * tol || novo == x) {
+                return novo;
+            }
+            x = novo;
+        }
+        return x;
+    }
+
+    /**
+     * Método de Brent (interpolação quadrática inversa, secante e bisseção)
+     * no intervalo [a, b] em que g troca de sinal
+     */
+    private static double brent(Funcao g, double a, double b, double ga, double gb, double tol) {
+        double c = b;
+        double gc = gb;
+        double d = b - a;
+        double e = d;
+        for (int i = 0; i < MAXIMO_DE_ITERACOES; i++) {
+            if ((gb > 0) == (gc > 0)) {
+                // c do lado oposto a b
+                c = a;
+                gc = ga;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(gc) < Math.abs(gb)) {
+                a = b;
+                b = c;
+                c = a;
+                ga = gb;
+                gb = gc;
+                gc = ga;
+            }
+            double tol1 = 2 * EPS * Math.abs(b) + 0.5 * tol;
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol1 || gb == 0) {
+                return b;
+            }
+            if (Math.abs(e) >= tol1 && Math.abs(ga) > Math.abs(gb)) {
+                double s = gb / ga;
+                double p;
+                double q;
+                if (a == c) {
+                    // secante
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    // interpolação quadrática inversa
+                    double r = gb / gc;
+                    double t = ga / gc;
+                    p = s * (2 * m * t * (t - r) - (b - a) * (r - 1));
+                    q = (t - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol1 * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = d;
+                }
+            } else {
+                d = m;
+                e = d;
+            }
+            a = b;
+            ga = gb;
+            b += Math.abs(d) > tol1 ? d : Math.copySign(tol1, m);
+            gb = g.apply(b);
+            if (!Double.isFinite(gb)) {
+                return b;
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Grade com os zeros inseridos, em ordem crescente e sem repetições
+     */
+    private static double[] unir(double[] grade, Zeros zeros) {
+        double[] pontos = new double[grade.length + zeros.n];
+        int i = 0, j = 0, n = 0;
+        while (i < grade.length || j < zeros.n) {
+            double x = j == zeros.n || (i < grade.length && grade[i] <= zeros.x[j]) ? grade[i++] : zeros.x[j++];
+            if (n == 0 || x > pontos[n - 1]) {
+                pontos[n++] = x;
+            }
+        }
+        return Arrays.copyOf(pontos, n);
+    }
+
+    /**
+     * Executar as tarefas 0..n-1 no pool (ou na thread atual, se não houver
+     * pool) e retornar os resultados em ordem
+     */
+    private Object[] executar(int n, IntFunction<Object> tarefa) {
+        Object[] resultados = new Object[n];
+        if (pool == null || n == 1) {
+            for (int s = 0; s < n; s++) {
+                resultados[s] = tarefa.apply(s);
+            }
+            return resultados;
+        }
+        List<Callable<Object>> tarefas = new ArrayList<>(n);
+        for (int s = 0; s < n; s++) {
+            int segmento = s;
+            tarefas.add(() -> tarefa.apply(segmento));
+        }
+        List<Future<Object>> futuros = pool.invokeAll(tarefas);
+        for (int s = 0; s < n; s++) {
+            try {
+                resultados[s] = futuros.get(s).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Busca interrompida.");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Zeros encontrados, em ordem crescente, com a direção da troca de sinal
+     * (1 de negativo para positivo, -1 de positivo para negativo, 0 sem troca)
+     */
+    private static final class Zeros {
+
+        private double[] x = new double[8];
+        private int[] direcao = new int[8];
+        private int n = 0;
+
+        void adicionar(double xi, int d) {
+            if (n == x.length) {
+                x = Arrays.copyOf(x, 2 * n);
+                direcao = Arrays.copyOf(direcao, 2 * n);
+            }
+            x[n] = xi;
+            direcao[n++] = d;
+        }
+
+        void adicionar(Zeros outros) {
+            for (int i = 0; i < outros.n; i++) {
+                adicionar(outros.x[i], outros.direcao[i]);
+            }
+        }
+
+        double[] todos() {
+            return Arrays.copyOf(x, n);
+        }
+
+        double[] comDirecao(int d) {
+            double[] r = new double[n];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                if (direcao[i] == d) {
+                    r[m++] = x[i];
+                }
+            }
+            return Arrays.copyOf(r, m);
+        }
+
+        double[] comTrocaDeSinal() {
+            double[] r = new double[n];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                if (direcao[i] != 0) {
+                    r[m++] = x[i];
+                }
+            }
+            return Arrays.copyOf(r, m);
+        }
+    }
+
+    /**
+     * Pontos notáveis encontrados, cada tipo em ordem crescente de x
+     */
+    public static final class Resultado {
+
+        private final double[] raizes;
+        private final double[] maximos;
+        private final double[] minimos;
+        private final double[] inflexoes;
+
+        Resultado(double[] raizes, double[] maximos, double[] minimos, double[] inflexoes) {
+            this.raizes = raizes;
+            this.maximos = maximos;
+            this.minimos = minimos;
+            this.inflexoes = inflexoes;
+        }
+
+        /**
+         * Obter as raízes (zeros de f, inclusive raízes duplas)
+         *
+         * @return abscissas das raízes
+         */
+        public double[] getRaizes() {
+            return raizes.clone();
+        }
+
+        /**
+         * Obter os máximos locais (f' passa de positiva para negativa)
+         *
+         * @return abscissas dos máximos
+         */
+        public double[] getMaximos() {
+            return maximos.clone();
+        }
+
+        /**
+         * Obter os mínimos locais (f' passa de negativa para positiva)
+         *
+         * @return abscissas dos mínimos
+         */
+        public double[] getMinimos() {
+            return minimos.clone();
+        }
+
+        /**
+         * Obter os pontos de inflexão (f'' troca de sinal)
+         *
+         * @return abscissas das inflexões
+         */
+        public double[] getInflexoes() {
+            return inflexoes.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "raízes " + Arrays.toString(raizes) + ", máximos " + Arrays.toString(maximos)
+                    + ", mínimos " + Arrays.toString(minimos) + ", inflexões " + Arrays.toString(inflexoes);
+        }
+    }
+
+    /**
+     * Builder para construir uma busca com os parâmetros desejados
+     */
+    public static class Builder {
+
+        private final PontosNotaveis busca = new PontosNotaveis();
+
+        /**
+         * Definir o número de subintervalos da grade uniforme (padrão é 4096)
+         *
+         * @param subintervalos número de subintervalos
+         * @return a própria instância do Builder
+         */
+        public Builder setSubintervalos(int subintervalos) {
+            if (subintervalos < 1) {
+                throw new IllegalArgumentException("A grade deve ter pelo menos um subintervalo.");
+            }
+            busca.subintervalos = subintervalos;
+            return this;
+        }
+
+        /**
+         * Definir a tolerância em x, relativa ao tamanho do intervalo (padrão
+         * é 0: o refinamento para na precisão de x)
+         *
+         * @param tolerancia tolerância
+         * @return a própria instância do Builder
+         */
+        public Builder setTolerancia(double tolerancia) {
+            if (!(tolerancia >= 0) || Double.isInfinite(tolerancia)) {
+                throw new IllegalArgumentException("A tolerância deve ser finita e não negativa.");
+            }
+            busca.tolerancia = tolerancia;
+            return this;
+        }
+
+        /**
+         * Definir o pool usado para processar os segmentos em paralelo. O
+         * padrão é null (busca na thread atual). Com um pool, as funções são
+         * avaliadas em várias threads ao mesmo tempo e devem ser thread-safe,
+         * como as que implementam {@link FuncaoSemEstado}.
+         *
+         * @param pool pool (null para buscar sempre na thread atual)
+         * @return a própria instância do Builder
+         */
+        public Builder setPool(ForkJoinPool pool) {
+            busca.pool = pool;
+            return this;
+        }
+
+        /**
+         * Constrói o objeto
+         *
+         * @return busca com os parâmetros desejados
+         */
+        public PontosNotaveis build() {
+            return busca;
+        }
+    }
+}
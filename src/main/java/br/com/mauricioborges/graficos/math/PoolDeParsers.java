@@ -0,0 +1,179 @@
+package br.com.mauricioborges.graficos.math;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.lsmp.djep.djep.DJep;
+import org.nfunk.jep.ParseException;
+import org.nfunk.jep.SymbolTable;
+import org.nfunk.jep.TokenMgrError;
+
+/**
+ * Pool limitado de parsers {@link DJep} já configurados.
+ * <p>
+ * Montar um DJep (funções e constantes padrão, números complexos e regras de
+ * derivação) custa mais do que derivar uma expressão típica. Os parsers são
+ * criados sob demanda, configurados uma única vez e reaproveitados; cada
+ * parser é usado por uma thread de cada vez, pois o DJep não é thread-safe.
+ * Quando todos estão em uso, a thread aguarda até que um seja devolvido.
+ * <p>
+ * Ao fim de cada tarefa, as variáveis que ela criou na tabela de símbolos são
+ * removidas: como variáveis não declaradas são aceitas, cada nome novo
+ * ficaria no parser para sempre e a memória cresceria com o número de
+ * expressões diferentes.
+ * <p>
+ * Os nós ({@code Node}) produzidos por um parser dependem da tabela de
+ * símbolos dele e não devem ser usados fora da tarefa.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class PoolDeParsers {
+
+    private static final PoolDeParsers PADRAO = new PoolDeParsers(Runtime.getRuntime().availableProcessors());
+
+    private final int capacidade;
+    private final Semaphore vagas;
+    private final Queue<DJep> livres = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger criados = new AtomicInteger();
+
+    /**
+     * POOL DE PARSERS
+     *
+     * @param capacidade número máximo de parsers
+     */
+    public PoolDeParsers(int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("O pool deve ter pelo menos um parser.");
+        }
+        this.capacidade = capacidade;
+        this.vagas = new Semaphore(capacidade);
+    }
+
+    /**
+     * Obter o pool compartilhado, com um parser por processador
+     *
+     * @return pool padrão
+     */
+    public static PoolDeParsers getPadrao() {
+        return PADRAO;
+    }
+
+    /**
+     * Obter o número máximo de parsers
+     *
+     * @return capacidade
+     */
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /**
+     * Obter o número de parsers já criados
+     *
+     * @return parsers criados
+     */
+    public int getCriados() {
+        return criados.get();
+    }
+
+    /**
+     * Executar uma tarefa com um parser emprestado do pool
+     *
+     * @param <T> tipo do resultado
+     * @param tarefa tarefa
+     * @return resultado da tarefa
+     * @throws ParseException se a tarefa lançar ParseException ou se o
+     * analisador léxico do JEP rejeitar a expressão
+     */
+    public <T> T executar(Tarefa<T> tarefa) throws ParseException {
+        DJep djep = emprestar();
+        SymbolTable simbolos = djep.getSymbolTable();
+        Set<Object> nomes = new HashSet<>();
+        for (Object nome : simbolos.keySet()) {
+            nomes.add(nome);
+        }
+        try {
+            return tarefa.executar(djep);
+        } catch (TokenMgrError e) {
+            // o JEP informa caracteres inválidos (x @ 2, "abc) com um Error
+            throw new ParseException(e.getMessage());
+        } finally {
+            // remove as variáveis criadas pela tarefa
+            for (Iterator<?> it = simbolos.keySet().iterator(); it.hasNext();) {
+                if (!nomes.contains(it.next())) {
+                    it.remove();
+                }
+            }
+            livres.offer(djep);
+            vagas.release();
+        }
+    }
+
+    /**
+     * Reservar uma vaga e pegar um parser livre, ou criar um novo se nenhum
+     * estiver livre (há no máximo uma vaga por parser, então nunca são
+     * criados mais parsers que a capacidade)
+     */
+    private DJep emprestar() {
+        try {
+            vagas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Espera por um parser interrompida.");
+        }
+        DJep djep = livres.poll();
+        if (djep != null) {
+            return djep;
+        }
+        try {
+            djep = novoParser();
+        } catch (RuntimeException | Error e) {
+            // a vaga volta ao semáforo e acorda quem estiver esperando
+            vagas.release();
+            throw e;
+        }
+        criados.incrementAndGet();
+        return djep;
+    }
+
+    /**
+     * Criar um parser com a configuração usada pelas derivadas
+     *
+     * @return parser configurado
+     */
+    static DJep novoParser() {
+        DJep djep = new DJep();
+        djep.addStandardFunctions();
+        djep.addStandardConstants();
+        djep.addComplex();
+        djep.setAllowUndeclared(true);
+        djep.setAllowAssignment(true);
+        djep.setImplicitMul(true);
+        djep.addStandardDiffRules();
+        return djep;
+    }
+
+    /**
+     * Tarefa executada com um parser do pool
+     *
+     * @param <T> tipo do resultado
+     */
+    @FunctionalInterface
+    public interface Tarefa<T> {
+
+        /**
+         * Executar a tarefa
+         *
+         * @param djep parser (exclusivo da thread durante a tarefa)
+         * @return resultado
+         * @throws ParseException erro de sintaxe na expressão
+         */
+        T executar(DJep djep) throws ParseException;
+    }
+}
@@ -1,22 +1,38 @@
 package br.com.mauricioborges.graficos.math.metodosnumericos;
 
-import static java.lang.Math.pow;
+import static java.lang.Math.exp;
+import static java.lang.Math.log;
+import static java.lang.Math.min;
 import static java.lang.Math.sqrt;
+import java.util.Arrays;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Método Cholesky
+ * <p>
+ * O fator L é guardado na forma triangular inferior empacotada, linha por
+ * linha: o elemento (i, j), com j &lt;= i, fica na posição i(i+1)/2 + j. A
+ * fatoração é feita em blocos para reaproveitar a cache, e o fator pode ser
+ * atualizado com {@link #update(double[])} e {@link #downdate(double[])} em
+ * O(n²), sem refatorar a matriz.
  *
  * @author Mauricio Borges
  * @since 2018
  */
 public class Cholesky {
 
+    // tamanho dos blocos da fatoração
+    private static final int BLOCO = 48;
+
     // parâmetros do método
     private final int n;
-    private final Double[][] A;
+    private final Matriz A;
+    private final Double[][] AIndice1;
 
     // resultados
-    private double determinante = 1;
+    private final double[] l;
+    private boolean fatorado = false;
+    private double logDeterminante = 0;
 
     /**
      * MÉTODO CHOLESKY
@@ -26,16 +42,84 @@ public class Cholesky {
      */
     public Cholesky(int n, Double[][] A) {
         this.n = n;
+        this.A = null;
+        this.AIndice1 = A;
+        this.l = new double[n * (n + 1) / 2];
+        int k = 0;
+        for (int i = 1; i <= n; i++) {
+            for (int j = 1; j <= i; j++) {
+                l[k++] = A[i][j] == null ? 0 : A[i][j];
+            }
+        }
+    }
+
+    /**
+     * MÉTODO CHOLESKY (índices a partir de 0)
+     *
+     * @param A (matriz quadrada a ser decomposta; só a parte triangular
+     * inferior é lida)
+     */
+    public Cholesky(Matriz A) {
+        requireNonNull(A, "A matriz não pode ser nula.");
+        if (A.getLinhas() != A.getColunas()) {
+            throw new IllegalArgumentException("A matriz deve ser quadrada.");
+        }
+        this.n = A.getLinhas();
         this.A = A;
+        this.AIndice1 = null;
+        this.l = new double[n * (n + 1) / 2];
+        double[] a = A.getDados();
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(a, i * n, l, k, i + 1);
+            k += i + 1;
+        }
+    }
+
+    /**
+     * MÉTODO CHOLESKY (forma triangular inferior empacotada)
+     *
+     * @param n (ordem da matriz)
+     * @param AEmpacotada (parte triangular inferior de A, linha por linha; o
+     * array é copiado)
+     */
+    public Cholesky(int n, double[] AEmpacotada) {
+        requireNonNull(AEmpacotada, "A matriz não pode ser nula.");
+        if (AEmpacotada.length != n * (n + 1) / 2) {
+            throw new IllegalArgumentException("A matriz empacotada deve ter " + (n * (n + 1) / 2) + " elementos.");
+        }
+        this.n = n;
+        this.A = null;
+        this.AIndice1 = null;
+        this.l = AEmpacotada.clone();
     }
 
     /**
      * Obter o determinante
      *
-     * @return determinante
+     * @return determinante (pode ser infinito para matrizes grandes; veja
+     * {@link #getLogDeterminante()})
      */
     public double getDeterminante() {
-        return determinante;
+        return exp(logDeterminante);
+    }
+
+    /**
+     * Obter o logaritmo natural do determinante, que não sofre overflow
+     *
+     * @return ln(det A)
+     */
+    public double getLogDeterminante() {
+        return logDeterminante;
+    }
+
+    /**
+     * Obter o fator L na forma empacotada (não é uma cópia)
+     *
+     * @return fator L, com o elemento (i, j) na posição i(i+1)/2 + j
+     */
+    public double[] getFatorEmpacotado() {
+        return l;
     }
 
     /**
@@ -44,28 +128,156 @@ public class Cholesky {
      * @return fator L escrito sobre A
      */
     public Double[][] solve() {
-        for (int j = 1; j <= n; j++) {
-            double soma = 0;
-            for (int k = 1; k <= (j - 1); k++) {
-                soma += pow(A[j][k], 2);
-            }
-            double t = A[j][j] - soma;
-            double r;
-            if (t > 0) {
-                A[j][j] = sqrt(t);
-                r = 1 / A[j][j];
-                determinante *= t;
-            } else {
-                throw new ArithmeticException("ERRO metodoCholesky: A matriz não é definida positiva!");
+        fatorar();
+        Double[][] R = AIndice1 != null ? AIndice1 : new Double[n + 1][n + 1];
+        // escreve somente a parte triangular inferior, como o algoritmo original
+        int k = 0;
+        for (int i = 1; i <= n; i++) {
+            for (int j = 1; j <= i; j++) {
+                R[i][j] = l[k++];
             }
-            for (int i = (j + 1); i <= n; i++) {
-                soma = 0;
-                for (int k = 1; k <= (j - 1); k++) {
-                    soma += A[i][k] * A[j][k];
+        }
+        return R;
+    }
+
+    /**
+     * Resolve o método sem boxing (índices a partir de 0)
+     *
+     * @return fator L escrito sobre a parte triangular inferior de A
+     */
+    public Matriz resolver() {
+        fatorar();
+        Matriz L = A != null ? A : new Matriz(n, n);
+        double[] a = L.getDados();
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(l, k, a, i * n, i + 1);
+            k += i + 1;
+        }
+        return L;
+    }
+
+    /**
+     * Fatorar a matriz (se ainda não foi fatorada)
+     *
+     * @return a própria instância
+     */
+    public Cholesky fatorar() {
+        if (fatorado) {
+            return this;
+        }
+        double[] acumulado = new double[BLOCO * BLOCO];
+        double logDet = 0;
+        for (int i0 = 0; i0 < n; i0 += BLOCO) {
+            int i1 = min(i0 + BLOCO, n);
+            for (int j0 = 0; j0 <= i0; j0 += BLOCO) {
+                int j1 = min(j0 + BLOCO, n);
+                Arrays.fill(acumulado, 0);
+                // contribuição dos blocos de colunas anteriores (k < j0)
+                for (int k0 = 0; k0 < j0; k0 += BLOCO) {
+                    int k1 = k0 + BLOCO;
+                    for (int i = i0; i < i1; i++) {
+                        int li = i * (i + 1) / 2;
+                        int fimJ = min(j1, i + 1);
+                        for (int j = j0; j < fimJ; j++) {
+                            int lj = j * (j + 1) / 2;
+                            double soma = 0;
+                            for (int k = k0; k < k1; k++) {
+                                soma += l[li + k] * l[lj + k];
+                            }
+                            acumulado[(i - i0) * BLOCO + (j - j0)] += soma;
+                        }
+                    }
+                }
+                // termina o bloco (i, j) com as colunas j0 <= k < j
+                for (int j = j0; j < j1; j++) {
+                    int lj = j * (j + 1) / 2;
+                    for (int i = Math.max(i0, j); i < i1; i++) {
+                        int li = i * (i + 1) / 2;
+                        double soma = acumulado[(i - i0) * BLOCO + (j - j0)];
+                        for (int k = j0; k < j; k++) {
+                            soma += l[li + k] * l[lj + k];
+                        }
+                        double t = l[li + j] - soma;
+                        if (i == j) {
+                            if (!(t > 0)) {
+                                throw new ArithmeticException("ERRO metodoCholesky: A matriz não é definida positiva!");
+                            }
+                            l[li + j] = sqrt(t);
+                            logDet += log(t);
+                        } else {
+                            l[li + j] = t / l[lj + j];
+                        }
+                    }
                 }
-                A[i][j] = (A[i][j] - soma) * r;
             }
         }
-        return A;
+        logDeterminante = logDet;
+        fatorado = true;
+        return this;
+    }
+
+    /**
+     * Resolver o sistema A·x = b com o fator L (L·t = b e Lᵀ·x = t)
+     *
+     * @param b vetor independente (índices a partir de 0)
+     * @return solução x
+     */
+    public double[] resolverSistema(double[] b) {
+        fatorar();
+        double[] t = SubstituicoesSucessivas.resolverEmpacotada(n, l, b);
+        return SubstituicoesRetroativas.resolverTranspostaEmpacotada(n, l, t);
+    }
+
+    /**
+     * Atualização de posto um: passa a fatorar A + v·vᵀ em O(n²)
+     *
+     * @param v vetor (não é alterado)
+     */
+    public void update(double[] v) {
+        atualizar(v, 1);
+    }
+
+    /**
+     * Remoção de posto um: passa a fatorar A − v·vᵀ em O(n²). Se o resultado
+     * não for definido positivo, o fator não é alterado.
+     *
+     * @param v vetor (não é alterado)
+     */
+    public void downdate(double[] v) {
+        atualizar(v, -1);
+    }
+
+    private void atualizar(double[] v, int sinal) {
+        requireNonNull(v, "O vetor não pode ser nulo.");
+        if (v.length != n) {
+            throw new IllegalArgumentException("O vetor deve ter " + n + " elementos.");
+        }
+        fatorar();
+        double[] x = v.clone();
+        double[] novo = sinal < 0 ? l.clone() : l; // downdate só é aplicado se for bem-sucedido
+        double logDet = 0;
+        for (int k = 0; k < n; k++) {
+            int kk = k * (k + 1) / 2 + k;
+            double lkk = novo[kk];
+            double r2 = lkk * lkk + sinal * x[k] * x[k];
+            if (!(r2 > 0)) {
+                throw new ArithmeticException("ERRO metodoCholesky: A matriz atualizada não é definida positiva!");
+            }
+            double r = sqrt(r2);
+            double c = r / lkk;
+            double s = x[k] / lkk;
+            novo[kk] = r;
+            logDet += 2 * log(r);
+            for (int i = k + 1; i < n; i++) {
+                int ik = i * (i + 1) / 2 + k;
+                novo[ik] = (novo[ik] + sinal * s * x[i]) / c;
+                x[i] = c * x[i] - s * novo[ik];
+            }
+        }
+        if (novo != l) {
+            System.arraycopy(novo, 0, l, 0, l.length);
+        }
+        logDeterminante = logDet;
     }
 }
@@ -0,0 +1,208 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Matriz densa de números primitivos armazenada em um único array, linha por
+ * linha (row-major), com índices começando em 0.
+ * <p>
+ * Evita o boxing de <code>Double[][]</code> e a alocação de um objeto por
+ * linha: o elemento (i, j) fica em <code>dados[i * colunas + j]</code>.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class Matriz {
+
+    private final int linhas;
+    private final int colunas;
+    private final double[] dados;
+
+    /**
+     * Cria uma matriz preenchida com zeros
+     *
+     * @param linhas número de linhas
+     * @param colunas número de colunas
+     */
+    public Matriz(int linhas, int colunas) {
+        if (linhas < 0 || colunas < 0) {
+            throw new IllegalArgumentException("As dimensões da matriz não podem ser negativas.");
+        }
+        this.linhas = linhas;
+        this.colunas = colunas;
+        this.dados = new double[linhas * colunas];
+    }
+
+    /**
+     * Cria uma matriz sobre um array já existente (o array não é copiado)
+     *
+     * @param linhas número de linhas
+     * @param colunas número de colunas
+     * @param dados elementos da matriz, linha por linha
+     */
+    public Matriz(int linhas, int colunas, double[] dados) {
+        requireNonNull(dados, "O array de dados não pode ser nulo.");
+        if (linhas < 0 || colunas < 0) {
+            throw new IllegalArgumentException("As dimensões da matriz não podem ser negativas.");
+        }
+        if (dados.length != linhas * colunas) {
+            throw new IllegalArgumentException("O array de dados deve ter " + (linhas * colunas) + " elementos.");
+        }
+        this.linhas = linhas;
+        this.colunas = colunas;
+        this.dados = dados;
+    }
+
+    /**
+     * Obter o número de linhas
+     *
+     * @return número de linhas
+     */
+    public int getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * Obter o número de colunas
+     *
+     * @return número de colunas
+     */
+    public int getColunas() {
+        return colunas;
+    }
+
+    /**
+     * Obter o array com os elementos da matriz (não é uma cópia)
+     *
+     * @return elementos da matriz, linha por linha
+     */
+    public double[] getDados() {
+        return dados;
+    }
+
+    /**
+     * Obter um elemento
+     *
+     * @param i linha (a partir de 0)
+     * @param j coluna (a partir de 0)
+     * @return elemento (i, j)
+     */
+    public double get(int i, int j) {
+        return dados[i * colunas + j];
+    }
+
+    /**
+     * Definir um elemento
+     *
+     * @param i linha (a partir de 0)
+     * @param j coluna (a partir de 0)
+     * @param valor valor
+     */
+    public void set(int i, int j, double valor) {
+        dados[i * colunas + j] = valor;
+    }
+
+    /**
+     * Criar uma cópia da matriz
+     *
+     * @return cópia
+     */
+    public Matriz copia() {
+        return new Matriz(linhas, colunas, dados.clone());
+    }
+
+    /**
+     * Criar a matriz transposta
+     *
+     * @return transposta
+     */
+    public Matriz transposta() {
+        Matriz t = new Matriz(colunas, linhas);
+        for (int i = 0; i < linhas; i++) {
+            int base = i * colunas;
+            for (int j = 0; j < colunas; j++) {
+                t.dados[j * linhas + i] = dados[base + j];
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Converter uma matriz no formato antigo (índices a partir de 1)
+     *
+     * @param A matriz com índices a partir de 1
+     * @param linhas número de linhas a serem lidas
+     * @param colunas número de colunas a serem lidas
+     * @return matriz com índices a partir de 0 (posições nulas viram zero)
+     */
+    public static Matriz deIndice1(Double[][] A, int linhas, int colunas) {
+        requireNonNull(A, "A matriz não pode ser nula.");
+        Matriz m = new Matriz(linhas, colunas);
+        for (int i = 0; i < linhas; i++) {
+            Double[] linha = A[i + 1];
+            int base = i * colunas;
+            for (int j = 0; j < colunas; j++) {
+                Double valor = linha[j + 1];
+                m.dados[base + j] = valor == null ? 0 : valor;
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Converter para o formato antigo (índices a partir de 1)
+     *
+     * @return matriz de dimensão (linhas + 1) x (colunas + 1)
+     */
+    public Double[][] paraIndice1() {
+        Double[][] A = new Double[linhas + 1][colunas + 1];
+        copiarParaIndice1(A);
+        return A;
+    }
+
+    /**
+     * Copiar os elementos para uma matriz no formato antigo (índices a partir
+     * de 1)
+     *
+     * @param A matriz de destino
+     */
+    public void copiarParaIndice1(Double[][] A) {
+        for (int i = 0; i < linhas; i++) {
+            int base = i * colunas;
+            for (int j = 0; j < colunas; j++) {
+                A[i + 1][j + 1] = dados[base + j];
+            }
+        }
+    }
+
+    /**
+     * Converter um vetor no formato antigo (índices a partir de 1)
+     *
+     * @param v vetor com índices a partir de 1
+     * @param n número de elementos a serem lidos
+     * @return vetor com índices a partir de 0 (posições nulas viram zero)
+     */
+    public static double[] vetorDeIndice1(Double[] v, int n) {
+        requireNonNull(v, "O vetor não pode ser nulo.");
+        double[] r = new double[n];
+        for (int i = 0; i < n; i++) {
+            Double valor = v[i + 1];
+            r[i] = valor == null ? 0 : valor;
+        }
+        return r;
+    }
+
+    /**
+     * Converter um vetor para o formato antigo (índices a partir de 1)
+     *
+     * @param v vetor com índices a partir de 0
+     * @return vetor de tamanho v.length + 1
+     */
+    public static Double[] vetorParaIndice1(double[] v) {
+        Double[] r = new Double[v.length + 1];
+        for (int i = 0; i < v.length; i++) {
+            r[i + 1] = v[i];
+        }
+        return r;
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Médias móveis em O(n), calculadas em uma única passagem por arrays
+ * primitivos.
+ * <p>
+ * As somas da janela são mantidas de forma incremental (soma o ponto que
+ * entra e subtrai o que sai) com soma compensada de Neumaier, para que o
+ * erro de arredondamento não se acumule ao longo de séries longas.
+ * <p>
+ * Todos os métodos retornam um array de tamanho n - k + 1, em que a posição i
+ * corresponde à janela que termina no ponto i + k - 1.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public abstract class MediaMovel {
+
+    /**
+     * Média móvel simples
+     *
+     * @param y valores
+     * @param k número de pontos da janela
+     * @return médias das janelas
+     */
+    public static double[] simples(double[] y, int k) {
+        validar(y, k);
+        double[] media = new double[y.length - k + 1];
+        double soma = 0;
+        double c = 0; // compensação da soma
+        for (int i = 0; i < y.length; i++) {
+            // soma += y[i]
+            double t = soma + y[i];
+            c += Math.abs(soma) >= Math.abs(y[i]) ? (soma - t) + y[i] : (y[i] - t) + soma;
+            soma = t;
+            if (i >= k) {
+                // soma -= y[i - k]
+                double sai = -y[i - k];
+                t = soma + sai;
+                c += Math.abs(soma) >= Math.abs(sai) ? (soma - t) + sai : (sai - t) + soma;
+                soma = t;
+            }
+            if (i >= k - 1) {
+                media[i - k + 1] = (soma + c) / k;
+            }
+        }
+        return media;
+    }
+
+    /**
+     * Média móvel ponderada linearmente: o ponto mais recente da janela tem
+     * peso k, o anterior k - 1, e assim por diante até peso 1
+     *
+     * @param y valores
+     * @param k número de pontos da janela
+     * @return médias ponderadas das janelas
+     */
+    public static double[] ponderada(double[] y, int k) {
+        validar(y, k);
+        double[] media = new double[y.length - k + 1];
+        double pesoTotal = k * (k + 1) / 2.0;
+        // soma simples da janela (S) e soma ponderada (P), ambas compensadas
+        double s = 0;
+        double cs = 0;
+        double pnd = 0;
+        double cp = 0;
+        for (int i = 0; i < y.length; i++) {
+            double t;
+            if (i < k) {
+                // P += (i + 1) * y[i]
+                double termo = (i + 1) * y[i];
+                t = pnd + termo;
+                cp += Math.abs(pnd) >= Math.abs(termo) ? (pnd - t) + termo : (termo - t) + pnd;
+                pnd = t;
+            } else {
+                // P += k * y[i] - S (S ainda é a soma da janela anterior)
+                double termo = k * y[i];
+                t = pnd + termo;
+                cp += Math.abs(pnd) >= Math.abs(termo) ? (pnd - t) + termo : (termo - t) + pnd;
+                pnd = t;
+                double menosS = -(s + cs);
+                t = pnd + menosS;
+                cp += Math.abs(pnd) >= Math.abs(menosS) ? (pnd - t) + menosS : (menosS - t) + pnd;
+                pnd = t;
+                // S -= y[i - k]
+                double sai = -y[i - k];
+                t = s + sai;
+                cs += Math.abs(s) >= Math.abs(sai) ? (s - t) + sai : (sai - t) + s;
+                s = t;
+            }
+            // S += y[i]
+            t = s + y[i];
+            cs += Math.abs(s) >= Math.abs(y[i]) ? (s - t) + y[i] : (y[i] - t) + s;
+            s = t;
+            if (i >= k - 1) {
+                media[i - k + 1] = (pnd + cp) / pesoTotal;
+            }
+        }
+        return media;
+    }
+
+    /**
+     * Média móvel exponencial com fator de suavização 2 / (k + 1), iniciada
+     * com a média simples dos k primeiros pontos
+     *
+     * @param y valores
+     * @param k número de pontos equivalente da janela
+     * @return médias exponenciais a partir do ponto k - 1
+     */
+    public static double[] exponencial(double[] y, int k) {
+        validar(y, k);
+        double[] media = new double[y.length - k + 1];
+        double alfa = 2.0 / (k + 1);
+        double soma = 0;
+        double c = 0;
+        for (int i = 0; i < k; i++) {
+            double t = soma + y[i];
+            c += Math.abs(soma) >= Math.abs(y[i]) ? (soma - t) + y[i] : (y[i] - t) + soma;
+            soma = t;
+        }
+        double ema = (soma + c) / k;
+        media[0] = ema;
+        for (int i = k; i < y.length; i++) {
+            ema += alfa * (y[i] - ema);
+            media[i - k + 1] = ema;
+        }
+        return media;
+    }
+
+    private static void validar(double[] y, int k) {
+        requireNonNull(y, "O array de Y não pode ser nulo.");
+        if (k < 1 || k > y.length) {
+            throw new IllegalArgumentException("O número de pontos da média móvel deve estar entre 1 e " + y.length + ".");
+        }
+    }
+}
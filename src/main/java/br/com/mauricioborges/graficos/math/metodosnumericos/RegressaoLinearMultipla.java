@@ -1,7 +1,8 @@
 package br.com.mauricioborges.graficos.math.metodosnumericos;
 
-import static br.com.mauricioborges.graficos.utils.ArrayUtils.copy;
-import static java.lang.Math.pow;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Método numérico para aproximar um conjunto de pontos por uma função
@@ -12,13 +13,19 @@ import static java.lang.Math.pow;
  */
 public class RegressaoLinearMultipla {
 
+    // número de linhas de cada bloco das equações normais
+    private static final int BLOCO = 4096;
+    // trabalho mínimo (n·p²) para montar as equações normais em paralelo
+    private static final long LIMIAR_PARALELO = 1L << 21;
+
     // parâmetros do método
-    private int n;
+    private final int n;
     private final int v;
     private final int p;
-    private Double[][] X;
-    private Double[] Y;
+    private final Matriz X;
+    private final double[] Y;
     private double b0 = Double.MAX_VALUE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
 
     // resultados
     private double r2 = 0;
@@ -34,11 +41,7 @@ public class RegressaoLinearMultipla {
      * @param Y (matriz de dimensão N contendo as variáveis respostas)
      */
     public RegressaoLinearMultipla(int n, int v, int p, Double[][] X, Double[] Y) {
-        this.n = n;
-        this.v = v;
-        this.p = p;
-        this.X = X;
-        this.Y = Y;
+        this(v, p, Matriz.deIndice1(X, n, v), Matriz.vetorDeIndice1(Y, n));
     }
 
     /**
@@ -52,11 +55,39 @@ public class RegressaoLinearMultipla {
      * @param b0 (ponto de intersecção com o eixo Y)
      */
     public RegressaoLinearMultipla(int n, int v, int p, Double[][] X, Double[] Y, double b0) {
-        this.n = n;
+        this(v, p, Matriz.deIndice1(X, n, v), Matriz.vetorDeIndice1(Y, n), b0);
+    }
+
+    /**
+     * REGRESSÃO LINEAR MÚLTIPLA (índices a partir de 0)
+     *
+     * @param v (número de variáveis)
+     * @param p (número de parâmetros)
+     * @param X (matriz de dimensão N x V contendo as variáveis explicativas)
+     * @param Y (vetor de dimensão N contendo as variáveis respostas)
+     */
+    public RegressaoLinearMultipla(int v, int p, Matriz X, double[] Y) {
+        this.X = requireNonNull(X, "A matriz X não pode ser nula.");
+        this.Y = requireNonNull(Y, "O vetor Y não pode ser nulo.");
+        if (X.getLinhas() != Y.length || X.getColunas() < v) {
+            throw new IllegalArgumentException("As dimensões de X e Y não são compatíveis.");
+        }
+        this.n = Y.length;
         this.v = v;
         this.p = p;
-        this.X = X;
-        this.Y = Y;
+    }
+
+    /**
+     * REGRESSÃO LINEAR MÚLTIPLA (índices a partir de 0)
+     *
+     * @param v (número de variáveis)
+     * @param p (número de parâmetros)
+     * @param X (matriz de dimensão N x V contendo as variáveis explicativas)
+     * @param Y (vetor de dimensão N contendo as variáveis respostas)
+     * @param b0 (ponto de intersecção com o eixo Y)
+     */
+    public RegressaoLinearMultipla(int v, int p, Matriz X, double[] Y, double b0) {
+        this(v, p, X, Y);
         this.b0 = b0;
     }
 
@@ -78,102 +109,210 @@ public class RegressaoLinearMultipla {
         return sigma2;
     }
 
+    /**
+     * Definir o pool usado para montar as equações normais em paralelo (v &gt;
+     * 1). O padrão é o ForkJoinPool.commonPool().
+     * <p>
+     * As linhas são divididas sempre nos mesmos blocos e as somas parciais
+     * são combinadas sempre na mesma ordem, então o resultado é idêntico bit
+     * a bit com ou sem paralelismo e entre execuções.
+     *
+     * @param pool pool (null para montar sempre na thread atual)
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
     /**
      * Resolve o método
      *
      * @return coeficiêntes de regressão
      */
     public Double[] solve() {
+        return Matriz.vetorParaIndice1(resolver());
+    }
+
+    /**
+     * Resolve o método sem boxing (índices a partir de 0).
+     * <p>
+     * Quando o ponto de intersecção com o eixo Y (b0) é definido, o sistema
+     * reduzido (sem a coluna do intercepto) é resolvido de forma exata sobre
+     * Y - b0. Em todos os casos, r² e σ² são obtidos dos resíduos calculados
+     * em uma segunda passagem pelos dados, que não perde precisão quando o
+     * ajuste é quase exato.
+     *
+     * @return coeficiêntes de regressão
+     */
+    public double[] resolver() {
         if (v > 1 && v + 1 != p) {
             throw new ArithmeticException("ERRO regressaoLinearMultipla! Não é possível calcular a regressão.");
         }
 
-        if (b0 != Double.MAX_VALUE) {
-            RegressaoLinearMultipla rlm = new RegressaoLinearMultipla(n, v, p, copy(X), Y.clone());
-            rlm.solve();
-            r2 = rlm.getR2();
-            sigma2 = rlm.getSigma2();
-
-            int addPontos = (int) 5e5;
-            Double[][] Xn = new Double[X.length + addPontos][X[1].length];
-            Double[] Yn = new Double[Y.length + addPontos];
-            for (int i = 1; i < X.length; i++) {
-                Xn[i][1] = X[i][1];
-                Yn[i] = Y[i];
-            }
-            int oldLength = X.length;
-            X = Xn;
-            Y = Yn;
-            for (int i = oldLength; i < X.length; i++) {
-                X[i][1] = 0d;
-                Y[i] = b0;
+        if (v == 1) {
+            // polinômio de uma variável: equações normais a partir das somas de potências
+            double[] x = X.getColunas() == 1 ? X.getDados() : new double[n];
+            if (x != X.getDados()) {
+                for (int i = 0; i < n; i++) {
+                    x[i] = X.get(i, 0);
+                }
             }
-            n += addPontos;
+            RegressaoPolinomial rp = new RegressaoPolinomial(p, x, Y, b0);
+            double[] b = rp.resolver();
+            r2 = rp.getR2();
+            sigma2 = rp.getSigma2();
+            return b;
         }
 
-        int vp1 = v + 1;
-        int pm1 = p - 1;
-        for (int i = 1; i <= n; i++) {
-            for (int j = vp1; j >= 2; j--) {
-                X[i][j] = X[i][j - 1];
+        boolean interceptoFixo = b0 != Double.MAX_VALUE;
+        int c0 = interceptoFixo ? 1 : 0; // primeira coluna livre do modelo
+        int q = p - c0; // número de parâmetros livres
+
+        // equações normais
+        RegressionAccumulator acc = montarEquacoesNormais(interceptoFixo ? b0 : 0);
+        double[] sxxEmpacotada = acc.getSxx();
+        double[] sxx = new double[q * (q + 1) / 2];
+        double[] Sxy = new double[q];
+        int k = 0;
+        for (int i = 0; i < q; i++) {
+            int ii = c0 + i;
+            int base = ii * (ii + 1) / 2 + c0;
+            for (int j = 0; j <= i; j++) {
+                sxx[k++] = sxxEmpacotada[base + j];
             }
-            X[i][1] = 1.0;
+            Sxy[i] = acc.getSxy()[ii];
         }
-        if (v == 1 && p > 2) {
-            for (int j = 2; j <= pm1; j++) {
-                int jp1 = j + 1;
-                for (int i = 1; i <= n; i++) {
-                    X[i][jp1] = pow(X[i][2], 2);
-                }
-            }
+        double deslocamento = interceptoFixo ? b0 : 0;
+        double media = (acc.getSomaY() + n * deslocamento) / n;
+
+        double[] beta = q > 0 ? resolverEquacoesNormais(q, sxx, Sxy) : new double[0];
+        double[] b = beta;
+        if (interceptoFixo) {
+            b = new double[p];
+            b[0] = b0;
+            System.arraycopy(beta, 0, b, 1, q);
         }
-        // equações normais
-        Double[][] Sxx = new Double[p + 1][p + 1];
-        Double[] Sxy = new Double[p + 1];
-        double soma;
-        for (int i = 1; i <= p; i++) {
-            for (int j = 1; j <= p; j++) {
-                soma = 0;
-                for (int k = 1; k <= n; k++) {
-                    soma += X[k][i] * X[k][j];
-                }
-                Sxx[i][j] = soma;
-            }
-            soma = 0;
-            for (int k = 1; k <= n; k++) {
-                soma += X[k][i] * Y[k];
+
+        // somas dos quadrados dos resíduos e dos desvios em torno da média
+        double D = 0;
+        double Syy = 0;
+        double[] linha = new double[p];
+        for (int i = 0; i < n; i++) {
+            preencherLinhaDoModelo(i, linha);
+            double u = 0;
+            for (int j = 0; j < p; j++) {
+                u += b[j] * linha[j];
             }
-            Sxy[i] = soma;
+            double e = Y[i] - u;
+            double d = Y[i] - media;
+            D += e * e;
+            Syy += d * d;
         }
 
-        Double[][] L = new Cholesky(p, Sxx).solve();
+        r2 = 1 - (D / Syy); // coeficiente de determinação
+        sigma2 = D / (n - q); // variância residual
 
-        Double[] t = new SubstituicoesSucessivas(p, L, Sxy).solve();
-        Double[][] U = new Double[p + 1][p + 1];
-        for (int i = 1; i <= p; i++) {
-            for (int j = 1; j <= i; j++) {
-                U[j][i] = L[i][j];
-            }
+        return b;
+    }
+
+    /**
+     * Montar as equações normais sobre Y - deslocamentoY, em paralelo quando
+     * o problema é grande o suficiente
+     *
+     * @param deslocamentoY valor subtraído de cada Y
+     * @return estatísticas suficientes
+     */
+    private RegressionAccumulator montarEquacoesNormais(double deslocamentoY) {
+        boolean paralelo = pool != null && (long) n * p * p >= LIMIAR_PARALELO;
+        MontagemDasEquacoesNormais tarefa = new MontagemDasEquacoesNormais(this, deslocamentoY, 0, n, paralelo);
+        return paralelo ? pool.invoke(tarefa) : tarefa.compute();
+    }
+
+    /**
+     * Divide as linhas em blocos fixos e combina as somas parciais sempre na
+     * mesma ordem (esquerda + direita), independente do número de threads
+     */
+    private static final class MontagemDasEquacoesNormais extends RecursiveTask<RegressionAccumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RegressaoLinearMultipla rlm;
+        private final double deslocamentoY;
+        private final int de;
+        private final int ate;
+        private final boolean paralelo;
+
+        MontagemDasEquacoesNormais(RegressaoLinearMultipla rlm, double deslocamentoY, int de, int ate, boolean paralelo) {
+            this.rlm = rlm;
+            this.deslocamentoY = deslocamentoY;
+            this.de = de;
+            this.ate = ate;
+            this.paralelo = paralelo;
         }
 
-        Double[] b = new SubstituicoesRetroativas(p, U, t).solve();
-        double D = 0;
-        double Sy2 = 0;
-        for (int i = 1; i <= n; i++) {
-            double u = 0;
-            for (int j = 1; j <= p; j++) {
-                u += b[j] * X[i][j];
+        @Override
+        protected RegressionAccumulator compute() {
+            int blocos = (ate - de + BLOCO - 1) / BLOCO;
+            if (blocos <= 1) {
+                RegressionAccumulator acc = new RegressionAccumulator(rlm.v, rlm.p);
+                acc.addAll(rlm.X, rlm.Y, deslocamentoY, de, ate);
+                return acc;
+            }
+            int meio = de + (blocos / 2) * BLOCO;
+            MontagemDasEquacoesNormais esquerda = new MontagemDasEquacoesNormais(rlm, deslocamentoY, de, meio, paralelo);
+            MontagemDasEquacoesNormais direita = new MontagemDasEquacoesNormais(rlm, deslocamentoY, meio, ate, paralelo);
+            if (!paralelo) {
+                return esquerda.compute().merge(direita.compute());
             }
-            double d = Y[i] - u;
-            D += pow(d, 2);
-            Sy2 += pow(Y[i], 2);
+            esquerda.fork();
+            RegressionAccumulator resultadoDireita = direita.compute();
+            return esquerda.join().merge(resultadoDireita);
         }
+    }
 
-        if (b0 == Double.MAX_VALUE) {
-            r2 = 1 - (D / (Sy2 - (pow(Sxy[1], 2) / n))); // coeficiente de determinação
-            sigma2 = D / (n - p); // variância residual
+    /**
+     * Preencher uma linha da matriz do modelo: 1, x, x², ... (v = 1) ou 1,
+     * x1, x2, ... (v > 1)
+     *
+     * @param i índice do ponto
+     * @param linha array de destino com p posições
+     */
+    private void preencherLinhaDoModelo(int i, double[] linha) {
+        linha[0] = 1.0;
+        if (v == 1) {
+            double xi = X.get(i, 0);
+            for (int j = 1; j < p; j++) {
+                linha[j] = linha[j - 1] * xi;
+            }
+        } else {
+            for (int j = 1; j < p; j++) {
+                linha[j] = X.get(i, j - 1);
+            }
         }
+    }
 
-        return b;
+    /**
+     * Resolver as equações normais Sxx·b = Sxy através do método Cholesky e
+     * das substituições sucessivas e retroativas
+     *
+     * @param Sxx matriz simétrica definida positiva (só a parte triangular
+     * inferior é lida)
+     * @param Sxy vetor independente
+     * @return solução b
+     */
+    static double[] resolverEquacoesNormais(Matriz Sxx, double[] Sxy) {
+        return new Cholesky(Sxx).resolverSistema(Sxy);
+    }
+
+    /**
+     * Resolver as equações normais Sxx·b = Sxy com Sxx na forma triangular
+     * inferior empacotada
+     *
+     * @param p ordem de Sxx
+     * @param sxx parte triangular inferior de Sxx, linha por linha
+     * @param Sxy vetor independente
+     * @return solução b
+     */
+    static double[] resolverEquacoesNormais(int p, double[] sxx, double[] Sxy) {
+        return new Cholesky(p, sxx).resolverSistema(Sxy);
     }
 }
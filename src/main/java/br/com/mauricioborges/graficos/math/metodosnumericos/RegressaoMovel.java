@@ -0,0 +1,207 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Regressão polinomial em janela deslizante (regressão móvel).
+ * <p>
+ * Para cada posição da janela, ajusta um polinômio aos últimos pontos e
+ * calcula o valor ajustado e a inclinação no ponto mais recente. A matriz
+ * das equações normais não é remontada a cada passo: o fator de
+ * {@link Cholesky} recebe uma atualização de posto um para o ponto que entra
+ * e uma remoção para o ponto que sai, e o sistema é resolvido com o fator,
+ * totalizando O(p²) por passo.
+ * <p>
+ * Para evitar o acúmulo de erros de arredondamento das remoções, as somas e o
+ * fator são recalculados a cada janela completa (custo amortizado O(p²) por
+ * passo), usando x deslocado e escalado para o intervalo da janela.
+ * <p>
+ * Janelas com menos de p valores distintos de x não determinam o polinômio;
+ * nelas o valor ajustado e a inclinação são NaN.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public class RegressaoMovel {
+
+    // parâmetros do método
+    private final int p;
+    private final int janela;
+    private final double[] x;
+    private final double[] y;
+
+    // resultados
+    private double[] ajustados;
+    private double[] inclinacoes;
+
+    // estado da janela
+    private Cholesky cholesky;
+    private double[] Sxy;
+    private double origem;
+    private double escala;
+    private int distintos;
+    private final double[] phi;
+
+    /**
+     * REGRESSÃO MÓVEL
+     *
+     * @param p (número de parâmetros, isto é, grau + 1)
+     * @param janela (número de pontos de cada janela)
+     * @param x (valores da variável explicativa, em ordem crescente)
+     * @param y (valores da variável resposta)
+     */
+    public RegressaoMovel(int p, int janela, double[] x, double[] y) {
+        this.x = requireNonNull(x, "O array de X não pode ser nulo.");
+        this.y = requireNonNull(y, "O array de Y não pode ser nulo.");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Os arrays de X e Y devem ter o mesmo tamanho.");
+        }
+        if (p < 1) {
+            throw new IllegalArgumentException("O número de parâmetros deve ser maior do que zero.");
+        }
+        if (janela < p || janela > x.length) {
+            throw new IllegalArgumentException("A janela deve ter entre " + p + " e " + x.length + " pontos.");
+        }
+        this.p = p;
+        this.janela = janela;
+        this.phi = new double[p];
+    }
+
+    /**
+     * Obter os valores ajustados no último ponto de cada janela
+     *
+     * @return array de tamanho n - janela + 1; a posição i corresponde a
+     * x[i + janela - 1] (NaN se a janela não determina o polinômio)
+     */
+    public double[] getAjustados() {
+        return ajustados;
+    }
+
+    /**
+     * Obter as inclinações (dy/dx) no último ponto de cada janela
+     *
+     * @return array de tamanho n - janela + 1; a posição i corresponde a
+     * x[i + janela - 1] (NaN se a janela não determina o polinômio)
+     */
+    public double[] getInclinacoes() {
+        return inclinacoes;
+    }
+
+    /**
+     * Resolve o método
+     */
+    public void resolver() {
+        int total = x.length - janela + 1;
+        ajustados = new double[total];
+        inclinacoes = new double[total];
+        recalcular(0);
+        ajustar(0);
+        for (int i = 1; i < total; i++) {
+            if (cholesky == null || i % janela == 0) {
+                recalcular(i);
+            } else {
+                try {
+                    mover(i);
+                } catch (ArithmeticException e) {
+                    // a remoção perdeu a positividade por arredondamento
+                    recalcular(i);
+                }
+            }
+            ajustar(i);
+        }
+    }
+
+    /**
+     * Remontar as somas e o fator para a janela que começa em inicio
+     */
+    private void recalcular(int inicio) {
+        int fim = inicio + janela - 1;
+        origem = x[inicio];
+        double largura = x[fim] - x[inicio];
+        escala = largura != 0 ? 1 / largura : 1;
+        distintos = 1;
+        for (int k = inicio + 1; k <= fim; k++) {
+            if (x[k] != x[k - 1]) {
+                distintos++;
+            }
+        }
+        double[] sxx = new double[p * (p + 1) / 2];
+        Sxy = new double[p];
+        for (int k = inicio; k <= fim; k++) {
+            base(x[k]);
+            int m = 0;
+            for (int i = 0; i < p; i++) {
+                for (int j = 0; j <= i; j++) {
+                    sxx[m++] += phi[i] * phi[j];
+                }
+                Sxy[i] += phi[i] * y[k];
+            }
+        }
+        try {
+            cholesky = distintos < p ? null : new Cholesky(p, sxx).fatorar();
+        } catch (ArithmeticException e) {
+            // singular por arredondamento
+            cholesky = null;
+        }
+    }
+
+    /**
+     * Deslizar a janela: entra o ponto inicio + janela - 1 e sai o ponto
+     * inicio - 1
+     */
+    private void mover(int inicio) {
+        int entra = inicio + janela - 1;
+        int sai = inicio - 1;
+        if (x[entra] != x[entra - 1]) {
+            distintos++;
+        }
+        if (x[sai + 1] != x[sai]) {
+            distintos--;
+        }
+        base(x[entra]);
+        cholesky.update(phi);
+        for (int i = 0; i < p; i++) {
+            Sxy[i] += phi[i] * y[entra];
+        }
+        base(x[sai]);
+        cholesky.downdate(phi);
+        for (int i = 0; i < p; i++) {
+            Sxy[i] -= phi[i] * y[sai];
+        }
+    }
+
+    /**
+     * Resolver o sistema da janela atual e avaliar o polinômio no último ponto
+     */
+    private void ajustar(int inicio) {
+        if (cholesky == null || distintos < p) {
+            // o fator é remontado quando a janela voltar a ter p valores distintos
+            cholesky = null;
+            ajustados[inicio] = Double.NaN;
+            inclinacoes[inicio] = Double.NaN;
+            return;
+        }
+        double[] b = cholesky.resolverSistema(Sxy);
+        double t = (x[inicio + janela - 1] - origem) * escala;
+        // Horner para o valor e para a derivada
+        double valor = b[p - 1];
+        double derivada = 0;
+        for (int i = p - 2; i >= 0; i--) {
+            derivada = derivada * t + valor;
+            valor = valor * t + b[i];
+        }
+        ajustados[inicio] = valor;
+        inclinacoes[inicio] = derivada * escala;
+    }
+
+    /**
+     * Preencher phi com 1, t, t², ... para t = (x - origem) * escala
+     */
+    private void base(double xi) {
+        double t = (xi - origem) * escala;
+        phi[0] = 1;
+        for (int j = 1; j < p; j++) {
+            phi[j] = phi[j - 1] * t;
+        }
+    }
+}
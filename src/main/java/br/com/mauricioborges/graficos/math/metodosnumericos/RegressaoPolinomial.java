@@ -0,0 +1,152 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Regressão polinomial de uma variável através das somas de potências.
+ * <p>
+ * Cada elemento da matriz das equações normais é uma soma de potências
+ * Σxᵏ, então a matriz é de Hankel: basta calcular as 2p−1 somas Σxᵏ e as p
+ * somas Σxᵏy em uma única passagem pelos dados, sem montar a matriz do
+ * modelo. Os resíduos são calculados em uma segunda passagem, avaliando o
+ * polinômio pelo método de Horner, pois Σy² − βᵀ·Σxᵏy perde toda a precisão
+ * quando o ajuste é quase exato. O custo é O(n·p) em tempo e O(p²) em
+ * memória.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public class RegressaoPolinomial {
+
+    // parâmetros do método
+    private final int p;
+    private final double[] x;
+    private final double[] y;
+    private final double b0;
+
+    // resultados
+    private double r2 = 0;
+    private double sigma2 = 0;
+
+    /**
+     * REGRESSÃO POLINOMIAL
+     *
+     * @param p (número de parâmetros, isto é, grau + 1)
+     * @param x (valores da variável explicativa)
+     * @param y (valores da variável resposta)
+     */
+    public RegressaoPolinomial(int p, double[] x, double[] y) {
+        this(p, x, y, Double.MAX_VALUE);
+    }
+
+    /**
+     * REGRESSÃO POLINOMIAL
+     *
+     * @param p (número de parâmetros, isto é, grau + 1)
+     * @param x (valores da variável explicativa)
+     * @param y (valores da variável resposta)
+     * @param b0 (ponto de intersecção com o eixo Y; Double.MAX_VALUE para
+     * deixá-lo livre)
+     */
+    public RegressaoPolinomial(int p, double[] x, double[] y, double b0) {
+        this.x = requireNonNull(x, "O array de X não pode ser nulo.");
+        this.y = requireNonNull(y, "O array de Y não pode ser nulo.");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Os arrays de X e Y devem ter o mesmo tamanho.");
+        }
+        if (p < 1) {
+            throw new IllegalArgumentException("O número de parâmetros deve ser maior do que zero.");
+        }
+        this.p = p;
+        this.b0 = b0;
+    }
+
+    /**
+     * Obter o coeficiente de determinação
+     *
+     * @return coeficiente de determinação
+     */
+    public double getR2() {
+        return r2;
+    }
+
+    /**
+     * Obter a variância residual
+     *
+     * @return variância residual
+     */
+    public double getSigma2() {
+        return sigma2;
+    }
+
+    /**
+     * Resolve o método
+     *
+     * @return coeficientes do polinômio em ordem crescente de grau (b[0] é o
+     * termo independente)
+     */
+    public double[] resolver() {
+        int n = x.length;
+        int nPotencias = 2 * p - 1;
+        double[] S = new double[nPotencias]; // Σxᵏ
+        double[] T = new double[p]; // Σxᵏy
+        double somaY = 0;
+        for (int i = 0; i < n; i++) {
+            double xi = x[i];
+            double yi = y[i];
+            double pk = 1;
+            for (int k = 0; k < p; k++) {
+                S[k] += pk;
+                T[k] += pk * yi;
+                pk *= xi;
+            }
+            for (int k = p; k < nPotencias; k++) {
+                S[k] += pk;
+                pk *= xi;
+            }
+            somaY += yi;
+        }
+
+        boolean interceptoFixo = b0 != Double.MAX_VALUE;
+        int c0 = interceptoFixo ? 1 : 0; // primeira coluna livre do modelo
+        int q = p - c0; // número de parâmetros livres
+
+        // equações normais (matriz de Hankel)
+        Matriz Sxx = new Matriz(q, q);
+        double[] sxx = Sxx.getDados();
+        double[] Sxy = new double[q];
+        for (int i = 0; i < q; i++) {
+            for (int j = 0; j < q; j++) {
+                sxx[i * q + j] = S[i + j + 2 * c0];
+            }
+            Sxy[i] = interceptoFixo ? T[i + 1] - b0 * S[i + 1] : T[i];
+        }
+        double[] beta = q > 0 ? RegressaoLinearMultipla.resolverEquacoesNormais(Sxx, Sxy) : new double[0];
+        double[] b = beta;
+        if (interceptoFixo) {
+            b = new double[p];
+            b[0] = b0;
+            System.arraycopy(beta, 0, b, 1, q);
+        }
+
+        // somas dos quadrados dos resíduos e dos desvios em torno da média
+        double media = somaY / n;
+        double D = 0;
+        double Syy = 0;
+        for (int i = 0; i < n; i++) {
+            double xi = x[i];
+            double f = b[p - 1];
+            for (int k = p - 2; k >= 0; k--) {
+                f = f * xi + b[k];
+            }
+            double r = y[i] - f;
+            double d = y[i] - media;
+            D += r * r;
+            Syy += d * d;
+        }
+
+        r2 = 1 - (D / Syy); // coeficiente de determinação
+        sigma2 = D / (n - q); // variância residual
+        return b;
+    }
+}
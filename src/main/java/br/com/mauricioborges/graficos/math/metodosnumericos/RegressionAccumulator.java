@@ -0,0 +1,429 @@
+package br.com.mauricioborges.graficos.math.metodosnumericos;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Acumulador das estatísticas suficientes de uma regressão linear múltipla
+ * (Sxx, Sxy, Σy, Σy² e n).
+ * <p>
+ * Os pontos podem ser adicionados aos poucos e acumuladores parciais (de
+ * arquivos, threads ou processos diferentes) podem ser combinados com
+ * {@link #merge(RegressionAccumulator)} antes de resolver uma única vez, sem
+ * concatenar os dados. O modelo segue a {@link RegressaoLinearMultipla}: para
+ * v = 1 as colunas são 1, x, x², ... e para v &gt; 1 são 1, x1, x2, ...
+ * <p>
+ * Como só as somas são guardadas, a soma dos quadrados dos resíduos é obtida
+ * por Σy² − bᵀ·Sxy, que perde precisão por cancelamento quando o ajuste é
+ * quase exato (resíduos muito menores que os valores de y): nesse caso
+ * {@link #getR2()} e {@link #getSigma2()} têm poucos algarismos corretos, e a
+ * variância residual pode chegar a zero. Os coeficientes não são afetados.
+ * Quando os dados estiverem disponíveis, prefira calcular os resíduos
+ * diretamente, como faz a {@link RegressaoPolinomial}.
+ * <p>
+ * Esta classe não é thread-safe: use um acumulador por thread e combine-os.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class RegressionAccumulator {
+
+    private static final int MAGICO = 0x52414343; // "RACC"
+    private static final byte VERSAO = 1;
+
+    /**
+     * Maior número de parâmetros aceito ao ler um acumulador, para que dados
+     * corrompidos não causem alocações gigantes
+     */
+    private static final int MAXIMO_DE_PARAMETROS_LIDOS = 4096;
+
+    // parâmetros do modelo
+    private final int v;
+    private final int p;
+
+    // estatísticas suficientes
+    private long n = 0;
+    private final double[] sxx; // triangular inferior empacotada: (i, j) em i(i+1)/2 + j
+    private final double[] sxy;
+    private double somaY = 0;
+    private double somaY2 = 0;
+
+    // resultados
+    private double r2 = 0;
+    private double sigma2 = 0;
+
+    private final double[] linha;
+
+    /**
+     * ACUMULADOR DA REGRESSÃO LINEAR MÚLTIPLA
+     *
+     * @param v (número de variáveis)
+     * @param p (número de parâmetros)
+     */
+    public RegressionAccumulator(int v, int p) {
+        if (v < 1 || p < 1) {
+            throw new IllegalArgumentException("O número de variáveis e de parâmetros deve ser maior do que zero.");
+        }
+        if (v > 1 && v + 1 != p) {
+            throw new IllegalArgumentException("Para mais de uma variável, o número de parâmetros deve ser v + 1.");
+        }
+        long tamanho = (long) p * (p + 1) / 2;
+        if (tamanho > Integer.MAX_VALUE - 8) {
+            // Sxx empacotada não caberia em um array
+            throw new IllegalArgumentException("O número de parâmetros é grande demais.");
+        }
+        this.v = v;
+        this.p = p;
+        this.sxx = new double[(int) tamanho];
+        this.sxy = new double[p];
+        this.linha = new double[p];
+    }
+
+    /**
+     * Obter o número de variáveis
+     *
+     * @return número de variáveis
+     */
+    public int getV() {
+        return v;
+    }
+
+    /**
+     * Obter o número de parâmetros
+     *
+     * @return número de parâmetros
+     */
+    public int getP() {
+        return p;
+    }
+
+    /**
+     * Obter o número de pontos acumulados
+     *
+     * @return número de pontos
+     */
+    public long getN() {
+        return n;
+    }
+
+    /**
+     * Obter o coeficiente de determinação do último {@link #solve()} (com
+     * pouca precisão para ajustes quase exatos)
+     *
+     * @return coeficiente de determinação
+     */
+    public double getR2() {
+        return r2;
+    }
+
+    /**
+     * Obter a variância residual do último {@link #solve()} (com pouca
+     * precisão para ajustes quase exatos)
+     *
+     * @return variância residual
+     */
+    public double getSigma2() {
+        return sigma2;
+    }
+
+    /**
+     * Obter Sxx na forma triangular inferior empacotada (não é uma cópia)
+     *
+     * @return elemento (i, j), com j &lt;= i, na posição i(i+1)/2 + j
+     */
+    double[] getSxx() {
+        return sxx;
+    }
+
+    /**
+     * Obter Sxy (não é uma cópia)
+     *
+     * @return Sxy
+     */
+    double[] getSxy() {
+        return sxy;
+    }
+
+    /**
+     * Obter Σy
+     *
+     * @return Σy
+     */
+    double getSomaY() {
+        return somaY;
+    }
+
+    /**
+     * Obter Σy²
+     *
+     * @return Σy²
+     */
+    double getSomaY2() {
+        return somaY2;
+    }
+
+    /**
+     * Adicionar um ponto
+     *
+     * @param x valores das v variáveis explicativas
+     * @param y variável resposta
+     */
+    public void add(double[] x, double y) {
+        if (x.length != v) {
+            throw new IllegalArgumentException("O ponto deve ter " + v + " variáveis explicativas.");
+        }
+        linha[0] = 1.0;
+        if (v == 1) {
+            for (int j = 1; j < p; j++) {
+                linha[j] = linha[j - 1] * x[0];
+            }
+        } else {
+            System.arraycopy(x, 0, linha, 1, v);
+        }
+        adicionarLinha(linha, y);
+    }
+
+    /**
+     * Adicionar um ponto (somente para v = 1)
+     *
+     * @param x variável explicativa
+     * @param y variável resposta
+     */
+    public void add(double x, double y) {
+        if (v != 1) {
+            throw new IllegalStateException("Só é possível adicionar um único x quando v = 1.");
+        }
+        linha[0] = 1.0;
+        for (int j = 1; j < p; j++) {
+            linha[j] = linha[j - 1] * x;
+        }
+        adicionarLinha(linha, y);
+    }
+
+    /**
+     * Adicionar uma série de pontos (somente para v = 1)
+     *
+     * @param x valores da variável explicativa
+     * @param y valores da variável resposta
+     */
+    public void addAll(double[] x, double[] y) {
+        requireNonNull(x, "O array de X não pode ser nulo.");
+        requireNonNull(y, "O array de Y não pode ser nulo.");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Os arrays de X e Y devem ter o mesmo tamanho.");
+        }
+        for (int i = 0; i < x.length; i++) {
+            add(x[i], y[i]);
+        }
+    }
+
+    /**
+     * Adicionar as linhas de uma matriz de variáveis explicativas
+     *
+     * @param X matriz de dimensão N x V
+     * @param y valores da variável resposta
+     */
+    public void addAll(Matriz X, double[] y) {
+        addAll(X, y, 0, y.length);
+    }
+
+    /**
+     * Adicionar um intervalo de linhas de uma matriz de variáveis explicativas
+     *
+     * @param X matriz de dimensão N x V
+     * @param y valores da variável resposta
+     * @param de primeira linha (inclusive)
+     * @param ate última linha (exclusive)
+     */
+    public void addAll(Matriz X, double[] y, int de, int ate) {
+        addAll(X, y, 0, de, ate);
+    }
+
+    /**
+     * Adicionar um intervalo de linhas, acumulando y - deslocamentoY
+     *
+     * @param X matriz de dimensão N x V
+     * @param y valores da variável resposta
+     * @param deslocamentoY valor subtraído de cada y
+     * @param de primeira linha (inclusive)
+     * @param ate última linha (exclusive)
+     */
+    void addAll(Matriz X, double[] y, double deslocamentoY, int de, int ate) {
+        requireNonNull(X, "A matriz X não pode ser nula.");
+        requireNonNull(y, "O vetor Y não pode ser nulo.");
+        if (X.getLinhas() != y.length || X.getColunas() < v) {
+            throw new IllegalArgumentException("As dimensões de X e Y não são compatíveis.");
+        }
+        double[] dados = X.getDados();
+        int colunas = X.getColunas();
+        for (int i = de; i < ate; i++) {
+            int base = i * colunas;
+            linha[0] = 1.0;
+            if (v == 1) {
+                for (int j = 1; j < p; j++) {
+                    linha[j] = linha[j - 1] * dados[base];
+                }
+            } else {
+                System.arraycopy(dados, base, linha, 1, v);
+            }
+            adicionarLinha(linha, y[i] - deslocamentoY);
+        }
+    }
+
+    private void adicionarLinha(double[] d, double y) {
+        int k = 0;
+        for (int i = 0; i < p; i++) {
+            double di = d[i];
+            for (int j = 0; j <= i; j++) {
+                sxx[k++] += di * d[j];
+            }
+            sxy[i] += di * y;
+        }
+        somaY += y;
+        somaY2 += y * y;
+        n++;
+    }
+
+    /**
+     * Combinar as estatísticas de outro acumulador neste
+     *
+     * @param outro acumulador com o mesmo modelo (v e p)
+     * @return a própria instância
+     */
+    public RegressionAccumulator merge(RegressionAccumulator outro) {
+        requireNonNull(outro, "O acumulador não pode ser nulo.");
+        if (outro.v != v || outro.p != p) {
+            throw new IllegalArgumentException("Só é possível combinar acumuladores com os mesmos v e p.");
+        }
+        for (int i = 0; i < sxx.length; i++) {
+            sxx[i] += outro.sxx[i];
+        }
+        for (int i = 0; i < p; i++) {
+            sxy[i] += outro.sxy[i];
+        }
+        somaY += outro.somaY;
+        somaY2 += outro.somaY2;
+        n += outro.n;
+        return this;
+    }
+
+    /**
+     * Resolve a regressão com as estatísticas acumuladas até o momento. O
+     * coeficiente de determinação e a variância residual são calculados a
+     * partir das somas (veja a descrição da classe).
+     *
+     * @return coeficientes de regressão (índices a partir de 0)
+     */
+    public double[] solve() {
+        if (n < p) {
+            throw new ArithmeticException("ERRO regressaoLinearMultipla! Não há pontos suficientes para a regressão.");
+        }
+        double[] b = RegressaoLinearMultipla.resolverEquacoesNormais(p, sxx, sxy);
+
+        // soma dos quadrados dos resíduos: Y'Y - b'Sxy
+        double D = somaY2;
+        for (int i = 0; i < p; i++) {
+            D -= b[i] * sxy[i];
+        }
+        D = Math.max(D, 0);
+        r2 = 1 - (D / (somaY2 - (somaY * somaY / n))); // coeficiente de determinação
+        sigma2 = D / (n - p); // variância residual
+        return b;
+    }
+
+    /**
+     * Escrever o acumulador em formato binário compacto
+     *
+     * @param saida destino
+     * @throws IOException erro de escrita
+     */
+    public void writeTo(DataOutput saida) throws IOException {
+        saida.writeInt(MAGICO);
+        saida.writeByte(VERSAO);
+        saida.writeInt(v);
+        saida.writeInt(p);
+        saida.writeLong(n);
+        saida.writeDouble(somaY);
+        saida.writeDouble(somaY2);
+        for (double s : sxy) {
+            saida.writeDouble(s);
+        }
+        for (double s : sxx) {
+            saida.writeDouble(s);
+        }
+    }
+
+    /**
+     * Ler um acumulador escrito por {@link #writeTo(DataOutput)}
+     *
+     * @param entrada origem
+     * @return acumulador
+     * @throws IOException erro de leitura ou formato inválido
+     */
+    public static RegressionAccumulator readFrom(DataInput entrada) throws IOException {
+        if (entrada.readInt() != MAGICO) {
+            throw new IOException("Os dados não representam um acumulador de regressão.");
+        }
+        byte versao = entrada.readByte();
+        if (versao != VERSAO) {
+            throw new IOException("Versão do acumulador de regressão não suportada: " + versao);
+        }
+        int v = entrada.readInt();
+        int p = entrada.readInt();
+        if (p < 1 || p > MAXIMO_DE_PARAMETROS_LIDOS) {
+            throw new IOException("Número de parâmetros do acumulador de regressão inválido: " + p);
+        }
+        RegressionAccumulator acc;
+        try {
+            acc = new RegressionAccumulator(v, p);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Modelo do acumulador de regressão inválido.", e);
+        }
+        acc.n = entrada.readLong();
+        acc.somaY = entrada.readDouble();
+        acc.somaY2 = entrada.readDouble();
+        for (int i = 0; i < acc.sxy.length; i++) {
+            acc.sxy[i] = entrada.readDouble();
+        }
+        for (int i = 0; i < acc.sxx.length; i++) {
+            acc.sxx[i] = entrada.readDouble();
+        }
+        return acc;
+    }
+
+    /**
+     * Serializar o acumulador em um array de bytes
+     *
+     * @return bytes no formato de {@link #writeTo(DataOutput)}
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(37 + 8 * (sxy.length + sxx.length));
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            writeTo(saida);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Recriar um acumulador a partir de {@link #toBytes()}
+     *
+     * @param bytes bytes
+     * @return acumulador
+     */
+    public static RegressionAccumulator fromBytes(byte[] bytes) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return readFrom(entrada);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Não foi possível ler o acumulador de regressão.", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.mauricioborges.graficos.math.metodosnumericos;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Método das Substituições Retroativas
  *
@@ -10,8 +12,8 @@ public class SubstituicoesRetroativas {
 
     // parâmetros do método
     private final int n;
-    private final Double[][] U;
-    private final Double[] D;
+    private final Matriz U;
+    private final double[] D;
 
     /**
      * MÉTODO DAS SUBSTITUIÇÕES RETROATIVAS
@@ -21,9 +23,22 @@ public class SubstituicoesRetroativas {
      * @param D (vetor independente)
      */
     public SubstituicoesRetroativas(int n, Double[][] U, Double[] D) {
-        this.n = n;
-        this.U = U;
-        this.D = D;
+        this(Matriz.deIndice1(U, n, n), Matriz.vetorDeIndice1(D, n));
+    }
+
+    /**
+     * MÉTODO DAS SUBSTITUIÇÕES RETROATIVAS (índices a partir de 0)
+     *
+     * @param U (matriz triangular superior)
+     * @param D (vetor independente)
+     */
+    public SubstituicoesRetroativas(Matriz U, double[] D) {
+        this.U = requireNonNull(U, "A matriz U não pode ser nula.");
+        this.D = requireNonNull(D, "O vetor independente não pode ser nulo.");
+        this.n = U.getLinhas();
+        if (U.getColunas() != n || D.length != n) {
+            throw new IllegalArgumentException("As dimensões de U e D não são compatíveis.");
+        }
     }
 
     /**
@@ -32,14 +47,48 @@ public class SubstituicoesRetroativas {
      * @return solução do sistema triangular superior
      */
     public Double[] solve() {
-        Double[] X = new Double[n + 1];
-        X[n] = D[n] / U[n][n];
-        for (int i = (n - 1); i >= 1; i--) {
+        return Matriz.vetorParaIndice1(resolver());
+    }
+
+    /**
+     * Resolve o método sem boxing (índices a partir de 0)
+     *
+     * @return solução do sistema triangular superior
+     */
+    public double[] resolver() {
+        double[] u = U.getDados();
+        double[] X = new double[n];
+        for (int i = (n - 1); i >= 0; i--) {
+            int ui = i * n;
             double soma = 0;
-            for (int j = (i + 1); j <= n; j++) {
-                soma += U[i][j] * X[j];
+            for (int j = (i + 1); j < n; j++) {
+                soma += u[ui + j] * X[j];
+            }
+            X[i] = (D[i] - soma) / u[ui + i];
+        }
+        return X;
+    }
+
+    /**
+     * Resolve o sistema triangular superior Lᵀ·X = D, onde L é triangular
+     * inferior na forma empacotada, linha por linha (elemento (i, j) em
+     * i(i+1)/2 + j). As linhas de L são percorridas em sequência, sem montar
+     * a transposta.
+     *
+     * @param n (ordem da matriz L)
+     * @param L (matriz triangular inferior empacotada)
+     * @param D (vetor independente)
+     * @return solução do sistema triangular superior
+     */
+    public static double[] resolverTranspostaEmpacotada(int n, double[] L, double[] D) {
+        double[] X = D.clone();
+        for (int i = (n - 1); i >= 0; i--) {
+            int li = i * (i + 1) / 2;
+            X[i] /= L[li + i];
+            double xi = X[i];
+            for (int k = 0; k < i; k++) {
+                X[k] -= L[li + k] * xi;
             }
-            X[i] = (D[i] - soma) / U[i][i];
         }
         return X;
     }
@@ -1,5 +1,7 @@
 package br.com.mauricioborges.graficos.math.metodosnumericos;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Método das Substituições Sucessivas
  *
@@ -10,8 +12,8 @@ public class SubstituicoesSucessivas {
 
     // parâmetros do método
     private final int n;
-    private final Double[][] L;
-    private final Double[] C;
+    private final Matriz L;
+    private final double[] C;
 
     /**
      * MÉTODO DAS SUBSTITUIÇÕES SUCESSIVAS
@@ -21,9 +23,22 @@ public class SubstituicoesSucessivas {
      * @param C (vetor independente)
      */
     public SubstituicoesSucessivas(int n, Double[][] L, Double[] C) {
-        this.n = n;
-        this.L = L;
-        this.C = C;
+        this(Matriz.deIndice1(L, n, n), Matriz.vetorDeIndice1(C, n));
+    }
+
+    /**
+     * MÉTODO DAS SUBSTITUIÇÕES SUCESSIVAS (índices a partir de 0)
+     *
+     * @param L (matriz triangular inferior)
+     * @param C (vetor independente)
+     */
+    public SubstituicoesSucessivas(Matriz L, double[] C) {
+        this.L = requireNonNull(L, "A matriz L não pode ser nula.");
+        this.C = requireNonNull(C, "O vetor independente não pode ser nulo.");
+        this.n = L.getLinhas();
+        if (L.getColunas() != n || C.length != n) {
+            throw new IllegalArgumentException("As dimensões de L e C não são compatíveis.");
+        }
     }
 
     /**
@@ -32,14 +47,47 @@ public class SubstituicoesSucessivas {
      * @return solução do sistema triangular inferior
      */
     public Double[] solve() {
-        Double[] X = new Double[n + 1];
-        X[1] = C[1] / L[1][1];
-        for (int i = 2; i <= n; i++) {
+        return Matriz.vetorParaIndice1(resolver());
+    }
+
+    /**
+     * Resolve o método sem boxing (índices a partir de 0)
+     *
+     * @return solução do sistema triangular inferior
+     */
+    public double[] resolver() {
+        double[] l = L.getDados();
+        double[] X = new double[n];
+        for (int i = 0; i < n; i++) {
+            int li = i * n;
+            double soma = 0;
+            for (int j = 0; j < i; j++) {
+                soma += l[li + j] * X[j];
+            }
+            X[i] = (C[i] - soma) / l[li + i];
+        }
+        return X;
+    }
+
+    /**
+     * Resolve o sistema triangular inferior L·X = C com L na forma
+     * empacotada, linha por linha (elemento (i, j) em i(i+1)/2 + j)
+     *
+     * @param n (ordem da matriz L)
+     * @param L (matriz triangular inferior empacotada)
+     * @param C (vetor independente)
+     * @return solução do sistema triangular inferior
+     */
+    public static double[] resolverEmpacotada(int n, double[] L, double[] C) {
+        double[] X = new double[n];
+        int li = 0;
+        for (int i = 0; i < n; i++) {
             double soma = 0;
-            for (int j = 1; j <= (i - 1); j++) {
-                soma += L[i][j] * X[j];
+            for (int j = 0; j < i; j++) {
+                soma += L[li + j] * X[j];
             }
-            X[i] = (C[i] - soma) / L[i][i];
+            X[i] = (C[i] - soma) / L[li + i];
+            li += i + 1;
         }
         return X;
     }
@@ -0,0 +1,159 @@
+package br.com.mauricioborges.graficos.math.simbolico;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Derivação simbólica de {@link Expressao}.
+ * <p>
+ * Aplica as regras da soma, do produto (para qualquer número de fatores), da
+ * potência (com base ou expoente constante, ou ambos variáveis) e da cadeia
+ * para as funções elementares. Subexpressões que não dependem da variável
+ * têm derivada zero sem serem percorridas, e subexpressões repetidas são
+ * derivadas uma única vez.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class Diferenciador {
+
+    private static final Expressao MEIO = Expressao.constante(0.5);
+
+    private final String variavel;
+    private final Map<Expressao, Expressao> derivadas = new IdentityHashMap<>();
+
+    private Diferenciador(String variavel) {
+        this.variavel = variavel;
+    }
+
+    /**
+     * Derivar e simplificar
+     *
+     * @param expressao expressão
+     * @param variavel variável de derivação
+     * @return derivada simplificada
+     */
+    public static Expressao derivar(Expressao expressao, String variavel) {
+        return Simplificador.simplificar(derivarSemSimplificar(Simplificador.simplificar(expressao), variavel));
+    }
+
+    /**
+     * Derivar sem simplificar o resultado (a árvore resultante aplica as
+     * regras literalmente)
+     *
+     * @param expressao expressão
+     * @param variavel variável de derivação
+     * @return derivada
+     */
+    public static Expressao derivarSemSimplificar(Expressao expressao, String variavel) {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        requireNonNull(variavel, "A variável não pode ser nula.");
+        return new Diferenciador(variavel).d(expressao);
+    }
+
+    private Expressao d(Expressao e) {
+        if (!e.contem(variavel)) {
+            return Expressao.ZERO;
+        }
+        Expressao derivada = derivadas.get(e);
+        if (derivada == null) {
+            derivada = regra(e);
+            derivadas.put(e, derivada);
+        }
+        return derivada;
+    }
+
+    private Expressao regra(Expressao e) {
+        switch (e.getTipo()) {
+            case VARIAVEL:
+                return Expressao.UM;
+            case SOMA: {
+                Expressao[] termos = e.filhos();
+                Expressao[] derivadasTermos = new Expressao[termos.length];
+                for (int i = 0; i < termos.length; i++) {
+                    derivadasTermos[i] = d(termos[i]);
+                }
+                return Expressao.soma(derivadasTermos);
+            }
+            case PRODUTO: {
+                // (f·g·h)' = f'·g·h + f·g'·h + f·g·h'
+                Expressao[] fatores = e.filhos();
+                Expressao[] termos = new Expressao[fatores.length];
+                int n = 0;
+                for (int i = 0; i < fatores.length; i++) {
+                    if (!fatores[i].contem(variavel)) {
+                        continue;
+                    }
+                    Expressao[] termo = fatores.clone();
+                    termo[i] = d(fatores[i]);
+                    termos[n++] = Expressao.produto(termo);
+                }
+                return Expressao.soma(Arrays.copyOf(termos, n));
+            }
+            case POTENCIA: {
+                Expressao u = e.getFilho(0);
+                Expressao v = e.getFilho(1);
+                if (!v.contem(variavel)) {
+                    // (uᵛ)' = v·u^(v-1)·u'
+                    return Expressao.produto(v, Expressao.potencia(u, Expressao.soma(v, Expressao.MENOS_UM)), d(u));
+                }
+                Expressao lnU = Expressao.funcao(FuncaoElementar.LN, u);
+                if (!u.contem(variavel)) {
+                    // (uᵛ)' = uᵛ·ln(u)·v'
+                    return Expressao.produto(e, lnU, d(v));
+                }
+                // (uᵛ)' = uᵛ·(v'·ln(u) + v·u'/u)
+                return Expressao.produto(e, Expressao.soma(
+                        Expressao.produto(d(v), lnU),
+                        Expressao.produto(v, d(u), Expressao.potencia(u, Expressao.MENOS_UM))));
+            }
+            case FUNCAO:
+                return Expressao.produto(externa(e.getFuncao(), e.getFilho(0)), d(e.getFilho(0)));
+            default:
+                return Expressao.ZERO;
+        }
+    }
+
+    /**
+     * Derivada da função elementar em relação ao argumento u
+     */
+    private static Expressao externa(FuncaoElementar f, Expressao u) {
+        return switch (f) {
+            case SEN ->
+                Expressao.funcao(FuncaoElementar.COS, u);
+            case COS ->
+                Expressao.negacao(Expressao.funcao(FuncaoElementar.SEN, u));
+            case TAN ->
+                Expressao.potencia(Expressao.funcao(FuncaoElementar.COS, u), Expressao.constante(-2));
+            case ASEN ->
+                Expressao.potencia(umMenosQuadrado(u), Expressao.constante(-0.5));
+            case ACOS ->
+                Expressao.negacao(Expressao.potencia(umMenosQuadrado(u), Expressao.constante(-0.5)));
+            case ATAN ->
+                Expressao.potencia(Expressao.soma(Expressao.UM, Expressao.potencia(u, Expressao.constante(2))),
+                Expressao.MENOS_UM);
+            case SENH ->
+                Expressao.funcao(FuncaoElementar.COSH, u);
+            case COSH ->
+                Expressao.funcao(FuncaoElementar.SENH, u);
+            case TANH ->
+                Expressao.potencia(Expressao.funcao(FuncaoElementar.COSH, u), Expressao.constante(-2));
+            case LN ->
+                Expressao.potencia(u, Expressao.MENOS_UM);
+            case LOG ->
+                Expressao.produto(Expressao.constante(1 / Math.log(10)), Expressao.potencia(u, Expressao.MENOS_UM));
+            case EXP ->
+                Expressao.funcao(FuncaoElementar.EXP, u);
+            case RAIZ ->
+                Expressao.produto(MEIO, Expressao.potencia(Expressao.funcao(FuncaoElementar.RAIZ, u), Expressao.MENOS_UM));
+            case ABS ->
+                Expressao.produto(u, Expressao.potencia(Expressao.funcao(FuncaoElementar.ABS, u), Expressao.MENOS_UM));
+        };
+    }
+
+    private static Expressao umMenosQuadrado(Expressao u) {
+        return Expressao.soma(Expressao.UM, Expressao.negacao(Expressao.potencia(u, Expressao.constante(2))));
+    }
+}
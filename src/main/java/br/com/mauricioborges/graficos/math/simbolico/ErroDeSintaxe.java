@@ -0,0 +1,34 @@
+package br.com.mauricioborges.graficos.math.simbolico;
+
+/**
+ * Erro de sintaxe encontrado pelo {@link ParserSimbolico}
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public class ErroDeSintaxe extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int posicao;
+
+    /**
+     * Erro de sintaxe
+     *
+     * @param mensagem descrição do erro
+     * @param posicao posição do erro na expressão (começando em 0)
+     */
+    public ErroDeSintaxe(String mensagem, int posicao) {
+        super(mensagem + " (coluna " + (posicao + 1) + ")");
+        this.posicao = posicao;
+    }
+
+    /**
+     * Obter a posição do erro na expressão (começando em 0)
+     *
+     * @return posição
+     */
+    public int getPosicao() {
+        return posicao;
+    }
+}
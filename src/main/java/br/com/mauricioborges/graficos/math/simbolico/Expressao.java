@@ -0,0 +1,772 @@
+package br.com.mauricioborges.graficos.math.simbolico;
+
+import br.com.mauricioborges.graficos.math.Funcao;
+import br.com.mauricioborges.graficos.math.Polinomio;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Expressão simbólica imutável.
+ * <p>
+ * A árvore tem só seis tipos de nó: constante, variável, soma e produto com
+ * qualquer número de termos, potência e função elementar. Subtração, divisão
+ * e negação são escritas com esses nós (a - b = a + (-1)·b, a / b = a·b⁻¹),
+ * o que deixa as regras de derivação e simplificação curtas. Os métodos de
+ * criação não simplificam nada; use {@link Simplificador#simplificar}.
+ * <p>
+ * Os nós são internados (hash-consing): os métodos de criação devolvem o nó
+ * já existente quando há outro estruturalmente igual em uso, então
+ * subexpressões iguais, mesmo vindas de derivadas diferentes, ocupam um único
+ * objeto. A tabela de nós guarda referências fracas, e os nós sem uso são
+ * coletados normalmente. Com isso, a igualdade estrutural se reduz a
+ * comparar referências, e cada nó guarda o resultado da sua última
+ * avaliação em uma variável, de modo que uma subexpressão compartilhada é
+ * calculada uma vez por ponto.
+ * <p>
+ * {@link #compareTo} define a ordem canônica dos termos usada pelo
+ * simplificador.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class Expressao implements Comparable<Expressao> {
+
+    /**
+     * Tipos de nó
+     */
+    public static enum Tipo {
+        CONSTANTE,
+        VARIAVEL,
+        FUNCAO,
+        PRODUTO,
+        SOMA,
+        POTENCIA
+    }
+
+    private static final Expressao[] SEM_FILHOS = new Expressao[0];
+    private static final String[] SEM_VARIAVEIS = new String[0];
+    private static final TabelaDeNos TABELA = new TabelaDeNos();
+
+    // maior grau aceito por paraPolinomio (evita expandir (x+1)^1000)
+    private static final int GRAU_MAXIMO = 64;
+
+    static final Expressao ZERO = constante(0);
+    static final Expressao UM = constante(1);
+    static final Expressao MENOS_UM = constante(-1);
+
+    private final Tipo tipo;
+    private final double valor;
+    private final String nome;
+    private final FuncaoElementar funcao;
+    private final Expressao[] filhos;
+    private final String[] variaveis;
+    private final int hash;
+
+    // resultado da última avaliação (objeto imutável, trocado inteiro)
+    private Memoria memoria;
+
+    // resultado do Simplificador (o próprio nó se já estiver simplificado)
+    Expressao simplificada;
+
+    private Expressao(Tipo tipo, double valor, String nome, FuncaoElementar funcao, Expressao[] filhos) {
+        this.tipo = tipo;
+        this.valor = valor;
+        this.nome = nome;
+        this.funcao = funcao;
+        this.filhos = filhos;
+        if (tipo == Tipo.VARIAVEL) {
+            this.variaveis = new String[]{nome};
+        } else {
+            String[] todas = SEM_VARIAVEIS;
+            for (Expressao filho : filhos) {
+                todas = unir(todas, filho.variaveis);
+            }
+            this.variaveis = todas;
+        }
+        int h = tipo.ordinal();
+        h = 31 * h + Double.hashCode(valor);
+        h = 31 * h + (nome == null ? 0 : nome.hashCode());
+        h = 31 * h + (funcao == null ? 0 : funcao.ordinal());
+        for (Expressao filho : filhos) {
+            h = 31 * h + filho.hash;
+        }
+        this.hash = h;
+    }
+
+    /**
+     * Obter o nó internado igual ao nó criado
+     */
+    private static Expressao novo(Tipo tipo, double valor, String nome, FuncaoElementar funcao, Expressao[] filhos) {
+        return TABELA.internar(new Expressao(tipo, valor, nome, funcao, filhos));
+    }
+
+    /**
+     * União de dois arrays ordenados de variáveis (reaproveita um deles se
+     * possível)
+     */
+    private static String[] unir(String[] a, String[] b) {
+        if (a.length == 0 || a == b) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        String[] uniao = new String[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            int c = i == a.length ? 1 : j == b.length ? -1 : a[i].compareTo(b[j]);
+            uniao[n++] = c <= 0 ? a[i] : b[j];
+            if (c <= 0) {
+                i++;
+            }
+            if (c >= 0) {
+                j++;
+            }
+        }
+        if (n == a.length) {
+            return a;
+        }
+        if (n == b.length) {
+            return b;
+        }
+        return Arrays.copyOf(uniao, n);
+    }
+
+    /**
+     * Constante
+     *
+     * @param valor valor
+     * @return expressão
+     */
+    public static Expressao constante(double valor) {
+        return novo(Tipo.CONSTANTE, valor == 0 ? 0 : valor, null, null, SEM_FILHOS);
+    }
+
+    /**
+     * Variável
+     *
+     * @param nome nome da variável
+     * @return expressão
+     */
+    public static Expressao variavel(String nome) {
+        return novo(Tipo.VARIAVEL, 0, requireNonNull(nome, "O nome da variável não pode ser nulo."), null, SEM_FILHOS);
+    }
+
+    /**
+     * Soma dos termos
+     *
+     * @param termos termos
+     * @return expressão
+     */
+    public static Expressao soma(Expressao... termos) {
+        return composta(Tipo.SOMA, termos, ZERO);
+    }
+
+    /**
+     * Produto dos fatores
+     *
+     * @param fatores fatores
+     * @return expressão
+     */
+    public static Expressao produto(Expressao... fatores) {
+        return composta(Tipo.PRODUTO, fatores, UM);
+    }
+
+    private static Expressao composta(Tipo tipo, Expressao[] filhos, Expressao neutro) {
+        for (Expressao filho : filhos) {
+            requireNonNull(filho, "Os termos não podem ser nulos.");
+        }
+        return switch (filhos.length) {
+            case 0 -> neutro;
+            case 1 -> filhos[0];
+            default -> novo(tipo, 0, null, null, filhos.clone());
+        };
+    }
+
+    /**
+     * Potência base^expoente
+     *
+     * @param base base
+     * @param expoente expoente
+     * @return expressão
+     */
+    public static Expressao potencia(Expressao base, Expressao expoente) {
+        return novo(Tipo.POTENCIA, 0, null, null, new Expressao[]{
+            requireNonNull(base, "A base não pode ser nula."),
+            requireNonNull(expoente, "O expoente não pode ser nulo.")});
+    }
+
+    /**
+     * Função elementar aplicada a um argumento
+     *
+     * @param funcao função
+     * @param argumento argumento
+     * @return expressão
+     */
+    public static Expressao funcao(FuncaoElementar funcao, Expressao argumento) {
+        return novo(Tipo.FUNCAO, 0, null, requireNonNull(funcao, "A função não pode ser nula."),
+                new Expressao[]{requireNonNull(argumento, "O argumento não pode ser nulo.")});
+    }
+
+    /**
+     * a - b, escrito como a + (-1)·b
+     *
+     * @param a minuendo
+     * @param b subtraendo
+     * @return expressão
+     */
+    public static Expressao subtracao(Expressao a, Expressao b) {
+        return soma(a, negacao(b));
+    }
+
+    /**
+     * a / b, escrito como a·b⁻¹
+     *
+     * @param a dividendo
+     * @param b divisor
+     * @return expressão
+     */
+    public static Expressao divisao(Expressao a, Expressao b) {
+        return produto(a, potencia(b, MENOS_UM));
+    }
+
+    /**
+     * -a, escrito como (-1)·a
+     *
+     * @param a expressão
+     * @return expressão
+     */
+    public static Expressao negacao(Expressao a) {
+        if (a.tipo == Tipo.CONSTANTE) {
+            return constante(-a.valor);
+        }
+        return produto(MENOS_UM, a);
+    }
+
+    /**
+     * Obter o tipo do nó
+     *
+     * @return tipo
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Obter o valor de uma constante
+     *
+     * @return valor (0 para os outros tipos)
+     */
+    public double getValor() {
+        return valor;
+    }
+
+    /**
+     * Obter o nome de uma variável
+     *
+     * @return nome (null para os outros tipos)
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Obter a função elementar de um nó de função
+     *
+     * @return função (null para os outros tipos)
+     */
+    public FuncaoElementar getFuncao() {
+        return funcao;
+    }
+
+    /**
+     * Obter o número de filhos
+     *
+     * @return número de filhos
+     */
+    public int getNumeroDeFilhos() {
+        return filhos.length;
+    }
+
+    /**
+     * Obter um filho (termo, fator, base, expoente ou argumento)
+     *
+     * @param i índice do filho
+     * @return filho
+     */
+    public Expressao getFilho(int i) {
+        return filhos[i];
+    }
+
+    Expressao[] filhos() {
+        return filhos;
+    }
+
+    /**
+     * Verificar se a expressão depende de uma variável
+     *
+     * @param variavel nome da variável
+     * @return true se a variável aparece na expressão
+     */
+    public boolean contem(String variavel) {
+        return Arrays.binarySearch(variaveis, variavel) >= 0;
+    }
+
+    /**
+     * Obter as variáveis da expressão, em ordem alfabética
+     *
+     * @return variáveis
+     */
+    public String[] getVariaveis() {
+        return variaveis.clone();
+    }
+
+    /**
+     * Verificar se a expressão é a constante informada
+     */
+    boolean isConstante(double v) {
+        return tipo == Tipo.CONSTANTE && valor == v;
+    }
+
+    /**
+     * Avaliar a expressão em uma variável
+     *
+     * @param variavel nome da variável
+     * @param x valor da variável
+     * @return resultado
+     * @throws IllegalArgumentException se a expressão tiver outras variáveis
+     */
+    public double avaliar(String variavel, double x) {
+        for (String v : variaveis) {
+            if (!v.equals(variavel)) {
+                throw new IllegalArgumentException("Variável não suportada: " + v + ".");
+            }
+        }
+        return avaliar(variavel, x, null);
+    }
+
+    /**
+     * Avaliar a expressão com os valores das variáveis
+     *
+     * @param valores valor de cada variável
+     * @return resultado
+     * @throws IllegalArgumentException se faltar o valor de alguma variável
+     */
+    public double avaliar(Map<String, Double> valores) {
+        for (String v : variaveis) {
+            if (valores.get(v) == null) {
+                throw new IllegalArgumentException("Falta o valor da variável " + v + ".");
+            }
+        }
+        return avaliar(null, 0, valores);
+    }
+
+    private double avaliar(String variavel, double x, Map<String, Double> valores) {
+        if (valores != null || filhos.length == 0) {
+            return calcular(variavel, x, valores);
+        }
+        Memoria m = memoria;
+        // compara os bits: x == -0.0 e x == +0.0 podem ter resultados diferentes (1/x)
+        if (m != null && Double.doubleToRawLongBits(m.x) == Double.doubleToRawLongBits(x) && m.variavel.equals(variavel)) {
+            return m.valor;
+        }
+        double v = calcular(variavel, x, null);
+        memoria = new Memoria(variavel, x, v);
+        return v;
+    }
+
+    private double calcular(String variavel, double x, Map<String, Double> valores) {
+        switch (tipo) {
+            case CONSTANTE:
+                return valor;
+            case VARIAVEL:
+                return valores == null ? x : valores.get(nome);
+            case FUNCAO:
+                return funcao.aplicar(filhos[0].avaliar(variavel, x, valores));
+            case POTENCIA:
+                return Math.pow(filhos[0].avaliar(variavel, x, valores), filhos[1].avaliar(variavel, x, valores));
+            case SOMA: {
+                double s = 0;
+                for (Expressao filho : filhos) {
+                    s += filho.avaliar(variavel, x, valores);
+                }
+                return s;
+            }
+            default: {
+                double p = 1;
+                for (Expressao filho : filhos) {
+                    p *= filho.avaliar(variavel, x, valores);
+                }
+                return p;
+            }
+        }
+    }
+
+    /**
+     * Obter a expressão como uma {@link Funcao} de uma variável (avaliada
+     * percorrendo a árvore; para avaliar muitos pontos, compile a expressão
+     * com o CompiladorDeExpressoes)
+     *
+     * @param variavel nome da variável
+     * @return função
+     */
+    public Funcao paraFuncao(String variavel) {
+        avaliar(variavel, 0);
+        return x -> avaliar(variavel, x, null);
+    }
+
+    /**
+     * Obter a expressão como um {@link Polinomio} na variável, se ela for um
+     * polinômio: constantes, a variável, somas, produtos e potências com
+     * expoente inteiro não negativo (produtos e potências de somas são
+     * expandidos)
+     *
+     * @param variavel nome da variável
+     * @return polinômio ou null se a expressão não for um polinômio na
+     * variável (inclusive se tiver outras variáveis)
+     */
+    public Polinomio paraPolinomio(String variavel) {
+        requireNonNull(variavel, "A variável não pode ser nula.");
+        if (variaveis.length > 1 || (variaveis.length == 1 && !variaveis[0].equals(variavel))) {
+            return null;
+        }
+        double[] c = coeficientes();
+        return c == null ? null : new Polinomio(c);
+    }
+
+    /**
+     * Coeficientes do polinômio na única variável da expressão (null se não
+     * for polinômio)
+     */
+    private double[] coeficientes() {
+        if (variaveis.length == 0) {
+            // não depende da variável: qualquer função de constantes serve
+            double v = avaliar(Map.of());
+            return Double.isFinite(v) ? new double[]{v} : null;
+        }
+        switch (tipo) {
+            case VARIAVEL:
+                return new double[]{0, 1};
+            case SOMA: {
+                double[] soma = {0};
+                for (Expressao filho : filhos) {
+                    double[] c = filho.coeficientes();
+                    if (c == null) {
+                        return null;
+                    }
+                    if (c.length > soma.length) {
+                        double[] t = c.clone();
+                        c = soma;
+                        soma = t;
+                    }
+                    for (int i = 0; i < c.length; i++) {
+                        soma[i] += c[i];
+                    }
+                }
+                return soma;
+            }
+            case PRODUTO: {
+                double[] produto = {1};
+                for (Expressao filho : filhos) {
+                    double[] c = filho.coeficientes();
+                    if (c == null || produto.length + c.length - 2 > GRAU_MAXIMO) {
+                        return null;
+                    }
+                    produto = multiplicar(produto, c);
+                }
+                return produto;
+            }
+            case POTENCIA: {
+                Expressao expoente = filhos[1];
+                if (expoente.tipo != Tipo.CONSTANTE || expoente.valor < 0 || expoente.valor != Math.rint(expoente.valor)) {
+                    return null;
+                }
+                double[] base = filhos[0].coeficientes();
+                if (base == null || (base.length - 1) * expoente.valor > GRAU_MAXIMO) {
+                    return null;
+                }
+                double[] potencia = {1};
+                for (int n = (int) expoente.valor; n > 0; n--) {
+                    potencia = multiplicar(potencia, base);
+                }
+                return potencia;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static double[] multiplicar(double[] a, double[] b) {
+        double[] p = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length; j++) {
+                p[i + j] += a[i] * b[j];
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Nós internados são iguais somente se forem o mesmo objeto. A
+     * comparação dos campos (com os filhos comparados por referência) só é
+     * usada pela tabela de nós, ao internar um nó novo.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Expressao outra) || hash != outra.hash || tipo != outra.tipo
+                || Double.compare(valor, outra.valor) != 0 || funcao != outra.funcao
+                || filhos.length != outra.filhos.length
+                || (nome == null ? outra.nome != null : !nome.equals(outra.nome))) {
+            return false;
+        }
+        for (int i = 0; i < filhos.length; i++) {
+            if (filhos[i] != outra.filhos[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Ordem canônica: potências são ordenadas pela base e depois pelo
+     * expoente, de modo que x, x² e x³ ficam juntos; os demais nós são
+     * ordenados por tipo (constantes primeiro) e depois pelo conteúdo
+     */
+    @Override
+    public int compareTo(Expressao outra) {
+        if (this == outra) {
+            return 0;
+        }
+        if (tipo == Tipo.POTENCIA || outra.tipo == Tipo.POTENCIA) {
+            Expressao baseA = tipo == Tipo.POTENCIA ? filhos[0] : this;
+            Expressao baseB = outra.tipo == Tipo.POTENCIA ? outra.filhos[0] : outra;
+            int c = baseA.compareTo(baseB);
+            if (c != 0) {
+                return c;
+            }
+            Expressao expA = tipo == Tipo.POTENCIA ? filhos[1] : UM;
+            Expressao expB = outra.tipo == Tipo.POTENCIA ? outra.filhos[1] : UM;
+            return expA.compareTo(expB);
+        }
+        int c = tipo.compareTo(outra.tipo);
+        if (c != 0) {
+            return c;
+        }
+        switch (tipo) {
+            case CONSTANTE:
+                return Double.compare(valor, outra.valor);
+            case VARIAVEL:
+                return nome.compareTo(outra.nome);
+            case FUNCAO:
+                c = funcao.compareTo(outra.funcao);
+                return c != 0 ? c : filhos[0].compareTo(outra.filhos[0]);
+            default:
+                for (int i = 0; i < Math.min(filhos.length, outra.filhos.length); i++) {
+                    c = filhos[i].compareTo(outra.filhos[i]);
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return Integer.compare(filhos.length, outra.filhos.length);
+        }
+    }
+
+    /**
+     * Obter o número de nós internados em uso
+     *
+     * @return número de nós
+     */
+    public static int getNosInternados() {
+        return TABELA.tamanho();
+    }
+
+    /**
+     * Texto da expressão, na sintaxe aceita pelo JEP e pelo
+     * {@link ParserSimbolico}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        escrever(sb);
+        return sb.toString();
+    }
+
+    // precedência para decidir os parênteses
+    private int precedencia() {
+        return switch (tipo) {
+            case SOMA -> 1;
+            case PRODUTO -> 2;
+            case POTENCIA -> isDenominador() ? 2 : 3;
+            case CONSTANTE -> valor < 0 ? 2 : 4;
+            default -> 4;
+        };
+    }
+
+    // potência com expoente constante negativo, escrita como divisão
+    private boolean isDenominador() {
+        return tipo == Tipo.POTENCIA && filhos[1].tipo == Tipo.CONSTANTE && filhos[1].valor < 0;
+    }
+
+    private void escrever(StringBuilder sb) {
+        switch (tipo) {
+            case CONSTANTE ->
+                sb.append(formatar(valor));
+            case VARIAVEL ->
+                sb.append(nome);
+            case FUNCAO -> {
+                sb.append(funcao.getNome()).append('(');
+                filhos[0].escrever(sb);
+                sb.append(')');
+            }
+            case POTENCIA -> {
+                if (isDenominador()) {
+                    escreverProduto(sb, new Expressao[]{this}, false);
+                } else {
+                    filhos[0].escrever(sb, 4);
+                    sb.append('^');
+                    filhos[1].escrever(sb, 4);
+                }
+            }
+            case PRODUTO ->
+                escreverProduto(sb, filhos, false);
+            case SOMA -> {
+                // constantes no final
+                boolean primeiro = true;
+                for (int passo = 0; passo < 2; passo++) {
+                    for (Expressao termo : filhos) {
+                        if ((termo.tipo == Tipo.CONSTANTE) != (passo == 1)) {
+                            continue;
+                        }
+                        boolean negativo = termo.isNegativo();
+                        if (!primeiro) {
+                            sb.append(negativo ? '-' : '+');
+                        } else if (negativo) {
+                            sb.append('-');
+                        }
+                        if (negativo) {
+                            termo.escreverNegado(sb);
+                        } else {
+                            termo.escrever(sb, 2);
+                        }
+                        primeiro = false;
+                    }
+                }
+            }
+        }
+    }
+
+    private void escrever(StringBuilder sb, int precedenciaMinima) {
+        if (precedencia() < precedenciaMinima) {
+            sb.append('(');
+            escrever(sb);
+            sb.append(')');
+        } else {
+            escrever(sb);
+        }
+    }
+
+    private boolean isNegativo() {
+        return tipo == Tipo.CONSTANTE && valor < 0
+                || tipo == Tipo.PRODUTO && filhos[0].tipo == Tipo.CONSTANTE && filhos[0].valor < 0;
+    }
+
+    // escrever -this, para um termo negativo de uma soma
+    private void escreverNegado(StringBuilder sb) {
+        if (tipo == Tipo.CONSTANTE) {
+            sb.append(formatar(-valor));
+        } else {
+            escreverProduto(sb, filhos, true);
+        }
+    }
+
+    /**
+     * Escrever um produto como numerador/denominador, com o coeficiente na
+     * frente
+     */
+    private static void escreverProduto(StringBuilder sb, Expressao[] fatores, boolean negar) {
+        double coeficiente = 1;
+        StringBuilder numerador = new StringBuilder();
+        StringBuilder denominador = new StringBuilder();
+        int nDenominador = 0;
+        for (Expressao fator : fatores) {
+            if (fator.tipo == Tipo.CONSTANTE) {
+                coeficiente *= fator.valor;
+            } else if (fator.isDenominador()) {
+                Expressao base = fator.filhos[0];
+                double expoente = -fator.filhos[1].valor;
+                if (nDenominador++ > 0) {
+                    denominador.append('*');
+                }
+                if (expoente == 1) {
+                    base.escrever(denominador, 3);
+                } else {
+                    base.escrever(denominador, 4);
+                    denominador.append('^').append(formatar(expoente));
+                }
+            } else {
+                if (!numerador.isEmpty()) {
+                    numerador.append('*');
+                }
+                fator.escrever(numerador, 2);
+            }
+        }
+        if (negar) {
+            coeficiente = -coeficiente;
+        }
+        if (coeficiente < 0) {
+            sb.append('-');
+            coeficiente = -coeficiente;
+        }
+        if (coeficiente != 1 || numerador.isEmpty()) {
+            sb.append(formatar(coeficiente));
+            if (!numerador.isEmpty()) {
+                sb.append('*');
+            }
+        }
+        sb.append(numerador);
+        if (nDenominador > 0) {
+            sb.append('/');
+            if (nDenominador > 1) {
+                sb.append('(').append(denominador).append(')');
+            } else {
+                sb.append(denominador);
+            }
+        }
+    }
+
+    private static String formatar(double v) {
+        if (v == Math.rint(v) && Math.abs(v) < 1e15) {
+            return Long.toString((long) v);
+        }
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            return Double.toString(v);
+        }
+        return BigDecimal.valueOf(v).toPlainString();
+    }
+
+    /**
+     * Última avaliação de um nó
+     */
+    private static final class Memoria {
+
+        private final String variavel;
+        private final double x;
+        private final double valor;
+
+        Memoria(String variavel, double x, double valor) {
+            this.variavel = variavel;
+            this.x = x;
+            this.valor = valor;
+        }
+    }
+}
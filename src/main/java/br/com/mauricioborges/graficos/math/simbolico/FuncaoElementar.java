@@ -0,0 +1,80 @@
+package br.com.mauricioborges.graficos.math.simbolico;
+
+/**
+ * Funções elementares de um argumento reconhecidas pelo
+ * {@link ParserSimbolico}, com os mesmos nomes usados pelo JEP
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public enum FuncaoElementar {
+    SEN("sin"),
+    COS("cos"),
+    TAN("tan"),
+    ASEN("asin"),
+    ACOS("acos"),
+    ATAN("atan"),
+    SENH("sinh"),
+    COSH("cosh"),
+    TANH("tanh"),
+    LN("ln"),
+    LOG("log"),
+    EXP("exp"),
+    RAIZ("sqrt"),
+    ABS("abs");
+
+    private final String nome;
+
+    FuncaoElementar(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Obter o nome da função nas expressões
+     *
+     * @return nome
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Aplicar a função
+     *
+     * @param x argumento
+     * @return resultado
+     */
+    public double aplicar(double x) {
+        return switch (this) {
+            case SEN -> Math.sin(x);
+            case COS -> Math.cos(x);
+            case TAN -> Math.tan(x);
+            case ASEN -> Math.asin(x);
+            case ACOS -> Math.acos(x);
+            case ATAN -> Math.atan(x);
+            case SENH -> Math.sinh(x);
+            case COSH -> Math.cosh(x);
+            case TANH -> Math.tanh(x);
+            case LN -> Math.log(x);
+            case LOG -> Math.log10(x);
+            case EXP -> Math.exp(x);
+            case RAIZ -> Math.sqrt(x);
+            case ABS -> Math.abs(x);
+        };
+    }
+
+    /**
+     * Obter a função pelo nome
+     *
+     * @param nome nome da função nas expressões
+     * @return função, ou null se o nome não for de uma função elementar
+     */
+    public static FuncaoElementar de(String nome) {
+        for (FuncaoElementar f : values()) {
+            if (f.nome.equals(nome)) {
+                return f;
+            }
+        }
+        return null;
+    }
+}
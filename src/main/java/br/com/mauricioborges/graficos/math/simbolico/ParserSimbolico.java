@@ -0,0 +1,198 @@
+package br.com.mauricioborges.graficos.math.simbolico;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Parser de expressões (descendente recursivo) para {@link Expressao}.
+ * <p>
+ * Aceita a mesma sintaxe usada com o DJep: números (inclusive com expoente,
+ * como 1.5e-3), variáveis, as constantes pi e e, os operadores + - * / ^
+ * (a potência é associativa à direita e tem precedência maior que o menos
+ * unário, então -x^2 = -(x^2)), parênteses, as funções de
+ * {@link FuncaoElementar} e a multiplicação implícita (2x, 3(x+1), (x+1)(x-1)).
+ * <p>
+ * Gramática:
+ * <pre>
+ * soma     = produto (('+' | '-') produto)*
+ * produto  = unario (('*' | '/')? unario)*
+ * unario   = ('-' | '+') unario | potencia
+ * potencia = primario ('^' unario)?
+ * primario = numero | nome '(' soma ')' | nome | '(' soma ')'
+ * </pre>
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class ParserSimbolico {
+
+    private final String texto;
+    private int pos = 0;
+
+    private ParserSimbolico(String texto) {
+        this.texto = texto;
+    }
+
+    /**
+     * Analisar uma expressão (sem simplificar)
+     *
+     * @param expressao texto da expressão
+     * @return árvore da expressão
+     * @throws ErroDeSintaxe se a expressão for inválida
+     */
+    public static Expressao analisar(String expressao) throws ErroDeSintaxe {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        ParserSimbolico parser = new ParserSimbolico(expressao);
+        Expressao e = parser.soma();
+        parser.espacos();
+        if (parser.pos < expressao.length()) {
+            throw new ErroDeSintaxe("Caractere inesperado '" + expressao.charAt(parser.pos) + "'", parser.pos);
+        }
+        return e;
+    }
+
+    private Expressao soma() throws ErroDeSintaxe {
+        Expressao e = produto();
+        while (true) {
+            if (consumir('+')) {
+                e = Expressao.soma(e, produto());
+            } else if (consumir('-')) {
+                e = Expressao.subtracao(e, produto());
+            } else {
+                return e;
+            }
+        }
+    }
+
+    private Expressao produto() throws ErroDeSintaxe {
+        Expressao e = unario();
+        while (true) {
+            if (consumir('*')) {
+                e = Expressao.produto(e, unario());
+            } else if (consumir('/')) {
+                e = Expressao.divisao(e, unario());
+            } else if (inicioDePrimario()) {
+                // multiplicação implícita
+                e = Expressao.produto(e, unario());
+            } else {
+                return e;
+            }
+        }
+    }
+
+    private Expressao unario() throws ErroDeSintaxe {
+        if (consumir('-')) {
+            return Expressao.negacao(unario());
+        }
+        if (consumir('+')) {
+            return unario();
+        }
+        return potencia();
+    }
+
+    private Expressao potencia() throws ErroDeSintaxe {
+        Expressao base = primario();
+        if (consumir('^')) {
+            return Expressao.potencia(base, unario());
+        }
+        return base;
+    }
+
+    private Expressao primario() throws ErroDeSintaxe {
+        espacos();
+        if (pos >= texto.length()) {
+            throw new ErroDeSintaxe("Fim inesperado da expressão", pos);
+        }
+        char c = texto.charAt(pos);
+        if (c == '(') {
+            pos++;
+            Expressao e = soma();
+            esperar(')');
+            return e;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return numero();
+        }
+        if (Character.isLetter(c) || c == '_') {
+            int inicio = pos;
+            while (pos < texto.length() && (Character.isLetterOrDigit(texto.charAt(pos)) || texto.charAt(pos) == '_')) {
+                pos++;
+            }
+            String nome = texto.substring(inicio, pos);
+            espacos();
+            if (pos < texto.length() && texto.charAt(pos) == '(') {
+                FuncaoElementar funcao = FuncaoElementar.de(nome);
+                if (funcao == null) {
+                    throw new ErroDeSintaxe("Função desconhecida: " + nome, inicio);
+                }
+                pos++;
+                Expressao argumento = soma();
+                esperar(')');
+                return Expressao.funcao(funcao, argumento);
+            }
+            return switch (nome) {
+                case "pi" ->
+                    Expressao.constante(Math.PI);
+                case "e" ->
+                    Expressao.constante(Math.E);
+                default ->
+                    Expressao.variavel(nome);
+            };
+        }
+        throw new ErroDeSintaxe("Caractere inesperado '" + c + "'", pos);
+    }
+
+    private Expressao numero() throws ErroDeSintaxe {
+        int inicio = pos;
+        while (pos < texto.length() && (Character.isDigit(texto.charAt(pos)) || texto.charAt(pos) == '.')) {
+            pos++;
+        }
+        // expoente somente se houver dígitos depois (2e é 2·e)
+        if (pos < texto.length() && (texto.charAt(pos) == 'e' || texto.charAt(pos) == 'E')) {
+            int p = pos + 1;
+            if (p < texto.length() && (texto.charAt(p) == '+' || texto.charAt(p) == '-')) {
+                p++;
+            }
+            if (p < texto.length() && Character.isDigit(texto.charAt(p))) {
+                pos = p;
+                while (pos < texto.length() && Character.isDigit(texto.charAt(pos))) {
+                    pos++;
+                }
+            }
+        }
+        try {
+            return Expressao.constante(Double.parseDouble(texto.substring(inicio, pos)));
+        } catch (NumberFormatException e) {
+            throw new ErroDeSintaxe("Número inválido: " + texto.substring(inicio, pos), inicio);
+        }
+    }
+
+    private boolean inicioDePrimario() {
+        espacos();
+        if (pos >= texto.length()) {
+            return false;
+        }
+        char c = texto.charAt(pos);
+        return c == '(' || c == '.' || Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private boolean consumir(char c) {
+        espacos();
+        if (pos < texto.length() && texto.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void esperar(char c) throws ErroDeSintaxe {
+        if (!consumir(c)) {
+            throw new ErroDeSintaxe(pos < texto.length() ? "Esperado '" + c + "'" : "Fim inesperado da expressão", pos);
+        }
+    }
+
+    private void espacos() {
+        while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+            pos++;
+        }
+    }
+}
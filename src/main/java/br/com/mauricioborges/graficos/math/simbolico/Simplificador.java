@@ -0,0 +1,268 @@
+package br.com.mauricioborges.graficos.math.simbolico;
+
+import br.com.mauricioborges.graficos.math.simbolico.Expressao.Tipo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Simplificador por regras, de baixo para cima, que deixa a expressão em uma
+ * forma canônica:
+ * <ul>
+ * <li>somas e produtos aninhados são achatados e os termos ordenados;</li>
+ * <li>constantes são calculadas (inclusive funções de constantes);</li>
+ * <li>termos semelhantes são agrupados (2·x + 3·x = 5·x) e fatores de mesma
+ * base viram potências (x·x² = x³);</li>
+ * <li>elementos neutros e absorventes são removidos (x + 0, 1·x, 0·x, x¹,
+ * x⁰);</li>
+ * <li>(xᵃ)ⁿ = xᵃⁿ e (x·y)ⁿ = xⁿ·yⁿ para n inteiro, eᵘ = exp(u) e
+ * ln(exp(u)) = u.</li>
+ * </ul>
+ * Duas expressões algebricamente iguais nessas regras resultam na mesma
+ * árvore (e no mesmo texto). O resultado fica guardado no nó, então
+ * simplificar de novo uma subexpressão já vista não refaz o trabalho.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+public final class Simplificador {
+
+    private Simplificador() {
+    }
+
+    /**
+     * Simplificar uma expressão
+     *
+     * @param expressao expressão
+     * @return expressão simplificada
+     */
+    public static Expressao simplificar(Expressao expressao) {
+        requireNonNull(expressao, "A expressão não pode ser nula.");
+        // os nós são internados: cada subexpressão é simplificada uma vez
+        Expressao simplificada = expressao.simplificada;
+        if (simplificada == null) {
+            simplificada = regras(expressao);
+            if (simplificada.simplificada == null) {
+                simplificada.simplificada = simplificada;
+            }
+            expressao.simplificada = simplificada;
+        }
+        return simplificada;
+    }
+
+    private static Expressao regras(Expressao expressao) {
+        return switch (expressao.getTipo()) {
+            case CONSTANTE, VARIAVEL ->
+                expressao;
+            case FUNCAO ->
+                funcao(expressao.getFuncao(), simplificar(expressao.getFilho(0)));
+            case POTENCIA ->
+                potencia(simplificar(expressao.getFilho(0)), simplificar(expressao.getFilho(1)));
+            case SOMA ->
+                soma(simplificarFilhos(expressao));
+            case PRODUTO ->
+                produto(simplificarFilhos(expressao));
+        };
+    }
+
+    private static List<Expressao> simplificarFilhos(Expressao expressao) {
+        List<Expressao> filhos = new ArrayList<>(expressao.getNumeroDeFilhos());
+        for (Expressao filho : expressao.filhos()) {
+            filhos.add(simplificar(filho));
+        }
+        return filhos;
+    }
+
+    /**
+     * Soma de termos já simplificados
+     */
+    static Expressao soma(List<Expressao> termos) {
+        double constante = 0;
+        // termo sem o coeficiente -> coeficiente
+        Map<Expressao, Double> coeficientes = new LinkedHashMap<>();
+        List<Expressao> pendentes = new ArrayList<>(termos);
+        for (int i = 0; i < pendentes.size(); i++) {
+            Expressao termo = pendentes.get(i);
+            switch (termo.getTipo()) {
+                case CONSTANTE ->
+                    constante += termo.getValor();
+                case SOMA -> {
+                    for (Expressao t : termo.filhos()) {
+                        pendentes.add(t);
+                    }
+                }
+                default -> {
+                    double coeficiente = 1;
+                    Expressao resto = termo;
+                    if (termo.getTipo() == Tipo.PRODUTO && termo.getFilho(0).getTipo() == Tipo.CONSTANTE) {
+                        coeficiente = termo.getFilho(0).getValor();
+                        Expressao[] fatores = termo.filhos();
+                        resto = fatores.length == 2 ? fatores[1]
+                                : Expressao.produto(Arrays.copyOfRange(fatores, 1, fatores.length));
+                    }
+                    coeficientes.merge(resto, coeficiente, Double::sum);
+                }
+            }
+        }
+        List<Expressao> resultado = new ArrayList<>(coeficientes.size() + 1);
+        for (Map.Entry<Expressao, Double> e : coeficientes.entrySet()) {
+            double c = e.getValue();
+            if (c != 0) {
+                resultado.add(comCoeficiente(c, e.getKey()));
+            }
+        }
+        if (constante != 0 || resultado.isEmpty()) {
+            resultado.add(Expressao.constante(constante));
+        }
+        return composta(resultado, true);
+    }
+
+    /**
+     * c·termo, com o coeficiente como primeiro fator
+     */
+    private static Expressao comCoeficiente(double c, Expressao termo) {
+        if (c == 1) {
+            return termo;
+        }
+        if (termo.getTipo() != Tipo.PRODUTO) {
+            return Expressao.produto(Expressao.constante(c), termo);
+        }
+        Expressao[] fatores = termo.filhos();
+        Expressao[] novos = new Expressao[fatores.length + 1];
+        novos[0] = Expressao.constante(c);
+        System.arraycopy(fatores, 0, novos, 1, fatores.length);
+        return Expressao.produto(novos);
+    }
+
+    /**
+     * Produto de fatores já simplificados
+     */
+    static Expressao produto(List<Expressao> fatores) {
+        double constante = 1;
+        // base -> expoentes
+        Map<Expressao, List<Expressao>> expoentes = new LinkedHashMap<>();
+        List<Expressao> pendentes = new ArrayList<>(fatores);
+        for (int i = 0; i < pendentes.size(); i++) {
+            Expressao fator = pendentes.get(i);
+            switch (fator.getTipo()) {
+                case CONSTANTE ->
+                    constante *= fator.getValor();
+                case PRODUTO -> {
+                    for (Expressao f : fator.filhos()) {
+                        pendentes.add(f);
+                    }
+                }
+                case POTENCIA ->
+                    expoentes.computeIfAbsent(fator.getFilho(0), k -> new ArrayList<>()).add(fator.getFilho(1));
+                default ->
+                    expoentes.computeIfAbsent(fator, k -> new ArrayList<>()).add(Expressao.UM);
+            }
+        }
+        if (constante == 0) {
+            return Expressao.ZERO;
+        }
+        List<Expressao> resultado = new ArrayList<>(expoentes.size() + 1);
+        boolean reagrupar = false;
+        for (Map.Entry<Expressao, List<Expressao>> e : expoentes.entrySet()) {
+            List<Expressao> lista = e.getValue();
+            Expressao expoente = lista.size() == 1 ? lista.get(0) : soma(lista);
+            Expressao p = potencia(e.getKey(), expoente);
+            switch (p.getTipo()) {
+                case CONSTANTE ->
+                    constante *= p.getValor();
+                case PRODUTO -> {
+                    // (x·y)ⁿ expandido: os fatores podem ter bases repetidas
+                    resultado.add(p);
+                    reagrupar = true;
+                }
+                default ->
+                    resultado.add(p);
+            }
+        }
+        if (constante == 0) {
+            return Expressao.ZERO;
+        }
+        if (reagrupar) {
+            resultado.add(Expressao.constante(constante));
+            return produto(resultado);
+        }
+        if (constante != 1 || resultado.isEmpty()) {
+            resultado.add(Expressao.constante(constante));
+        }
+        return composta(resultado, false);
+    }
+
+    /**
+     * Ordenar os filhos na ordem canônica e criar o nó
+     */
+    private static Expressao composta(List<Expressao> filhos, boolean soma) {
+        if (filhos.size() == 1) {
+            return filhos.get(0);
+        }
+        filhos.sort(null);
+        Expressao[] array = filhos.toArray(new Expressao[0]);
+        return soma ? Expressao.soma(array) : Expressao.produto(array);
+    }
+
+    /**
+     * Potência de base e expoente já simplificados
+     */
+    static Expressao potencia(Expressao base, Expressao expoente) {
+        if (expoente.isConstante(0) || base.isConstante(1)) {
+            return Expressao.UM;
+        }
+        if (expoente.isConstante(1)) {
+            return base;
+        }
+        boolean expoenteConstante = expoente.getTipo() == Tipo.CONSTANTE;
+        if (expoenteConstante && base.getTipo() == Tipo.CONSTANTE) {
+            double v = Math.pow(base.getValor(), expoente.getValor());
+            if (Double.isFinite(v)) {
+                return Expressao.constante(v);
+            }
+        }
+        if (base.isConstante(0) && expoenteConstante && expoente.getValor() > 0) {
+            return Expressao.ZERO;
+        }
+        if (base.isConstante(Math.E)) {
+            return funcao(FuncaoElementar.EXP, expoente);
+        }
+        boolean inteiro = expoenteConstante && expoente.getValor() == Math.rint(expoente.getValor());
+        if (inteiro && base.getTipo() == Tipo.POTENCIA) {
+            // (xᵃ)ⁿ = xᵃⁿ
+            List<Expressao> fatores = new ArrayList<>(2);
+            fatores.add(base.getFilho(1));
+            fatores.add(expoente);
+            return potencia(base.getFilho(0), produto(fatores));
+        }
+        if (inteiro && base.getTipo() == Tipo.PRODUTO) {
+            // (x·y)ⁿ = xⁿ·yⁿ
+            List<Expressao> fatores = new ArrayList<>(base.getNumeroDeFilhos());
+            for (Expressao fator : base.filhos()) {
+                fatores.add(potencia(fator, expoente));
+            }
+            return produto(fatores);
+        }
+        return Expressao.potencia(base, expoente);
+    }
+
+    /**
+     * Função de argumento já simplificado
+     */
+    static Expressao funcao(FuncaoElementar funcao, Expressao argumento) {
+        if (argumento.getTipo() == Tipo.CONSTANTE) {
+            double v = funcao.aplicar(argumento.getValor());
+            if (Double.isFinite(v)) {
+                return Expressao.constante(v);
+            }
+        }
+        if (funcao == FuncaoElementar.LN && argumento.getTipo() == Tipo.FUNCAO
+                && argumento.getFuncao() == FuncaoElementar.EXP) {
+            return argumento.getFilho(0);
+        }
+        return Expressao.funcao(funcao, argumento);
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.mauricioborges.graficos.math.simbolico;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Tabela de internação dos nós de {@link Expressao}.
+ * <p>
+ * Guarda um único nó para cada estrutura em uso. As entradas são fracas, então
+ * um nó que não é mais referenciado por nenhuma expressão é coletado e sai da
+ * tabela. A tabela é dividida em segmentos, cada um com o seu próprio
+ * bloqueio, para que várias threads possam criar nós ao mesmo tempo.
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+final class TabelaDeNos {
+
+    private static final int SEGMENTOS = 32;
+
+    private final Segmento[] segmentos = new Segmento[SEGMENTOS];
+
+    TabelaDeNos() {
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento();
+        }
+    }
+
+    /**
+     * Obter o nó já internado igual ao nó dado ou internar o nó dado
+     *
+     * @param no nó recém-criado, com os filhos já internados
+     * @return nó internado
+     */
+    Expressao internar(Expressao no) {
+        int h = no.hashCode();
+        h ^= h >>> 16;
+        Segmento segmento = segmentos[h & (SEGMENTOS - 1)];
+        synchronized (segmento) {
+            WeakReference<Expressao> referencia = segmento.nos.get(no);
+            Expressao existente = referencia == null ? null : referencia.get();
+            if (existente != null) {
+                return existente;
+            }
+            segmento.nos.put(no, new WeakReference<>(no));
+            return no;
+        }
+    }
+
+    /**
+     * Número de nós internados ainda não coletados
+     *
+     * @return número de nós
+     */
+    int tamanho() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.nos.size();
+            }
+        }
+        return total;
+    }
+
+    private static final class Segmento {
+
+        // o valor é fraco também, senão a própria chave nunca seria coletada
+        private final Map<Expressao, WeakReference<Expressao>> nos = new WeakHashMap<>();
+    }
+}
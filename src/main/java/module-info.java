@@ -13,5 +13,7 @@ module br.com.mauricioborges.graficos {
   
     exports br.com.mauricioborges.graficos;
     exports br.com.mauricioborges.graficos.math;
+    exports br.com.mauricioborges.graficos.math.metodosnumericos;
+    exports br.com.mauricioborges.graficos.math.simbolico;
     exports br.com.mauricioborges.graficos.utils;
 }
@@ -0,0 +1,104 @@
+package br.com.mauricioborges.graficos.math;
+
+import br.com.mauricioborges.graficos.math.simbolico.ParserSimbolico;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import org.lsmp.djep.djep.DJep;
+import org.nfunk.jep.Node;
+
+/**
+ * Compara as funções compiladas com a avaliação da árvore intermediária
+ *
+ * @author Mauricio Borges
+ * @since 10/2026
+ */
+class CompiladorDeExpressoesTest {
+
+    private static final double[] PONTOS = {-3.5, -1, -0.25, 0, 0.3, 1, 2.75, 10};
+
+    @Test
+    void compiladaIgualAInterpretada() throws Exception {
+        String[] expressoes = {
+            "x^2 + 3*x - 1",
+            "sin(x)*cos(x)/(x + 4)",
+            "exp(-x^2/2) + abs(x)^3",
+            "sqrt(x^2 + 1) - ln(x^2 + 2)",
+            "atan(x) + tanh(x) - x/3"
+        };
+        for (String texto : expressoes) {
+            NoDeExpressao no = NoDeExpressao.converter(ParserSimbolico.analisar(texto), "x");
+            Funcao f = CompiladorDeExpressoes.compilar(no);
+            assertFalse(f instanceof AvaliadorColunar, texto);
+            assertInstanceOf(FuncaoSemEstado.class, f);
+            comparar(no, f);
+        }
+    }
+
+    @Test
+    void compiladaDoDJepIgualAInterpretada() {
+        NoDeExpressao no = NoDeExpressao.converter(djep("x % 3 + atan2(x, 2)*pi - x*x*x*x"), "x");
+        comparar(no, CompiladorDeExpressoes.compilar(no));
+    }
+
+    @Test
+    void expressaoGrandeUsaAvaliadorColunar() {
+        NoDeExpressao no = NoDeExpressao.converter(djep(soma(1300, "sin(x*%d)*cos(x+%d)/(x+%<d)")), "x");
+        Funcao f = CompiladorDeExpressoes.compilar(no);
+        assertInstanceOf(AvaliadorColunar.class, f);
+        comparar(no, f);
+    }
+
+    @Test
+    void somaLongaNaoEstouraAPilha() {
+        NoDeExpressao no = NoDeExpressao.converter(djep(soma(5000, "x*%d")), "x");
+        Funcao f = CompiladorDeExpressoes.compilar(no);
+        comparar(no, f);
+        assertEquals(1003, no.texto(1000).length());
+    }
+
+    @Test
+    void somaNoLimiteDoCodigo() {
+        // o maior número de termos que ainda é compilado
+        int termos = 1;
+        while (!(CompiladorDeExpressoes.compilar(
+                NoDeExpressao.converter(djep(soma(termos * 2, "sin(x*%d)")), "x")) instanceof AvaliadorColunar)) {
+            termos *= 2;
+        }
+        NoDeExpressao no = NoDeExpressao.converter(djep(soma(termos, "sin(x*%d)")), "x");
+        Funcao f = CompiladorDeExpressoes.compilar(no);
+        assertFalse(f instanceof AvaliadorColunar);
+        comparar(no, f);
+    }
+
+    private static void comparar(NoDeExpressao no, Funcao f) {
+        double[] saida = new double[PONTOS.length];
+        f.applyBatch(PONTOS, saida);
+        for (int i = 0; i < PONTOS.length; i++) {
+            double esperado = no.avaliar(PONTOS[i]);
+            assertEquals(esperado, f.apply(PONTOS[i]), 1e-12 * Math.max(1, Math.abs(esperado)), no.texto(80));
+            assertEquals(f.apply(PONTOS[i]), saida[i], 0, no.texto(80));
+        }
+    }
+
+    private static String soma(int termos, String formato) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 1; k <= termos; k++) {
+            sb.append(k > 1 ? "+" : "").append(String.format(formato, k, k));
+        }
+        return sb.toString();
+    }
+
+    private static Node djep(String texto) {
+        DJep parser = new DJep();
+        parser.addStandardFunctions();
+        parser.addStandardConstants();
+        parser.addVariable("x", 0);
+        try {
+            return parser.parse(texto);
+        } catch (org.nfunk.jep.ParseException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}